@@ -8,6 +8,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.example.tudubem.actor.entity.ActorEntity;
 import org.example.tudubem.actor.service.ActorService;
+import org.example.tudubem.config.BlockingExecutor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 import java.net.URI;
 import java.util.List;
@@ -28,11 +30,12 @@ import java.util.List;
 public class ActorController {
 
     private final ActorService actorService;
+    private final BlockingExecutor blockingExecutor;
 
     @GetMapping
     @Operation(summary = "Actor 목록 조회", description = "등록된 모든 Actor를 조회합니다.")
-    public List<ActorEntity> findAll() {
-        return actorService.findAll();
+    public Mono<List<ActorEntity>> findAll() {
+        return blockingExecutor.call(actorService::findAll);
     }
 
     @GetMapping("/{id}")
@@ -41,18 +44,18 @@ public class ActorController {
             @ApiResponse(responseCode = "200", description = "조회 성공"),
             @ApiResponse(responseCode = "404", description = "Actor를 찾을 수 없음", content = @Content)
     })
-    public ResponseEntity<ActorEntity> findById(@PathVariable Long id) {
-        return actorService.findById(id)
+    public Mono<ResponseEntity<ActorEntity>> findById(@PathVariable Long id) {
+        return blockingExecutor.call(() -> actorService.findById(id)
                 .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+                .orElseGet(() -> ResponseEntity.notFound().build()));
     }
 
     @PostMapping
     @Operation(summary = "Actor 생성", description = "새 Actor를 생성합니다.")
     @ApiResponse(responseCode = "201", description = "생성 성공")
-    public ResponseEntity<ActorEntity> create(@RequestBody ActorEntity actorEntity) {
-        ActorEntity saved = actorService.create(actorEntity);
-        return ResponseEntity.created(URI.create("/actor/" + saved.getId())).body(saved);
+    public Mono<ResponseEntity<ActorEntity>> create(@RequestBody ActorEntity actorEntity) {
+        return blockingExecutor.call(() -> actorService.create(actorEntity))
+                .map(saved -> ResponseEntity.created(URI.create("/actor/" + saved.getId())).body(saved));
     }
 
     @PutMapping("/{id}")
@@ -61,10 +64,10 @@ public class ActorController {
             @ApiResponse(responseCode = "200", description = "수정 성공"),
             @ApiResponse(responseCode = "404", description = "Actor를 찾을 수 없음", content = @Content)
     })
-    public ResponseEntity<ActorEntity> update(@PathVariable Long id, @RequestBody ActorEntity request) {
-        return actorService.update(id, request)
+    public Mono<ResponseEntity<ActorEntity>> update(@PathVariable Long id, @RequestBody ActorEntity request) {
+        return blockingExecutor.call(() -> actorService.update(id, request)
                 .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+                .orElseGet(() -> ResponseEntity.notFound().build()));
     }
 
     @DeleteMapping("/{id}")
@@ -73,10 +76,12 @@ public class ActorController {
             @ApiResponse(responseCode = "204", description = "삭제 성공"),
             @ApiResponse(responseCode = "404", description = "Actor를 찾을 수 없음", content = @Content)
     })
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        if (!actorService.delete(id)) {
-            return ResponseEntity.notFound().build();
-        }
-        return ResponseEntity.noContent().build();
+    public Mono<ResponseEntity<Void>> delete(@PathVariable Long id) {
+        return blockingExecutor.call(() -> {
+            if (!actorService.delete(id)) {
+                return ResponseEntity.notFound().<Void>build();
+            }
+            return ResponseEntity.noContent().<Void>build();
+        });
     }
 }
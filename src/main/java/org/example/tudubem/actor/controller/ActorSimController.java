@@ -8,23 +8,41 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.example.tudubem.actor.dto.ActorStatus;
+import org.example.tudubem.actor.dto.ActorStatusFrame;
+import org.example.tudubem.actor.dto.ActorStatusStreamStats;
 import org.example.tudubem.actor.service.ActorSimService;
+import org.example.tudubem.actor.service.ActorStatusBinaryEncoder;
 import org.example.tudubem.actor.service.ActorStatusService;
+import org.example.tudubem.actor.service.ActorStatusStreamRegistry;
 import org.example.tudubem.actor.service.pathfind.GridPoint;
 import org.example.tudubem.actor.service.pathfind.PathResult;
+import org.example.tudubem.config.BinaryStreams;
+import org.example.tudubem.config.BlockingExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
 
 @RestController
 @RequestMapping("/actor/sim")
 @RequiredArgsConstructor
 @Tag(name = "ActorSim", description = "Actor 시뮬레이션 API")
 public class ActorSimController {
+    private static final long MIN_FRAME_WINDOW_MS = 10;
+
     private final ActorSimService actorSimService;
     private final ActorStatusService actorStatusService;
+    private final ActorStatusStreamRegistry actorStatusStreamRegistry;
+    private final BlockingExecutor blockingExecutor;
+
+    @Value("${app.sim.status-frame-ms:100}")
+    private long defaultFrameWindowMs;
 
     @PostMapping("/{mapId}")
     @Operation(summary = "Actor 이동 시뮬레이션", description = "지정한 actorId의 현재 위치에서 목표 좌표까지 경로를 계산하고, 경로를 따라 상태를 갱신합니다.")
@@ -32,27 +50,101 @@ public class ActorSimController {
             @ApiResponse(responseCode = "200", description = "처리 성공"),
             @ApiResponse(responseCode = "404", description = "지도 또는 actor 상태를 찾을 수 없음", content = @Content)
     })
-    public ResponseEntity<?> move(
+    public Mono<ResponseEntity<PathResult>> move(
             @Parameter(description = "지도 ID", example = "1")
             @PathVariable Long mapId,
             @Parameter(description = "이동시킬 Actor ID", example = "1")
             @RequestParam Long actorId,
+            @Parameter(description = "경로 탐색 전략(bfs, astar). 미지정 시 app.pathfind.strategy 설정값", example = "astar")
+            @RequestParam(required = false) String strategy,
             @RequestBody GridPoint gridPoint
     ) {
-        PathResult path = actorSimService.move(mapId, actorId, gridPoint.x(), gridPoint.y());
-        return ResponseEntity.ok(path);
+        // actor 조회(JPA), 월드 빌드, 경로 탐색이 모두 스레드를 막으므로 이벤트 루프 밖에서 실행한다.
+        return blockingExecutor.call(() -> {
+            PathResult path = actorSimService.move(mapId, actorId, gridPoint.x(), gridPoint.y(), strategy);
+            return ResponseEntity.ok(path);
+        });
+    }
+
+    @DeleteMapping("/move")
+    @Operation(summary = "Actor 이동 취소", description = "진행 중인 이동을 취소합니다. actor는 다음 시뮬레이션 틱에 현재 위치에서 멈춥니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "취소 성공"),
+            @ApiResponse(responseCode = "404", description = "진행 중인 이동이 없음", content = @Content)
+    })
+    public ResponseEntity<Void> cancelMove(
+            @Parameter(description = "Actor ID", example = "1")
+            @RequestParam Long actorId
+    ) {
+        if (!actorSimService.cancelMove(actorId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping(value = "/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    @Operation(summary = "Actor 상태 SSE 스트림", description = "모든 Actor 상태 변경 이벤트를 SSE로 구독합니다.")
+    @Operation(summary = "Actor 상태 SSE 스트림", description = "모든 Actor 상태 변경 이벤트를 SSE로 구독합니다. 수신이 느리면 actor별 최신 상태만 보내며, 너무 오래 뒤처지면 연결을 끊습니다.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "구독 성공")
     })
     public Flux<ServerSentEvent<ActorStatus>> statusStream() {
-        return actorStatusService.asFlux()
+        return actorStatusStreamRegistry.open(actorStatusService.batchFlux())
                 .map(status -> ServerSentEvent.<ActorStatus>builder()
                         .event("actor-status")
                         .data(status)
                         .build());
     }
+
+    @GetMapping("/status/stream/stats")
+    @Operation(summary = "Actor 상태 SSE 구독자 지표 조회", description = "연결별 전송/대체/버림 수와 지연 시간, 느린 구독자 강제 종료 수를 반환합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회 성공")
+    })
+    public ActorStatusStreamStats statusStreamStats() {
+        return actorStatusStreamRegistry.stats();
+    }
+
+    @GetMapping(value = "/status/frames", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Actor 상태 프레임 SSE 스트림", description = "구독 시 전체 상태 키프레임을 보내고, 이후 windowMs마다 바뀐 actor만 담은 프레임 하나를 보냅니다. 바뀐 actor가 없으면 보내지 않습니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "구독 성공"),
+            @ApiResponse(responseCode = "400", description = "windowMs가 허용 범위를 벗어남", content = @Content)
+    })
+    public ResponseEntity<Flux<ServerSentEvent<ActorStatusFrame>>> statusFrameStream(
+            @Parameter(description = "프레임 간격(ms), 10 이상", example = "100")
+            @RequestParam(required = false) Long windowMs
+    ) {
+        long window = windowMs == null ? defaultFrameWindowMs : windowMs;
+        if (window < MIN_FRAME_WINDOW_MS) {
+            return ResponseEntity.badRequest().build();
+        }
+        Flux<ServerSentEvent<ActorStatusFrame>> frames = actorStatusService.frameFlux(Duration.ofMillis(window))
+                .map(frame -> ServerSentEvent.<ActorStatusFrame>builder()
+                        .id(Long.toString(frame.version()))
+                        .event(frame.keyframe() ? "actor-status-keyframe" : "actor-status-frame")
+                        .data(frame)
+                        .build());
+        return ResponseEntity.ok(frames);
+    }
+
+    @GetMapping(value = "/status/frames", produces = BinaryStreams.ACTOR_STATUS_FRAME_VALUE)
+    @Operation(summary = "Actor 상태 프레임 바이너리 스트림", description = "Accept: application/vnd.tudubem.actor-status-frame 이면 상태 프레임을 바이너리 메시지(uint32 길이 + 본문)로 이어 보냅니다. 프레임 구성은 SSE 프레임 스트림과 같습니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "구독 성공"),
+            @ApiResponse(responseCode = "400", description = "windowMs가 허용 범위를 벗어남", content = @Content)
+    })
+    public ResponseEntity<Flux<DataBuffer>> statusFrameStreamBinary(
+            @Parameter(description = "프레임 간격(ms), 10 이상", example = "100")
+            @RequestParam(required = false) Long windowMs
+    ) {
+        long window = windowMs == null ? defaultFrameWindowMs : windowMs;
+        if (window < MIN_FRAME_WINDOW_MS) {
+            return ResponseEntity.badRequest().build();
+        }
+        Flux<byte[]> messages = actorStatusService.frameFlux(Duration.ofMillis(window))
+                .map(ActorStatusBinaryEncoder::encode);
+        return ResponseEntity.ok()
+                .contentType(BinaryStreams.ACTOR_STATUS_FRAME)
+                .body(BinaryStreams.lengthPrefixed(messages));
+    }
 }
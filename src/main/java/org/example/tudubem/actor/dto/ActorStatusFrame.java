@@ -0,0 +1,18 @@
+package org.example.tudubem.actor.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Actor 상태 프레임. 키프레임은 전체 상태, 그 외에는 직전 프레임 이후 바뀐 actor만 담는다.")
+public record ActorStatusFrame(
+        @Schema(description = "상태 버전. 다음 프레임은 이 버전 이후의 변경을 담는다.", example = "42")
+        long version,
+        @Schema(description = "전체 상태를 담은 키프레임 여부", example = "false")
+        boolean keyframe,
+        @Schema(description = "변경된(키프레임이면 전체) actor 상태")
+        List<ActorStatus> actors,
+        @Schema(description = "직전 프레임 이후 제거된 actor ID", example = "[3]")
+        List<Long> removedActorIds
+) {
+}
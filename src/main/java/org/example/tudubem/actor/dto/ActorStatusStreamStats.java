@@ -0,0 +1,44 @@
+package org.example.tudubem.actor.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+@Schema(description = "Actor 상태 SSE 구독자 상태")
+public record ActorStatusStreamStats(
+        @Schema(description = "현재 연결 수", example = "3")
+        int activeConnections,
+        @Schema(description = "누적 연결 수", example = "12")
+        long openedConnections,
+        @Schema(description = "뒤처져서 강제로 끊은 연결 수", example = "1")
+        long slowConsumerDisconnects,
+        @Schema(description = "누적 전송 상태 수", example = "52000")
+        long delivered,
+        @Schema(description = "전송 전에 같은 actor의 새 상태로 대체된 상태 수", example = "830")
+        long conflated,
+        @Schema(description = "버퍼가 가득 차 버린 상태 수", example = "0")
+        long dropped,
+        @Schema(description = "연결별 상태")
+        List<Connection> connections
+) {
+
+    @Schema(description = "SSE 연결 하나의 상태")
+    public record Connection(
+            @Schema(description = "연결 ID", example = "7")
+            long connectionId,
+            @Schema(description = "연결 시각")
+            Instant connectedAt,
+            @Schema(description = "전송 상태 수", example = "4200")
+            long delivered,
+            @Schema(description = "대체된 상태 수", example = "35")
+            long conflated,
+            @Schema(description = "버린 상태 수", example = "0")
+            long dropped,
+            @Schema(description = "아직 보내지 못한 actor 수", example = "2")
+            int pending,
+            @Schema(description = "보내지 못한 상태가 남아 있던 시간(ms)", example = "120")
+            long lagMillis
+    ) {
+    }
+}
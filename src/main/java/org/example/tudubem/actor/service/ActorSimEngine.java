@@ -0,0 +1,151 @@
+package org.example.tudubem.actor.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tudubem.actor.dto.ActorStatus;
+import org.example.tudubem.actor.service.pathfind.GridPoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 고정 주기 시뮬레이션 루프. 이동 중인 모든 actor를 틱마다 한 칸씩 전진시키고, 그 틱의 상태 변경을 한 번에 내보낸다.
+// actor마다 진행 중인 경로는 하나뿐이며, 새 경로를 주면 이전 경로를 대체한다.
+// time-scale을 1보다 크게 하면 실제 시간보다 빠르게 돌고, auto-tick을 끄면 advance(ticks)로 직접 진행시킬 수 있다.
+@Slf4j
+@Component
+public class ActorSimEngine {
+
+    private final ActorStatusService actorStatusService;
+    private final Duration tickPeriod;
+    private final boolean autoTick;
+    private final Scheduler scheduler = Schedulers.newSingle("actor-sim-tick");
+
+    // actorId 순서대로 진행한다. 모든 접근은 this로 보호한다.
+    private final Map<Long, Route> routes = new LinkedHashMap<>();
+    private long tickCount;
+    private Disposable ticker;
+
+    public ActorSimEngine(
+            ActorStatusService actorStatusService,
+            @Value("${app.sim.tick-ms:100}") long tickMillis,
+            @Value("${app.sim.time-scale:1.0}") double timeScale,
+            @Value("${app.sim.auto-tick:true}") boolean autoTick
+    ) {
+        if (tickMillis <= 0 || timeScale <= 0) {
+            throw new IllegalArgumentException("app.sim.tick-ms and app.sim.time-scale must be greater than 0");
+        }
+        this.actorStatusService = actorStatusService;
+        this.tickPeriod = Duration.ofNanos(Math.max(1L, (long) (tickMillis * 1_000_000L / timeScale)));
+        this.autoTick = autoTick;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!autoTick) {
+            return;
+        }
+        ticker = Flux.interval(tickPeriod, scheduler)
+                .onBackpressureDrop(dropped -> log.debug("Simulation tick skipped: {}", dropped))
+                .subscribe(ignored -> tick(), e -> log.error("Simulation loop stopped", e));
+    }
+
+    @PreDestroy
+    void stop() {
+        if (ticker != null) {
+            ticker.dispose();
+        }
+        scheduler.dispose();
+    }
+
+    // actor의 경로를 시작하거나 진행 중인 경로를 대체한다. steps는 현재 위치 다음 칸부터의 이동 순서다.
+    public synchronized void start(Long actorId, int actorSize, List<GridPoint> steps) {
+        if (steps.isEmpty()) {
+            routes.remove(actorId);
+            return;
+        }
+        routes.put(actorId, new Route(actorSize, List.copyOf(steps)));
+    }
+
+    // 진행 중인 경로를 취소한다. 취소한 경로가 있으면 다음 틱에 현재 위치에서 멈춘 상태를 내보낸다.
+    public synchronized boolean cancel(Long actorId) {
+        Route route = routes.get(actorId);
+        if (route == null || route.cancelled) {
+            return false;
+        }
+        route.cancelled = true;
+        return true;
+    }
+
+    public synchronized boolean isMoving(Long actorId) {
+        Route route = routes.get(actorId);
+        return route != null && !route.cancelled;
+    }
+
+    public synchronized long tickCount() {
+        return tickCount;
+    }
+
+    // 실제 시간과 관계없이 ticks만큼 즉시 진행한다.
+    public void advance(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            tick();
+        }
+    }
+
+    // 한 틱을 진행하고 바뀐 상태를 한 번의 묶음으로 내보낸다.
+    public void tick() {
+        List<ActorStatus> batch;
+        synchronized (this) {
+            tickCount++;
+            if (routes.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(routes.size());
+            Iterator<Map.Entry<Long, Route>> iterator = routes.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Long, Route> entry = iterator.next();
+                Long actorId = entry.getKey();
+                Route route = entry.getValue();
+                if (route.cancelled) {
+                    iterator.remove();
+                    ActorStatus current = actorStatusService.getCurrentStatusOrNull(actorId);
+                    if (current != null) {
+                        batch.add(new ActorStatus(actorId, route.actorSize, current.x(), current.y(), "stopped"));
+                    }
+                    continue;
+                }
+                GridPoint point = route.steps.get(route.nextIndex++);
+                boolean arrived = route.nextIndex == route.steps.size();
+                if (arrived) {
+                    iterator.remove();
+                }
+                batch.add(new ActorStatus(actorId, route.actorSize, point.x(), point.y(), arrived ? "arrived" : "moving"));
+            }
+        }
+        // 상태 반영과 방출은 잠금 밖에서 한다. 같은 스레드에서 틱이 순서대로 실행되므로 묶음 순서는 유지된다.
+        actorStatusService.upsertAll(batch);
+    }
+
+    private static final class Route {
+        private final int actorSize;
+        private final List<GridPoint> steps;
+        private int nextIndex;
+        private boolean cancelled;
+
+        private Route(int actorSize, List<GridPoint> steps) {
+            this.actorSize = actorSize;
+            this.steps = steps;
+        }
+    }
+}
@@ -1,77 +1,76 @@
 package org.example.tudubem.actor.service;
 
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.example.tudubem.actor.dto.ActorStatus;
 import org.example.tudubem.actor.service.pathfind.GridPoint;
 import org.example.tudubem.actor.service.pathfind.PathFindingStrategy;
+import org.example.tudubem.actor.service.pathfind.PathFindingStrategyResolver;
 import org.example.tudubem.actor.service.pathfind.PathResult;
 import org.example.tudubem.world.service.WorldService;
 import org.example.tudubem.world.service.grid.GridMap;
 import org.springframework.stereotype.Service;
-import reactor.core.publisher.Flux;
 
-import java.time.Duration;
 import java.util.List;
 
 @Service
-@Slf4j
 @RequiredArgsConstructor
 public class ActorSimService {
-    private static final Duration MOVE_TICK = Duration.ofMillis(100);
-
     private final ActorStatusService actorStatusService;
     private final WorldService worldService;
-    private final PathFindingStrategy pathFindingStrategy;
+    private final PathFindingStrategyResolver pathFindingStrategyResolver;
+    private final ActorSimEngine actorSimEngine;
 
-    // GridMap 점유정보를 기준으로 경로를 탐색한다.
+    // GridMap 점유정보를 기준으로 기본 전략(app.pathfind.strategy)으로 경로를 탐색한다.
     public PathResult findPath(Long mapId, Long actorId, int targetX, int targetY) {
+        return findPath(mapId, actorId, targetX, targetY, null);
+    }
+
+    // GridMap 점유정보를 기준으로 지정한 전략(bfs, astar, jps, hpa)으로 경로를 탐색한다. 전략이 비어 있으면 기본 전략을 쓴다.
+    public PathResult findPath(Long mapId, Long actorId, int targetX, int targetY, String strategyName) {
+        PathFindingStrategy pathFindingStrategy = pathFindingStrategyResolver.resolve(strategyName).orElse(null);
+        if (pathFindingStrategy == null) {
+            return new PathResult(false, List.of(), "unknown_strategy");
+        }
         ActorStatus actorStatus = actorStatusService.getCurrentStatusOrNull(actorId);
         if (actorStatus == null) {
             return new PathResult(false, List.of(), "actor_status_not_found");
         }
+        // 거리 레이어가 잘리는 반경보다 큰 actor는 팽창 레이어를 만들 수 없다.
+        if (actorStatus.size() > WorldService.MAX_ACTOR_SIZE) {
+            return new PathResult(false, List.of(), "actor_too_large");
+        }
         GridPoint currentPoint = new GridPoint(actorStatus.x(), actorStatus.y());
-        GridMap gridMap = worldService.getCached(mapId)
-                .orElseGet(() -> worldService.buildAndCache(mapId));
-        return pathFindingStrategy.findPath(gridMap, currentPoint.x(), currentPoint.y(), targetX, targetY);
+        // actor 크기만큼 팽창된 레이어에서 중심 셀의 경로를 찾는다.
+        GridMap gridMap = worldService.getForActorSize(mapId, actorStatus.size());
+        return pathFindingStrategy.findPath(mapId, actorStatus.size(), gridMap, currentPoint.x(), currentPoint.y(), targetX, targetY);
     }
 
-    // 목표 좌표까지 경로를 계산하고, 경로가 있으면 0.5초마다 Actor 현재 위치를 갱신한다.
+    // 목표 좌표까지 경로를 계산하고, 경로가 있으면 시뮬레이션 틱마다 Actor 현재 위치를 갱신한다.
     public PathResult move(Long mapId, Long actorId, int targetX, int targetY) {
+        return move(mapId, actorId, targetX, targetY, null);
+    }
+
+    // 지정한 경로 탐색 전략으로 이동한다. 전략이 비어 있으면 기본 전략을 쓴다.
+    public PathResult move(Long mapId, Long actorId, int targetX, int targetY, String strategyName) {
         ActorStatus actorStatus = actorStatusService.getCurrentStatusOrNull(actorId);
         if (actorStatus == null) {
             return new PathResult(false, List.of(), "actor_status_not_found");
         }
 
-        PathResult pathResult = findPath(mapId, actorId, targetX, targetY);
+        PathResult pathResult = findPath(mapId, actorId, targetX, targetY, strategyName);
         if (!pathResult.found() || pathResult.path().size() <= 1) {
             return pathResult;
         }
 
+        // 진행 중인 이동이 있으면 새 경로로 대체한다. 실제 이동은 시뮬레이션 틱마다 한 칸씩 진행된다.
         List<GridPoint> moveSteps = pathResult.path().subList(1, pathResult.path().size());
-        int actorSize = actorStatus.size();
-        Flux.fromIterable(moveSteps)
-                .delayElements(MOVE_TICK)
-                .doOnNext(point -> actorStatusService.upsert(new ActorStatus(
-                        actorId,
-                        actorSize,
-                        point.x(),
-                        point.y(),
-                        "moving"
-                )))
-                .doOnComplete(() -> {
-                    GridPoint lastPoint = moveSteps.getLast();
-                    actorStatusService.upsert(new ActorStatus(
-                            actorId,
-                            actorSize,
-                            lastPoint.x(),
-                            lastPoint.y(),
-                            "arrived"
-                    ));
-                })
-                .doOnError(e -> log.warn("Actor move sequence failed", e))
-                .subscribe();
+        actorSimEngine.start(actorId, actorStatus.size(), moveSteps);
 
         return pathResult;
     }
+
+    // 진행 중인 이동을 취소한다. 취소할 이동이 없으면 false를 반환한다.
+    public boolean cancelMove(Long actorId) {
+        return actorSimEngine.cancel(actorId);
+    }
 }
@@ -0,0 +1,78 @@
+package org.example.tudubem.actor.service;
+
+import org.example.tudubem.actor.dto.ActorStatus;
+import org.example.tudubem.actor.dto.ActorStatusFrame;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// ActorStatusFrame을 고정 길이 레코드 위주의 바이너리로 인코딩한다. 바이트 순서는 little-endian이다.
+//
+// 헤더(24 bytes):
+//   int32 magic 'TAS1', int64 version, byte keyframe(0/1), byte[3] 0, int32 actorCount, int32 removedCount
+// actor 레코드(actorCount개):
+//   int64 actorId, int32 size, int32 x, int32 y, uint16 speechLength, byte[speechLength] speech(UTF-8)
+// 제거 목록(removedCount개):
+//   int64 actorId
+public final class ActorStatusBinaryEncoder {
+
+    public static final int MAGIC = 0x31534154;
+    private static final int HEADER_BYTES = 24;
+    private static final int ACTOR_FIXED_BYTES = Long.BYTES + 3 * Integer.BYTES + Short.BYTES;
+    private static final int MAX_SPEECH_BYTES = 0xFFFF;
+
+    private ActorStatusBinaryEncoder() {
+    }
+
+    public static byte[] encode(ActorStatusFrame frame) {
+        List<byte[]> speeches = new ArrayList<>(frame.actors().size());
+        int length = HEADER_BYTES + frame.removedActorIds().size() * Long.BYTES;
+        for (ActorStatus status : frame.actors()) {
+            byte[] speech = speechBytes(status.speech());
+            speeches.add(speech);
+            length += ACTOR_FIXED_BYTES + speech.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC)
+                .putLong(frame.version())
+                .put((byte) (frame.keyframe() ? 1 : 0))
+                .put(new byte[3])
+                .putInt(frame.actors().size())
+                .putInt(frame.removedActorIds().size());
+        for (int i = 0; i < frame.actors().size(); i++) {
+            ActorStatus status = frame.actors().get(i);
+            byte[] speech = speeches.get(i);
+            buffer.putLong(status.actorId())
+                    .putInt(status.size())
+                    .putInt(status.x())
+                    .putInt(status.y())
+                    .putShort((short) speech.length)
+                    .put(speech);
+        }
+        for (Long actorId : frame.removedActorIds()) {
+            buffer.putLong(actorId);
+        }
+        return buffer.array();
+    }
+
+    // 말풍선은 uint16 길이에 맞게 UTF-8 문자 경계에서 자른다.
+    private static byte[] speechBytes(String speech) {
+        if (speech == null || speech.isEmpty()) {
+            return new byte[0];
+        }
+        byte[] bytes = speech.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_SPEECH_BYTES) {
+            return bytes;
+        }
+        int end = MAX_SPEECH_BYTES;
+        while (end > 0 && (bytes[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        return Arrays.copyOf(bytes, end);
+    }
+}
@@ -3,20 +3,25 @@ package org.example.tudubem.actor.service;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.example.tudubem.actor.dto.ActorStatus;
+import org.example.tudubem.actor.dto.ActorStatusFrame;
 import org.example.tudubem.actor.entity.ActorEntity;
 import org.example.tudubem.actor.service.pathfind.GridPoint;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Sinks;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @RequiredArgsConstructor
@@ -31,7 +36,15 @@ public class ActorStatusService {
     private final ActorRegistry actorRegistry;
     private final ConcurrentMap<Long, ActorStatus> statuses = new ConcurrentHashMap<>();
     private final ConcurrentMap<Long, Deque<GridPoint>> trails = new ConcurrentHashMap<>();
-    private final Sinks.Many<ActorStatus> statusSink = Sinks.many().replay().latest();
+    // 상태 변경은 묶음(batch) 단위로 내보낸다. 시뮬레이션 틱 하나의 모든 변경이 한 번에 전달된다.
+    private final Sinks.Many<List<ActorStatus>> statusSink = Sinks.many().replay().latest();
+
+    // 프레임 스트림용 변경 추적. 상태가 바뀔 때마다 version이 증가하고, actor별 마지막 변경/제거 version을 기록한다.
+    // statuses 갱신과 version 기록은 versionLock 안에서 함께 해 프레임이 변경을 놓치지 않게 한다.
+    private final Object versionLock = new Object();
+    private final Map<Long, Long> changedVersions = new HashMap<>();
+    private final Map<Long, Long> removedVersions = new HashMap<>();
+    private long version;
 
     @PostConstruct
     public void init() {
@@ -48,9 +61,57 @@ public class ActorStatusService {
     }
 
     public Flux<ActorStatus> asFlux() {
+        return statusSink.asFlux()
+                .flatMapIterable(batch -> batch);
+    }
+
+    // 틱 단위 상태 변경 묶음 스트림.
+    public Flux<List<ActorStatus>> batchFlux() {
         return statusSink.asFlux();
     }
 
+    // window마다 직전 프레임 이후 바뀐 actor만 담은 프레임을 내보낸다. 바뀐 것이 없으면 프레임을 보내지 않는다.
+    // 구독 직후 첫 프레임은 모든 actor의 현재 상태를 담은 키프레임이다.
+    public Flux<ActorStatusFrame> frameFlux(Duration window) {
+        return Flux.defer(() -> {
+            AtomicLong sentVersion = new AtomicLong(-1);
+            return Flux.interval(Duration.ZERO, window)
+                    .onBackpressureDrop()
+                    .handle((tick, sink) -> {
+                        ActorStatusFrame frame = frameSince(sentVersion.get());
+                        if (frame != null) {
+                            sentVersion.set(frame.version());
+                            sink.next(frame);
+                        }
+                    });
+        });
+    }
+
+    // sinceVersion 이후의 변경을 프레임으로 만든다. sinceVersion이 음수면 키프레임, 변경이 없으면 null을 반환한다.
+    public ActorStatusFrame frameSince(long sinceVersion) {
+        synchronized (versionLock) {
+            if (sinceVersion < 0) {
+                return new ActorStatusFrame(version, true, List.copyOf(statuses.values()), List.of());
+            }
+            if (sinceVersion >= version) {
+                return null;
+            }
+            List<ActorStatus> changed = new ArrayList<>();
+            changedVersions.forEach((actorId, changedVersion) -> {
+                if (changedVersion > sinceVersion) {
+                    changed.add(statuses.get(actorId));
+                }
+            });
+            List<Long> removed = new ArrayList<>();
+            removedVersions.forEach((actorId, removedVersion) -> {
+                if (removedVersion > sinceVersion) {
+                    removed.add(actorId);
+                }
+            });
+            return new ActorStatusFrame(version, false, changed, removed);
+        }
+    }
+
     public Flux<ActorStatus> asFlux(Long actorId) {
         return asFlux()
                 .filter(status -> status.actorId() != null && status.actorId().equals(actorId));
@@ -77,34 +138,72 @@ public class ActorStatusService {
         return statuses.get(actorId);
     }
 
-    public java.util.List<GridPoint> getTrail(Long actorId) {
+    public List<GridPoint> getTrail(Long actorId) {
         Deque<GridPoint> trail = trails.get(actorId);
         if (trail == null) {
-            return java.util.List.of();
+            return List.of();
         }
         return Collections.unmodifiableList(new ArrayList<>(trail));
     }
 
     public void upsert(ActorStatus status) {
-        if (status == null || status.actorId() == null) {
+        if (status == null) {
+            return;
+        }
+        upsertAll(List.of(status));
+    }
+
+    // 여러 actor의 상태를 반영하고 한 번의 묶음으로 내보낸다.
+    public void upsertAll(List<ActorStatus> statusBatch) {
+        List<ActorStatus> applied = new ArrayList<>(statusBatch.size());
+        for (ActorStatus status : statusBatch) {
+            if (status == null || status.actorId() == null) {
+                continue;
+            }
+            applied.add(sanitize(status));
+        }
+        if (applied.isEmpty()) {
             return;
         }
-        ActorStatus sanitized = sanitize(status);
-        statuses.put(sanitized.actorId(), sanitized);
-        addTrailPoint(sanitized.actorId(), new GridPoint(sanitized.x(), sanitized.y()));
-        statusSink.emitNext(sanitized, RETRY_NON_SERIALIZED);
+        synchronized (versionLock) {
+            version++;
+            for (ActorStatus status : applied) {
+                statuses.put(status.actorId(), status);
+                changedVersions.put(status.actorId(), version);
+                removedVersions.remove(status.actorId());
+            }
+        }
+        for (ActorStatus status : applied) {
+            addTrailPoint(status.actorId(), new GridPoint(status.x(), status.y()));
+        }
+        statusSink.emitNext(List.copyOf(applied), RETRY_NON_SERIALIZED);
     }
 
     public void remove(Long actorId) {
         if (actorId == null) {
             return;
         }
-        statuses.remove(actorId);
+        synchronized (versionLock) {
+            if (statuses.remove(actorId) != null) {
+                version++;
+                changedVersions.remove(actorId);
+                removedVersions.put(actorId, version);
+            }
+        }
         trails.remove(actorId);
     }
 
     public void clear() {
-        statuses.clear();
+        synchronized (versionLock) {
+            if (!statuses.isEmpty()) {
+                version++;
+                for (Long actorId : statuses.keySet()) {
+                    removedVersions.put(actorId, version);
+                }
+            }
+            statuses.clear();
+            changedVersions.clear();
+        }
         trails.clear();
     }
 
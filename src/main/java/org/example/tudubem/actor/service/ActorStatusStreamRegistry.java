@@ -0,0 +1,198 @@
+package org.example.tudubem.actor.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tudubem.actor.dto.ActorStatus;
+import org.example.tudubem.actor.dto.ActorStatusStreamStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Actor 상태 SSE 구독자마다 크기가 제한된 버퍼를 둔다.
+// 구독자가 느리면 같은 actor의 상태는 최신 것만 남기고(latest-wins), actor 수가 버퍼를 넘으면 가장 오래 바뀌지 않은 actor부터 버린다.
+// 보내지 못한 상태가 max-lag-ms 넘게 남아 있는 구독자는 연결을 끊는다. 원본 스트림은 항상 즉시 소비되므로 느린 구독자가 다른 구독자를 막지 않는다.
+@Slf4j
+@Component
+public class ActorStatusStreamRegistry {
+
+    private final int bufferActors;
+    private final long maxLagMillis;
+
+    private final ConcurrentMap<Long, Connection> connections = new ConcurrentHashMap<>();
+    private final AtomicLong connectionIds = new AtomicLong();
+    private final AtomicLong slowConsumerDisconnects = new AtomicLong();
+    // 닫힌 연결의 카운터를 누적해 둔다.
+    private final AtomicLong closedDelivered = new AtomicLong();
+    private final AtomicLong closedConflated = new AtomicLong();
+    private final AtomicLong closedDropped = new AtomicLong();
+    private Disposable lagChecker;
+
+    public ActorStatusStreamRegistry(
+            @Value("${app.sim.stream.buffer-actors:1024}") int bufferActors,
+            @Value("${app.sim.stream.max-lag-ms:10000}") long maxLagMillis
+    ) {
+        if (bufferActors < 1 || maxLagMillis < 1) {
+            throw new IllegalArgumentException("app.sim.stream.buffer-actors and app.sim.stream.max-lag-ms must be greater than 0");
+        }
+        this.bufferActors = bufferActors;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @PostConstruct
+    void start() {
+        // 새 상태가 들어오지 않는 동안 멈춰 있는 구독자도 정리되도록 주기적으로 확인한다.
+        lagChecker = Flux.interval(Duration.ofSeconds(1))
+                .onBackpressureDrop()
+                .subscribe(ignored -> connections.values().forEach(Connection::checkLag));
+    }
+
+    @PreDestroy
+    void stop() {
+        if (lagChecker != null) {
+            lagChecker.dispose();
+        }
+    }
+
+    // 상태 묶음 스트림을 구독자 하나용 스트림으로 바꾼다. 구독할 때마다 새 연결로 등록된다.
+    public Flux<ActorStatus> open(Flux<List<ActorStatus>> batches) {
+        return Flux.create(sink -> {
+            Connection connection = new Connection(connectionIds.incrementAndGet(), sink);
+            connections.put(connection.id, connection);
+            Disposable upstream = batches.subscribe(connection::offer, sink::error, sink::complete);
+            sink.onRequest(ignored -> connection.drain());
+            sink.onDispose(() -> {
+                upstream.dispose();
+                close(connection);
+            });
+        });
+    }
+
+    public ActorStatusStreamStats stats() {
+        List<ActorStatusStreamStats.Connection> connectionStats = new ArrayList<>();
+        long delivered = closedDelivered.get();
+        long conflated = closedConflated.get();
+        long dropped = closedDropped.get();
+        for (Connection connection : connections.values()) {
+            ActorStatusStreamStats.Connection stats = connection.stats();
+            connectionStats.add(stats);
+            delivered += stats.delivered();
+            conflated += stats.conflated();
+            dropped += stats.dropped();
+        }
+        return new ActorStatusStreamStats(
+                connectionStats.size(),
+                connectionIds.get(),
+                slowConsumerDisconnects.get(),
+                delivered,
+                conflated,
+                dropped,
+                connectionStats
+        );
+    }
+
+    private void close(Connection connection) {
+        if (connections.remove(connection.id) == null) {
+            return;
+        }
+        ActorStatusStreamStats.Connection stats = connection.stats();
+        closedDelivered.addAndGet(stats.delivered());
+        closedConflated.addAndGet(stats.conflated());
+        closedDropped.addAndGet(stats.dropped());
+    }
+
+    private final class Connection {
+        private final long id;
+        private final FluxSink<ActorStatus> sink;
+        private final Instant connectedAt = Instant.now();
+        // actorId별 보내지 못한 최신 상태. 가장 오래 전에 바뀐 actor가 앞에 온다.
+        private final LinkedHashMap<Long, ActorStatus> pending = new LinkedHashMap<>();
+        private long delivered;
+        private long conflated;
+        private long dropped;
+        private long lagSinceNanos;
+        private boolean draining;
+        private boolean closed;
+
+        private Connection(long id, FluxSink<ActorStatus> sink) {
+            this.id = id;
+            this.sink = sink;
+        }
+
+        private synchronized void offer(List<ActorStatus> batch) {
+            for (ActorStatus status : batch) {
+                if (pending.remove(status.actorId()) != null) {
+                    conflated++;
+                } else if (pending.size() >= bufferActors) {
+                    // 요청이 남아 있으면 먼저 보내 자리를 만들고, 그래도 가득 차 있으면 가장 오래된 actor를 버린다.
+                    drain();
+                    if (pending.size() >= bufferActors) {
+                        Iterator<Map.Entry<Long, ActorStatus>> eldest = pending.entrySet().iterator();
+                        eldest.next();
+                        eldest.remove();
+                        dropped++;
+                    }
+                }
+                pending.put(status.actorId(), status);
+            }
+            drain();
+            checkLag();
+        }
+
+        private synchronized void drain() {
+            if (draining || closed) {
+                return;
+            }
+            draining = true;
+            try {
+                Iterator<ActorStatus> iterator = pending.values().iterator();
+                while (iterator.hasNext() && sink.requestedFromDownstream() > 0) {
+                    ActorStatus status = iterator.next();
+                    iterator.remove();
+                    delivered++;
+                    sink.next(status);
+                    iterator = pending.values().iterator();
+                }
+                if (pending.isEmpty()) {
+                    lagSinceNanos = 0;
+                } else if (lagSinceNanos == 0) {
+                    lagSinceNanos = System.nanoTime();
+                }
+            } finally {
+                draining = false;
+            }
+        }
+
+        private synchronized void checkLag() {
+            if (closed || lagSinceNanos == 0 || lagMillis() <= maxLagMillis) {
+                return;
+            }
+            closed = true;
+            slowConsumerDisconnects.incrementAndGet();
+            log.info("Disconnecting slow actor status subscriber: connectionId={}, pending={}, lag={}ms", id, pending.size(), lagMillis());
+            pending.clear();
+            sink.complete();
+        }
+
+        private long lagMillis() {
+            return lagSinceNanos == 0 ? 0 : Duration.ofNanos(System.nanoTime() - lagSinceNanos).toMillis();
+        }
+
+        private synchronized ActorStatusStreamStats.Connection stats() {
+            return new ActorStatusStreamStats.Connection(id, connectedAt, delivered, conflated, dropped, pending.size(), lagMillis());
+        }
+    }
+}
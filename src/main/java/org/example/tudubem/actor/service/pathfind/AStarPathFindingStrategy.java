@@ -0,0 +1,139 @@
+package org.example.tudubem.actor.service.pathfind;
+
+import org.example.tudubem.world.service.grid.GridMap;
+import org.example.tudubem.world.service.grid.OccupancyGrid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+// A* 경로 탐색. 4방향 모드에서는 맨해튼, 8방향 모드에서는 옥타일(octile) 거리를 휴리스틱으로 쓴다.
+// 비용은 직선 10, 대각선 14의 정수로 계산하며 두 휴리스틱 모두 실제 비용을 넘지 않는다(admissible).
+// 8방향 모드에서는 모서리를 깎고 지나가지 않도록, 대각선 이동 시 인접한 두 직선 셀이 모두 비어 있어야 한다.
+@Component("astar")
+public class AStarPathFindingStrategy implements PathFindingStrategy {
+
+    static final int STRAIGHT_COST = 10;
+    static final int DIAGONAL_COST = 14;
+
+    private static final int[][] STRAIGHT_DIRECTIONS = {
+            {1, 0}, {-1, 0}, {0, 1}, {0, -1}
+    };
+    private static final int[][] DIAGONAL_DIRECTIONS = {
+            {1, 1}, {1, -1}, {-1, 1}, {-1, -1}
+    };
+
+    private final boolean allowDiagonal;
+
+    public AStarPathFindingStrategy(@Value("${app.pathfind.astar.diagonal:false}") boolean allowDiagonal) {
+        this.allowDiagonal = allowDiagonal;
+    }
+
+    @Override
+    public PathResult findPath(GridMap gridMap, int startX, int startY, int targetX, int targetY) {
+        PathResult invalid = PathFindingSupport.validate(gridMap, startX, startY, targetX, targetY);
+        if (invalid != null) {
+            return invalid;
+        }
+
+        OccupancyGrid occupancy = gridMap.occupancy();
+        int width = gridMap.widthCells();
+        int height = gridMap.heightCells();
+        int cellCount = width * height;
+        int startIndex = startY * width + startX;
+        int targetIndex = targetY * width + targetX;
+
+        int[] gScore = new int[cellCount];
+        Arrays.fill(gScore, Integer.MAX_VALUE);
+        int[] parent = new int[cellCount];
+        boolean[] closed = new boolean[cellCount];
+        IntBinaryHeap open = new IntBinaryHeap(256);
+
+        gScore[startIndex] = 0;
+        parent[startIndex] = -1;
+        open.push(key(0, heuristic(startX, startY, targetX, targetY)), startIndex);
+
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            if (closed[current]) {
+                continue;
+            }
+            if (current == targetIndex) {
+                return new PathResult(true, PathFindingSupport.rebuildPath(parent, width, startIndex, targetIndex), null);
+            }
+            closed[current] = true;
+
+            int cx = current % width;
+            int cy = current / width;
+            int currentG = gScore[current];
+
+            for (int[] direction : STRAIGHT_DIRECTIONS) {
+                relax(occupancy, width, height, cx + direction[0], cy + direction[1], current, currentG + STRAIGHT_COST,
+                        targetX, targetY, gScore, parent, closed, open);
+            }
+            if (!allowDiagonal) {
+                continue;
+            }
+            for (int[] direction : DIAGONAL_DIRECTIONS) {
+                int nx = cx + direction[0];
+                int ny = cy + direction[1];
+                // 대각선 이동은 양옆 직선 셀이 모두 비어 있을 때만 허용한다(코너 커팅 금지).
+                if (!isWalkable(occupancy, width, height, nx, cy) || !isWalkable(occupancy, width, height, cx, ny)) {
+                    continue;
+                }
+                relax(occupancy, width, height, nx, ny, current, currentG + DIAGONAL_COST,
+                        targetX, targetY, gScore, parent, closed, open);
+            }
+        }
+
+        return new PathResult(false, List.of(), "path_not_found");
+    }
+
+    private void relax(
+            OccupancyGrid occupancy,
+            int width,
+            int height,
+            int nx,
+            int ny,
+            int current,
+            int tentativeG,
+            int targetX,
+            int targetY,
+            int[] gScore,
+            int[] parent,
+            boolean[] closed,
+            IntBinaryHeap open
+    ) {
+        if (!isWalkable(occupancy, width, height, nx, ny)) {
+            return;
+        }
+        int next = ny * width + nx;
+        if (closed[next] || tentativeG >= gScore[next]) {
+            return;
+        }
+        gScore[next] = tentativeG;
+        parent[next] = current;
+        int h = heuristic(nx, ny, targetX, targetY);
+        open.push(key(tentativeG + h, h), next);
+    }
+
+    // 맨해튼(4방향) 또는 옥타일(8방향) 거리.
+    int heuristic(int x, int y, int targetX, int targetY) {
+        int dx = Math.abs(x - targetX);
+        int dy = Math.abs(y - targetY);
+        if (!allowDiagonal) {
+            return STRAIGHT_COST * (dx + dy);
+        }
+        return STRAIGHT_COST * (dx + dy) + (DIAGONAL_COST - 2 * STRAIGHT_COST) * Math.min(dx, dy);
+    }
+
+    // f가 같으면 목표에 더 가까운(h가 작은) 노드를 먼저 꺼내도록 (f, h)를 하나의 long 키로 묶는다.
+    private static long key(int f, int h) {
+        return ((long) f << 32) | (h & 0xFFFFFFFFL);
+    }
+
+    private static boolean isWalkable(OccupancyGrid occupancy, int width, int height, int x, int y) {
+        return PathFindingSupport.isInBounds(x, y, width, height) && !occupancy.isOccupied(x, y);
+    }
+}
@@ -1,104 +1,79 @@
 package org.example.tudubem.actor.service.pathfind;
 
 import org.example.tudubem.world.service.grid.GridMap;
-import org.springframework.context.annotation.Primary;
+import org.example.tudubem.world.service.grid.OccupancyGrid;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
-@Component
-@Primary
+// 4방향 BFS 경로 탐색.
+// 방문/부모 배열과 큐는 풀에서 빌린 SearchContext를 재사용하므로, 정상 상태에서는 결과 경로만 새로 할당한다.
+@Component("bfs")
 public class BfsPathFindingStrategy implements PathFindingStrategy {
 
-    private static final int[][] DIRECTIONS = {
-            {1, 0}, {-1, 0}, {0, 1}, {0, -1}
-    };
+    private static final int[] DX = {1, -1, 0, 0};
+    private static final int[] DY = {0, 0, 1, -1};
+
+    private final SearchContextPool contextPool;
+
+    // 풀에 남겨 둘 컨텍스트의 최대 셀 수. 이보다 큰 맵의 탐색 배열은 탐색이 끝나면 버린다.
+    public BfsPathFindingStrategy(@Value("${app.pathfind.bfs.pool-max-cells:1048576}") int poolMaxCells) {
+        this.contextPool = new SearchContextPool(Runtime.getRuntime().availableProcessors(), poolMaxCells);
+    }
 
     @Override
     public PathResult findPath(GridMap gridMap, int startX, int startY, int targetX, int targetY) {
-        int width = gridMap.widthCells();
-        int height = gridMap.heightCells();
-
-        if (!isInBounds(startX, startY, width, height) || !isInBounds(targetX, targetY, width, height)) {
-            return new PathResult(false, List.of(), "start_or_target_out_of_bounds");
-        }
-        if (!isWalkable(gridMap, startX, startY)) {
-            return new PathResult(false, List.of(), "start_blocked");
-        }
-        if (!isWalkable(gridMap, targetX, targetY)) {
-            return new PathResult(false, List.of(), "target_blocked");
-        }
-        if (startX == targetX && startY == targetY) {
-            return new PathResult(true, List.of(new GridPoint(startX, startY)), null);
+        PathResult invalid = PathFindingSupport.validate(gridMap, startX, startY, targetX, targetY);
+        if (invalid != null) {
+            return invalid;
         }
 
-        boolean[][] visited = new boolean[height][width];
-        int[][] prevX = new int[height][width];
-        int[][] prevY = new int[height][width];
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                prevX[y][x] = -1;
-                prevY[y][x] = -1;
-            }
+        SearchContext context = contextPool.acquire();
+        try {
+            return search(context, gridMap, startX, startY, targetX, targetY);
+        } finally {
+            contextPool.release(context);
         }
+    }
 
-        ArrayDeque<GridPoint> queue = new ArrayDeque<>();
-        queue.add(new GridPoint(startX, startY));
-        visited[startY][startX] = true;
+    private PathResult search(SearchContext context, GridMap gridMap, int startX, int startY, int targetX, int targetY) {
+        OccupancyGrid occupancy = gridMap.occupancy();
+        int width = gridMap.widthCells();
+        int height = gridMap.heightCells();
+        int startIndex = startY * width + startX;
+        int targetIndex = targetY * width + targetX;
+
+        context.begin(width * height);
+        int[] queue = context.queue();
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = startIndex;
+        context.visit(startIndex, -1);
 
-        while (!queue.isEmpty()) {
-            GridPoint current = queue.poll();
-            if (current.x() == targetX && current.y() == targetY) {
-                return new PathResult(true, rebuildPath(prevX, prevY, startX, startY, targetX, targetY), null);
+        while (head < tail) {
+            int current = queue[head++];
+            if (current == targetIndex) {
+                return new PathResult(true, PathFindingSupport.rebuildPath(context.parent(), width, startIndex, targetIndex), null);
             }
 
-            for (int[] direction : DIRECTIONS) {
-                int nx = current.x() + direction[0];
-                int ny = current.y() + direction[1];
-                if (!isInBounds(nx, ny, width, height)) {
+            int cx = current % width;
+            int cy = current / width;
+            for (int d = 0; d < DX.length; d++) {
+                int nx = cx + DX[d];
+                int ny = cy + DY[d];
+                if (!PathFindingSupport.isInBounds(nx, ny, width, height)) {
                     continue;
                 }
-                if (visited[ny][nx] || !isWalkable(gridMap, nx, ny)) {
+                int next = ny * width + nx;
+                if (context.isVisited(next) || occupancy.isOccupied(nx, ny)) {
                     continue;
                 }
-                visited[ny][nx] = true;
-                prevX[ny][nx] = current.x();
-                prevY[ny][nx] = current.y();
-                queue.add(new GridPoint(nx, ny));
+                context.visit(next, current);
+                queue[tail++] = next;
             }
         }
 
         return new PathResult(false, List.of(), "path_not_found");
     }
-
-    private List<GridPoint> rebuildPath(int[][] prevX, int[][] prevY, int startX, int startY, int targetX, int targetY) {
-        List<GridPoint> path = new ArrayList<>();
-        int cursorX = targetX;
-        int cursorY = targetY;
-
-        while (!(cursorX == startX && cursorY == startY)) {
-            path.add(new GridPoint(cursorX, cursorY));
-            int parentX = prevX[cursorY][cursorX];
-            int parentY = prevY[cursorY][cursorX];
-            if (parentX < 0 || parentY < 0) {
-                return List.of();
-            }
-            cursorX = parentX;
-            cursorY = parentY;
-        }
-        path.add(new GridPoint(startX, startY));
-        Collections.reverse(path);
-        return path;
-    }
-
-    private boolean isInBounds(int x, int y, int width, int height) {
-        return x >= 0 && y >= 0 && x < width && y < height;
-    }
-
-    private boolean isWalkable(GridMap gridMap, int x, int y) {
-        return gridMap.occupancy().get(y).get(x) == 0;
-    }
 }
@@ -0,0 +1,59 @@
+package org.example.tudubem.actor.service.pathfind;
+
+import org.example.tudubem.world.service.WorldService;
+import org.example.tudubem.world.service.grid.GridMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// HPA* 경로 탐색. 클러스터 추상 그래프는 actor 크기별 레이어 인덱스로 월드 번들에 붙여 캐시하고,
+// 동적 객체 변경이 발행되면 그 영역의 클러스터만 다시 계산한다.
+// 결과는 8방향 A*에 가깝지만 클러스터 경계를 지나는 지점이 출입구로 제한되므로 최단 경로를 보장하지는 않는다.
+@Component("hpa")
+public class HierarchicalPathFindingStrategy implements PathFindingStrategy {
+
+    private static final String INDEX_NAME = "hpa";
+
+    private final WorldService worldService;
+    private final int clusterSize;
+
+    public HierarchicalPathFindingStrategy(
+            WorldService worldService,
+            @Value("${app.pathfind.hpa.cluster-size:32}") int clusterSize
+    ) {
+        if (clusterSize < 2) {
+            throw new IllegalArgumentException("hpa cluster size must be at least 2: " + clusterSize);
+        }
+        this.worldService = worldService;
+        this.clusterSize = clusterSize;
+    }
+
+    // mapId가 없으면 캐시할 수 없으므로 매번 추상 그래프를 새로 만든다.
+    @Override
+    public PathResult findPath(GridMap gridMap, int startX, int startY, int targetX, int targetY) {
+        PathResult invalid = PathFindingSupport.validate(gridMap, startX, startY, targetX, targetY);
+        if (invalid != null) {
+            return invalid;
+        }
+        return new HpaGraph(gridMap.occupancy(), clusterSize).findPath(startX, startY, targetX, targetY);
+    }
+
+    @Override
+    public PathResult findPath(Long mapId, int actorSize, GridMap gridMap, int startX, int startY, int targetX, int targetY) {
+        if (mapId == null) {
+            return findPath(gridMap, startX, startY, targetX, targetY);
+        }
+        // 그래프는 gridMap 조회 뒤에 발행된 더 새 레이어 기준일 수 있으므로 그래프의 레이어로 검증한다.
+        HpaGraph graph = (HpaGraph) worldService.getLayerIndex(
+                mapId,
+                actorSize,
+                INDEX_NAME,
+                layer -> new HpaGraph(layer, clusterSize)
+        );
+        GridMap graphMap = new GridMap(gridMap.widthCells(), gridMap.heightCells(), gridMap.cellSizePx(), graph.layer());
+        PathResult invalid = PathFindingSupport.validate(graphMap, startX, startY, targetX, targetY);
+        if (invalid != null) {
+            return invalid;
+        }
+        return graph.findPath(startX, startY, targetX, targetY);
+    }
+}
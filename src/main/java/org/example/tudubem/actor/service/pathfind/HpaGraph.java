@@ -0,0 +1,548 @@
+package org.example.tudubem.actor.service.pathfind;
+
+import org.example.tudubem.world.service.grid.CellBounds;
+import org.example.tudubem.world.service.grid.LayerIndex;
+import org.example.tudubem.world.service.grid.OccupancyGrid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+
+// HPA*(Hierarchical Path-Finding A*)용 추상 그래프.
+// 그리드를 clusterSize x clusterSize 클러스터로 나누고, 인접 클러스터 경계에서 양쪽이 모두 빈 구간마다
+// 출입구(entrance) 셀 쌍을 만든다. 클러스터 내부 출입구 사이의 최단 거리를 미리 계산해 두고,
+// 질의 시에는 이 작은 추상 그래프 위에서 탐색한 뒤 구간별로 클러스터 내부 경로를 펼친다.
+// 비용과 이동 규칙은 8방향 A*와 같다(직선 10, 대각선 14, 코너 커팅 금지). 클러스터를 넘는 이동은 직선만 쓴다.
+// 만든 뒤에는 바뀌지 않으므로 여러 스레드가 잠금 없이 함께 탐색한다. 탐색용 작업 배열은 질의마다 따로 만든다.
+// 레이어가 바뀌면 repair가 바뀐 클러스터만 다시 계산한 새 그래프를 만들고, 나머지 클러스터는 이전 그래프와 공유한다.
+final class HpaGraph implements LayerIndex {
+
+    private static final int INF = Integer.MAX_VALUE;
+    private static final int STRAIGHT_COST = AStarPathFindingStrategy.STRAIGHT_COST;
+    private static final int DIAGONAL_COST = AStarPathFindingStrategy.DIAGONAL_COST;
+    // 경계의 빈 구간이 이 길이 이상이면 출입구를 구간 양 끝 두 곳에 둔다.
+    private static final int WIDE_ENTRANCE_LENGTH = 6;
+    private static final int[][] DIRECTIONS = {
+            {1, 0}, {-1, 0}, {0, 1}, {0, -1}, {1, 1}, {1, -1}, {-1, 1}, {-1, -1}
+    };
+
+    private final int width;
+    private final int height;
+    private final int clusterSize;
+    private final int clustersX;
+    private final int clustersY;
+    // 그래프를 만든 점유 레이어. 복사하지 않고 참조하므로 만든 뒤 바뀌지 않는(얼린) 레이어를 넘긴다.
+    private final OccupancyGrid layer;
+    private final Cluster[] clusters;
+    // 세로 경계(cx | cx+1)와 가로 경계(cy / cy+1)의 출입구 셀 쌍. [a0, b0, a1, b1, ...]
+    private final int[][] verticalEntrances;
+    private final int[][] horizontalEntrances;
+
+    // 추상 노드 번호 = clusterOffsets[클러스터] + 클러스터 안 노드 순번. 그래프마다 새로 매긴다.
+    private final int[] clusterOffsets;
+    private int[] nodeCells;
+    private int[] nodeClusters;
+    private int[][] nodePartners;
+
+    HpaGraph(OccupancyGrid layer, int clusterSize) {
+        this.width = layer.width();
+        this.height = layer.height();
+        this.clusterSize = clusterSize;
+        this.clustersX = (width + clusterSize - 1) / clusterSize;
+        this.clustersY = (height + clusterSize - 1) / clusterSize;
+        this.layer = layer;
+        this.clusters = new Cluster[clustersX * clustersY];
+        this.clusterOffsets = new int[clusters.length + 1];
+        this.verticalEntrances = new int[Math.max(0, clustersX - 1) * clustersY][];
+        this.horizontalEntrances = new int[clustersX * Math.max(0, clustersY - 1)][];
+
+        for (int cy = 0; cy < clustersY; cy++) {
+            for (int cx = 0; cx < clustersX; cx++) {
+                if (cx + 1 < clustersX) {
+                    rebuildVerticalBorder(cx, cy);
+                }
+                if (cy + 1 < clustersY) {
+                    rebuildHorizontalBorder(cx, cy);
+                }
+            }
+        }
+        for (int i = 0; i < clusters.length; i++) {
+            rebuildCluster(i);
+        }
+        renumberNodes();
+    }
+
+    // source의 클러스터와 출입구를 공유하는 새 레이어용 그래프. repair에서만 쓴다.
+    private HpaGraph(HpaGraph source, OccupancyGrid layer) {
+        this.width = source.width;
+        this.height = source.height;
+        this.clusterSize = source.clusterSize;
+        this.clustersX = source.clustersX;
+        this.clustersY = source.clustersY;
+        this.layer = layer;
+        this.clusters = source.clusters.clone();
+        this.clusterOffsets = new int[clusters.length + 1];
+        this.verticalEntrances = source.verticalEntrances.clone();
+        this.horizontalEntrances = source.horizontalEntrances.clone();
+    }
+
+    // 이 그래프를 만든 레이어에서 dirty 영역들만 바뀐 layer용 그래프를 만든다.
+    // dirty 영역과 겹치는 클러스터와 그 이웃만 다시 계산하고, 나머지 클러스터는 이 그래프와 공유한다.
+    @Override
+    public HpaGraph repair(OccupancyGrid layer, List<CellBounds> dirty) {
+        if (!this.layer.hasSameSize(layer)) {
+            return new HpaGraph(layer, clusterSize);
+        }
+        HpaGraph repaired = new HpaGraph(this, layer);
+        boolean[] changed = new boolean[clusters.length];
+        for (CellBounds bounds : dirty) {
+            CellBounds clipped = bounds.clip(width, height);
+            if (clipped.isEmpty()) {
+                continue;
+            }
+            for (int cy = clipped.minY() / clusterSize; cy <= clipped.maxY() / clusterSize; cy++) {
+                for (int cx = clipped.minX() / clusterSize; cx <= clipped.maxX() / clusterSize; cx++) {
+                    changed[cy * clustersX + cx] = true;
+                }
+            }
+        }
+
+        // 바뀐 클러스터의 경계 출입구가 바뀌면 이웃 클러스터의 노드도 바뀌므로 함께 다시 계산한다.
+        boolean[] rebuild = new boolean[clusters.length];
+        for (int cy = 0; cy < clustersY; cy++) {
+            for (int cx = 0; cx < clustersX; cx++) {
+                if (!changed[cy * clustersX + cx]) {
+                    continue;
+                }
+                rebuild[cy * clustersX + cx] = true;
+                if (cx > 0) {
+                    repaired.rebuildVerticalBorder(cx - 1, cy);
+                    rebuild[cy * clustersX + cx - 1] = true;
+                }
+                if (cx + 1 < clustersX) {
+                    repaired.rebuildVerticalBorder(cx, cy);
+                    rebuild[cy * clustersX + cx + 1] = true;
+                }
+                if (cy > 0) {
+                    repaired.rebuildHorizontalBorder(cx, cy - 1);
+                    rebuild[(cy - 1) * clustersX + cx] = true;
+                }
+                if (cy + 1 < clustersY) {
+                    repaired.rebuildHorizontalBorder(cx, cy);
+                    rebuild[(cy + 1) * clustersX + cx] = true;
+                }
+            }
+        }
+        for (int i = 0; i < clusters.length; i++) {
+            if (rebuild[i]) {
+                repaired.rebuildCluster(i);
+            }
+        }
+        repaired.renumberNodes();
+        return repaired;
+    }
+
+    OccupancyGrid layer() {
+        return layer;
+    }
+
+    // 클러스터별 출입구 거리 표와 노드 배열의 대략적인 크기.
+    @Override
+    public long sizeInBytes() {
+        long bytes = (long) nodeCells.length * Integer.BYTES * 2;
+        for (int[] partners : nodePartners) {
+            bytes += 16L + (long) partners.length * Integer.BYTES;
+        }
+        for (Cluster cluster : clusters) {
+            int nodeCount = cluster.nodes.length;
+            bytes += 64L + (long) nodeCount * (Integer.BYTES * 2 + 48) + (long) nodeCount * nodeCount * Integer.BYTES;
+        }
+        for (int[] entrances : verticalEntrances) {
+            bytes += 16L + (long) entrances.length * Integer.BYTES;
+        }
+        for (int[] entrances : horizontalEntrances) {
+            bytes += 16L + (long) entrances.length * Integer.BYTES;
+        }
+        return bytes;
+    }
+
+    // 시작/목표 셀은 이미 검증되었다고 가정한다(그리드 안, 비점유, 서로 다름).
+    PathResult findPath(int startX, int startY, int targetX, int targetY) {
+        int startCell = startY * width + startX;
+        int targetCell = targetY * width + targetX;
+        int startClusterIndex = clusterIndexOf(startX, startY);
+        int targetClusterIndex = clusterIndexOf(targetX, targetY);
+        Cluster startCluster = clusters[startClusterIndex];
+        Cluster targetCluster = clusters[targetClusterIndex];
+
+        // 시작/목표 셀을 자기 클러스터의 출입구들과 잇는 임시 간선 비용.
+        LocalSearch fromStart = localSearch(startCluster, startCell, -1, null);
+        LocalSearch fromTarget = localSearch(targetCluster, targetCell, -1, null);
+
+        int bestCost = startClusterIndex == targetClusterIndex ? fromStart.distanceTo(targetCell) : INF;
+        int bestGoalNode = -1;
+
+        AbstractSearch search = new AbstractSearch(nodeCells.length, targetX, targetY);
+        int startOffset = clusterOffsets[startClusterIndex];
+        for (int j = 0; j < startCluster.nodes.length; j++) {
+            int cost = fromStart.distanceTo(startCluster.nodes[j]);
+            if (cost != INF) {
+                search.relax(startOffset + j, -1, cost);
+            }
+        }
+
+        IntBinaryHeap open = search.open;
+        while (!open.isEmpty()) {
+            long key = open.peekKey();
+            int node = open.pop();
+            int g = search.g[node];
+            if ((int) (key >>> 32) != g + octile(nodeCells[node] % width - targetX, nodeCells[node] / width - targetY)) {
+                continue;
+            }
+            if ((key >>> 32) >= bestCost) {
+                break;
+            }
+            int clusterIndex = nodeClusters[node];
+            Cluster cluster = clusters[clusterIndex];
+            if (clusterIndex == targetClusterIndex) {
+                int toTarget = fromTarget.distanceTo(nodeCells[node]);
+                if (toTarget != INF && g + toTarget < bestCost) {
+                    bestCost = g + toTarget;
+                    bestGoalNode = node;
+                }
+            }
+            int offset = clusterOffsets[clusterIndex];
+            int[] distances = cluster.distances[node - offset];
+            for (int j = 0; j < distances.length; j++) {
+                if (distances[j] != INF && offset + j != node) {
+                    search.relax(offset + j, node, g + distances[j]);
+                }
+            }
+            for (int partner : nodePartners[node]) {
+                search.relax(partner, node, g + STRAIGHT_COST);
+            }
+        }
+
+        if (bestCost == INF) {
+            return new PathResult(false, List.of(), "path_not_found");
+        }
+        if (bestGoalNode < 0) {
+            return new PathResult(true, fromStart.pathTo(targetCell), null);
+        }
+
+        // 추상 경로(start, n0, ..., nk, target)를 구간별로 펼친다.
+        List<Integer> waypoints = new ArrayList<>();
+        waypoints.add(targetCell);
+        for (int node = bestGoalNode; node >= 0; node = search.parent[node]) {
+            waypoints.add(nodeCells[node]);
+        }
+        waypoints.add(startCell);
+
+        List<GridPoint> path = new ArrayList<>();
+        path.add(new GridPoint(startX, startY));
+        for (int i = waypoints.size() - 1; i > 0; i--) {
+            int from = waypoints.get(i);
+            int to = waypoints.get(i - 1);
+            if (from == to) {
+                continue;
+            }
+            int fromClusterIndex = clusterIndexOf(from % width, from / width);
+            if (fromClusterIndex != clusterIndexOf(to % width, to / width)) {
+                path.add(new GridPoint(to % width, to / width));
+                continue;
+            }
+            List<GridPoint> segment = localSearch(clusters[fromClusterIndex], from, to, null).pathTo(to);
+            path.addAll(segment.subList(1, segment.size()));
+        }
+        return new PathResult(true, path, null);
+    }
+
+    private int clusterIndexOf(int x, int y) {
+        return (y / clusterSize) * clustersX + (x / clusterSize);
+    }
+
+    private void rebuildVerticalBorder(int cx, int cy) {
+        int leftX = (cx + 1) * clusterSize - 1;
+        int fromY = cy * clusterSize;
+        int toY = Math.min(height, fromY + clusterSize) - 1;
+        verticalEntrances[cy * (clustersX - 1) + cx] = entrances(fromY, toY, y -> y * width + leftX, 1);
+    }
+
+    private void rebuildHorizontalBorder(int cx, int cy) {
+        int bottomY = (cy + 1) * clusterSize - 1;
+        int fromX = cx * clusterSize;
+        int toX = Math.min(width, fromX + clusterSize) - 1;
+        horizontalEntrances[cy * clustersX + cx] = entrances(fromX, toX, x -> bottomY * width + x, width);
+    }
+
+    // 경계를 따라 양쪽 셀이 모두 빈 연속 구간을 찾아 출입구 셀 쌍을 만든다.
+    // nearCell은 경계 위치 i의 이쪽 셀 인덱스, acrossOffset은 건너편 셀까지의 인덱스 차이다.
+    private int[] entrances(int from, int to, IntUnaryOperator nearCell, int acrossOffset) {
+        List<Integer> pairs = new ArrayList<>();
+        int runStart = -1;
+        for (int i = from; i <= to + 1; i++) {
+            boolean open = i <= to && isFreeCell(nearCell.applyAsInt(i)) && isFreeCell(nearCell.applyAsInt(i) + acrossOffset);
+            if (open && runStart < 0) {
+                runStart = i;
+            } else if (!open && runStart >= 0) {
+                int runEnd = i - 1;
+                if (runEnd - runStart + 1 < WIDE_ENTRANCE_LENGTH) {
+                    int mid = (runStart + runEnd) >>> 1;
+                    pairs.add(nearCell.applyAsInt(mid));
+                    pairs.add(nearCell.applyAsInt(mid) + acrossOffset);
+                } else {
+                    pairs.add(nearCell.applyAsInt(runStart));
+                    pairs.add(nearCell.applyAsInt(runStart) + acrossOffset);
+                    pairs.add(nearCell.applyAsInt(runEnd));
+                    pairs.add(nearCell.applyAsInt(runEnd) + acrossOffset);
+                }
+                runStart = -1;
+            }
+        }
+        return pairs.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // 클러스터에 속한 출입구 노드를 모으고, 노드 쌍 사이의 클러스터 내부 최단 거리를 계산한다.
+    private void rebuildCluster(int clusterIndex) {
+        int cx = clusterIndex % clustersX;
+        int cy = clusterIndex / clustersX;
+        Cluster cluster = new Cluster(
+                cx * clusterSize,
+                cy * clusterSize,
+                Math.min(width, (cx + 1) * clusterSize) - 1,
+                Math.min(height, (cy + 1) * clusterSize) - 1
+        );
+
+        Map<Integer, List<Integer>> partnersByNode = new LinkedHashMap<>();
+        if (cx > 0) {
+            collect(verticalEntrances[cy * (clustersX - 1) + cx - 1], false, partnersByNode);
+        }
+        if (cx + 1 < clustersX) {
+            collect(verticalEntrances[cy * (clustersX - 1) + cx], true, partnersByNode);
+        }
+        if (cy > 0) {
+            collect(horizontalEntrances[(cy - 1) * clustersX + cx], false, partnersByNode);
+        }
+        if (cy + 1 < clustersY) {
+            collect(horizontalEntrances[cy * clustersX + cx], true, partnersByNode);
+        }
+
+        int nodeCount = partnersByNode.size();
+        cluster.nodes = new int[nodeCount];
+        cluster.partnerCells = new int[nodeCount][];
+        int index = 0;
+        for (Map.Entry<Integer, List<Integer>> entry : partnersByNode.entrySet()) {
+            cluster.nodes[index] = entry.getKey();
+            cluster.partnerCells[index] = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+            cluster.indexOf.put(entry.getKey(), index);
+            index++;
+        }
+
+        // 거리는 대칭이므로 i번 노드의 탐색은 i보다 뒤의 노드만 채운다. 그 노드들이 모두 확정되면 멈춘다.
+        cluster.distances = new int[nodeCount][nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            int[] remaining = Arrays.copyOfRange(cluster.nodes, i + 1, nodeCount);
+            LocalSearch search = remaining.length == 0 ? null : localSearch(cluster, cluster.nodes[i], -1, remaining);
+            for (int j = i + 1; j < nodeCount; j++) {
+                int distance = search.distanceTo(cluster.nodes[j]);
+                cluster.distances[i][j] = distance;
+                cluster.distances[j][i] = distance;
+            }
+        }
+        clusters[clusterIndex] = cluster;
+    }
+
+    // 출입구 쌍 배열에서 이 클러스터 쪽 셀(nearSide=true면 a, false면 b)과 상대 셀을 모은다.
+    private void collect(int[] pairs, boolean nearSide, Map<Integer, List<Integer>> partnersByNode) {
+        for (int i = 0; i + 1 < pairs.length; i += 2) {
+            int own = nearSide ? pairs[i] : pairs[i + 1];
+            int other = nearSide ? pairs[i + 1] : pairs[i];
+            partnersByNode.computeIfAbsent(own, key -> new ArrayList<>()).add(other);
+        }
+    }
+
+    // 클러스터별 노드 순번을 전체 노드 번호로 펼치고, 경계 건너편 셀도 노드 번호로 바꿔 둔다.
+    private void renumberNodes() {
+        for (int i = 0; i < clusters.length; i++) {
+            clusterOffsets[i + 1] = clusterOffsets[i] + clusters[i].nodes.length;
+        }
+        int nodeCount = clusterOffsets[clusters.length];
+        nodeCells = new int[nodeCount];
+        nodeClusters = new int[nodeCount];
+        nodePartners = new int[nodeCount][];
+        for (int i = 0; i < clusters.length; i++) {
+            Cluster cluster = clusters[i];
+            for (int j = 0; j < cluster.nodes.length; j++) {
+                int node = clusterOffsets[i] + j;
+                nodeCells[node] = cluster.nodes[j];
+                nodeClusters[node] = i;
+                int[] partnerCells = cluster.partnerCells[j];
+                int[] partners = new int[partnerCells.length];
+                for (int k = 0; k < partnerCells.length; k++) {
+                    int partnerCell = partnerCells[k];
+                    int partnerCluster = clusterIndexOf(partnerCell % width, partnerCell / width);
+                    partners[k] = clusterOffsets[partnerCluster] + clusters[partnerCluster].indexOf.get(partnerCell);
+                }
+                nodePartners[node] = partners;
+            }
+        }
+    }
+
+    private boolean isFreeCell(int cell) {
+        return !layer.isOccupied(cell % width, cell / width);
+    }
+
+    // 클러스터 범위 안에서만 움직이는 Dijkstra.
+    // targetCell이 있으면 옥타일 휴리스틱을 쓰는 A*로 그 셀에서 멈추고, stopCells가 있으면 모두 확정되었을 때 멈춘다.
+    private LocalSearch localSearch(Cluster cluster, int sourceCell, int targetCell, int[] stopCells) {
+        int clusterWidth = cluster.maxX - cluster.minX + 1;
+        int clusterHeight = cluster.maxY - cluster.minY + 1;
+        LocalSearch search = new LocalSearch(cluster, clusterWidth, clusterHeight);
+        int targetX = targetCell < 0 ? 0 : targetCell % width;
+        int targetY = targetCell < 0 ? 0 : targetCell / width;
+        int targetLocal = targetCell < 0 ? -1 : search.localIndex(targetX, targetY);
+
+        boolean[] closed = new boolean[clusterWidth * clusterHeight];
+        boolean[] stop = null;
+        int remaining = 0;
+        if (stopCells != null) {
+            stop = new boolean[clusterWidth * clusterHeight];
+            for (int cell : stopCells) {
+                stop[search.localIndex(cell % width, cell / width)] = true;
+            }
+            remaining = stopCells.length;
+        }
+
+        int source = search.localIndex(sourceCell % width, sourceCell / width);
+        search.distances[source] = 0;
+        search.parents[source] = -1;
+        IntBinaryHeap open = new IntBinaryHeap(clusterWidth * 2);
+        open.push(0, source);
+
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            if (closed[current]) {
+                continue;
+            }
+            closed[current] = true;
+            if (current == targetLocal || (stop != null && stop[current] && --remaining == 0)) {
+                break;
+            }
+            int x = cluster.minX + current % clusterWidth;
+            int y = cluster.minY + current / clusterWidth;
+            for (int[] direction : DIRECTIONS) {
+                int nx = x + direction[0];
+                int ny = y + direction[1];
+                if (!cluster.contains(nx, ny) || layer.isOccupied(nx, ny)) {
+                    continue;
+                }
+                boolean diagonal = direction[0] != 0 && direction[1] != 0;
+                if (diagonal && (layer.isOccupied(nx, y) || layer.isOccupied(x, ny))) {
+                    continue;
+                }
+                int next = search.localIndex(nx, ny);
+                int tentative = search.distances[current] + (diagonal ? DIAGONAL_COST : STRAIGHT_COST);
+                if (closed[next] || tentative >= search.distances[next]) {
+                    continue;
+                }
+                search.distances[next] = tentative;
+                search.parents[next] = current;
+                int h = targetLocal < 0 ? 0 : octile(nx - targetX, ny - targetY);
+                open.push(((long) (tentative + h) << 32) | h, next);
+            }
+        }
+        return search;
+    }
+
+    static int octile(int dx, int dy) {
+        dx = Math.abs(dx);
+        dy = Math.abs(dy);
+        return STRAIGHT_COST * (dx + dy) + (DIAGONAL_COST - 2 * STRAIGHT_COST) * Math.min(dx, dy);
+    }
+
+    private static final class Cluster {
+        private final int minX;
+        private final int minY;
+        private final int maxX;
+        private final int maxY;
+        private int[] nodes;
+        private int[][] partnerCells;
+        private int[][] distances;
+        private final Map<Integer, Integer> indexOf = new HashMap<>();
+
+        private Cluster(int minX, int minY, int maxX, int maxY) {
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+        }
+
+        private boolean contains(int x, int y) {
+            return x >= minX && x <= maxX && y >= minY && y <= maxY;
+        }
+    }
+
+    // 추상 그래프 위 A*의 질의별 작업 배열.
+    private final class AbstractSearch {
+        private final int[] g;
+        private final int[] parent;
+        private final int targetX;
+        private final int targetY;
+        private final IntBinaryHeap open = new IntBinaryHeap(256);
+
+        private AbstractSearch(int nodeCount, int targetX, int targetY) {
+            this.g = new int[nodeCount];
+            this.parent = new int[nodeCount];
+            this.targetX = targetX;
+            this.targetY = targetY;
+            Arrays.fill(g, INF);
+        }
+
+        private void relax(int node, int parentNode, int tentativeG) {
+            if (g[node] <= tentativeG) {
+                return;
+            }
+            g[node] = tentativeG;
+            parent[node] = parentNode;
+            int h = octile(nodeCells[node] % width - targetX, nodeCells[node] / width - targetY);
+            open.push(((long) (tentativeG + h) << 32) | h, node);
+        }
+    }
+
+    private final class LocalSearch {
+        private final Cluster cluster;
+        private final int clusterWidth;
+        private final int[] distances;
+        private final int[] parents;
+
+        private LocalSearch(Cluster cluster, int clusterWidth, int clusterHeight) {
+            this.cluster = cluster;
+            this.clusterWidth = clusterWidth;
+            this.distances = new int[clusterWidth * clusterHeight];
+            this.parents = new int[clusterWidth * clusterHeight];
+            Arrays.fill(distances, INF);
+        }
+
+        private int localIndex(int x, int y) {
+            return (y - cluster.minY) * clusterWidth + (x - cluster.minX);
+        }
+
+        private int distanceTo(int cell) {
+            return distances[localIndex(cell % width, cell / width)];
+        }
+
+        private List<GridPoint> pathTo(int cell) {
+            List<GridPoint> path = new ArrayList<>();
+            for (int cursor = localIndex(cell % width, cell / width); cursor >= 0; cursor = parents[cursor]) {
+                path.add(new GridPoint(cluster.minX + cursor % clusterWidth, cluster.minY + cursor / clusterWidth));
+            }
+            Collections.reverse(path);
+            return path;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.tudubem.actor.service.pathfind;
+
+import java.util.Arrays;
+
+// 박싱 없이 (long 우선순위, int 노드) 쌍을 보관하는 최소 이진 힙.
+// 우선순위 갱신(decrease-key) 대신 중복 삽입 후 꺼낼 때 이미 처리된 노드를 건너뛰는 방식으로 사용한다.
+final class IntBinaryHeap {
+
+    private long[] keys;
+    private int[] nodes;
+    private int size;
+
+    IntBinaryHeap(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.keys = new long[capacity];
+        this.nodes = new int[capacity];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void push(long key, int node) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            nodes = Arrays.copyOf(nodes, size * 2);
+        }
+        int index = size++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            keys[index] = keys[parent];
+            nodes[index] = nodes[parent];
+            index = parent;
+        }
+        keys[index] = key;
+        nodes[index] = node;
+    }
+
+    // 가장 작은 우선순위 값. 비어 있으면 호출하지 않는다.
+    long peekKey() {
+        return keys[0];
+    }
+
+    // 가장 작은 우선순위의 노드를 꺼낸다. 비어 있으면 호출하지 않는다.
+    int pop() {
+        int top = nodes[0];
+        int lastIndex = --size;
+        if (lastIndex > 0) {
+            long key = keys[lastIndex];
+            int node = nodes[lastIndex];
+            int index = 0;
+            int half = lastIndex >>> 1;
+            while (index < half) {
+                int child = 2 * index + 1;
+                int right = child + 1;
+                if (right < lastIndex && keys[right] < keys[child]) {
+                    child = right;
+                }
+                if (key <= keys[child]) {
+                    break;
+                }
+                keys[index] = keys[child];
+                nodes[index] = nodes[child];
+                index = child;
+            }
+            keys[index] = key;
+            nodes[index] = node;
+        }
+        return top;
+    }
+}
@@ -0,0 +1,277 @@
+package org.example.tudubem.actor.service.pathfind;
+
+import org.example.tudubem.world.service.grid.GridMap;
+import org.example.tudubem.world.service.grid.OccupancyGrid;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Jump Point Search. 균일 비용 8방향 그리드에서 대칭 경로를 건너뛰고 점프 포인트만 열린 목록에 넣는 A*.
+// 이동 규칙은 8방향 A*와 같다(대각선은 양옆 직선 셀이 모두 비어 있을 때만 허용, 코너 커팅 금지).
+// 결과 경로는 점프 포인트 사이를 한 칸씩 펼친 셀 단위 경로이므로 ActorSimService.move에 그대로 쓸 수 있다.
+@Component("jps")
+public class JumpPointSearchPathFindingStrategy implements PathFindingStrategy {
+
+    private static final int STRAIGHT_COST = AStarPathFindingStrategy.STRAIGHT_COST;
+    private static final int DIAGONAL_COST = AStarPathFindingStrategy.DIAGONAL_COST;
+
+    @Override
+    public PathResult findPath(GridMap gridMap, int startX, int startY, int targetX, int targetY) {
+        PathResult invalid = PathFindingSupport.validate(gridMap, startX, startY, targetX, targetY);
+        if (invalid != null) {
+            return invalid;
+        }
+        return new Search(gridMap.occupancy(), targetX, targetY).run(startX, startY);
+    }
+
+    private static int octile(int dx, int dy) {
+        dx = Math.abs(dx);
+        dy = Math.abs(dy);
+        return STRAIGHT_COST * (dx + dy) + (DIAGONAL_COST - 2 * STRAIGHT_COST) * Math.min(dx, dy);
+    }
+
+    private static final class Search {
+        private final OccupancyGrid occupancy;
+        private final int width;
+        private final int height;
+        private final int targetX;
+        private final int targetY;
+        private final int[] gScore;
+        private final int[] parent;
+        private final boolean[] closed;
+        private final IntBinaryHeap open = new IntBinaryHeap(256);
+        // 한 노드에서 탐색할 방향(dx, dy) 목록. 최대 8방향.
+        private final int[] directions = new int[16];
+
+        private Search(OccupancyGrid occupancy, int targetX, int targetY) {
+            this.occupancy = occupancy;
+            this.width = occupancy.width();
+            this.height = occupancy.height();
+            this.targetX = targetX;
+            this.targetY = targetY;
+            int cellCount = width * height;
+            this.gScore = new int[cellCount];
+            Arrays.fill(gScore, Integer.MAX_VALUE);
+            this.parent = new int[cellCount];
+            this.closed = new boolean[cellCount];
+        }
+
+        private PathResult run(int startX, int startY) {
+            int startIndex = startY * width + startX;
+            int targetIndex = targetY * width + targetX;
+            gScore[startIndex] = 0;
+            parent[startIndex] = -1;
+            open.push(key(0, octile(targetX - startX, targetY - startY)), startIndex);
+
+            while (!open.isEmpty()) {
+                int current = open.pop();
+                if (closed[current]) {
+                    continue;
+                }
+                if (current == targetIndex) {
+                    return new PathResult(true, expand(startIndex, targetIndex), null);
+                }
+                closed[current] = true;
+
+                int cx = current % width;
+                int cy = current / width;
+                int directionCount = prunedDirections(cx, cy, parent[current]);
+                for (int d = 0; d < directionCount; d++) {
+                    int dx = directions[2 * d];
+                    int dy = directions[2 * d + 1];
+                    int jumpPoint = (dx != 0 && dy != 0)
+                            ? jumpDiagonal(cx + dx, cy + dy, dx, dy)
+                            : jumpStraight(cx + dx, cy + dy, dx, dy);
+                    if (jumpPoint < 0 || closed[jumpPoint]) {
+                        continue;
+                    }
+                    int jx = jumpPoint % width;
+                    int jy = jumpPoint / width;
+                    int tentativeG = gScore[current] + octile(jx - cx, jy - cy);
+                    if (tentativeG >= gScore[jumpPoint]) {
+                        continue;
+                    }
+                    gScore[jumpPoint] = tentativeG;
+                    parent[jumpPoint] = current;
+                    int h = octile(targetX - jx, targetY - jy);
+                    open.push(key(tentativeG + h, h), jumpPoint);
+                }
+            }
+            return new PathResult(false, List.of(), "path_not_found");
+        }
+
+        // 부모 방향을 기준으로 자연 이웃과 강제 이웃 방향만 남긴다. 시작 노드는 모든 방향을 탐색한다.
+        private int prunedDirections(int x, int y, int parentIndex) {
+            int count = 0;
+            if (parentIndex < 0) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    for (int dx = -1; dx <= 1; dx++) {
+                        if (dx == 0 && dy == 0) {
+                            continue;
+                        }
+                        if (dx != 0 && dy != 0 && !(isWalkable(x + dx, y) && isWalkable(x, y + dy))) {
+                            continue;
+                        }
+                        if (isWalkable(x + dx, y + dy)) {
+                            count = addDirection(count, dx, dy);
+                        }
+                    }
+                }
+                return count;
+            }
+
+            int dx = Integer.signum(x - parentIndex % width);
+            int dy = Integer.signum(y - parentIndex / width);
+            if (dx != 0 && dy != 0) {
+                boolean verticalWalkable = isWalkable(x, y + dy);
+                boolean horizontalWalkable = isWalkable(x + dx, y);
+                if (verticalWalkable) {
+                    count = addDirection(count, 0, dy);
+                }
+                if (horizontalWalkable) {
+                    count = addDirection(count, dx, 0);
+                }
+                if (verticalWalkable && horizontalWalkable) {
+                    count = addDirection(count, dx, dy);
+                }
+            } else if (dx != 0) {
+                boolean nextWalkable = isWalkable(x + dx, y);
+                boolean upWalkable = isWalkable(x, y + 1);
+                boolean downWalkable = isWalkable(x, y - 1);
+                if (nextWalkable) {
+                    count = addDirection(count, dx, 0);
+                    if (upWalkable) {
+                        count = addDirection(count, dx, 1);
+                    }
+                    if (downWalkable) {
+                        count = addDirection(count, dx, -1);
+                    }
+                }
+                if (upWalkable) {
+                    count = addDirection(count, 0, 1);
+                }
+                if (downWalkable) {
+                    count = addDirection(count, 0, -1);
+                }
+            } else {
+                boolean nextWalkable = isWalkable(x, y + dy);
+                boolean rightWalkable = isWalkable(x + 1, y);
+                boolean leftWalkable = isWalkable(x - 1, y);
+                if (nextWalkable) {
+                    count = addDirection(count, 0, dy);
+                    if (rightWalkable) {
+                        count = addDirection(count, 1, dy);
+                    }
+                    if (leftWalkable) {
+                        count = addDirection(count, -1, dy);
+                    }
+                }
+                if (rightWalkable) {
+                    count = addDirection(count, 1, 0);
+                }
+                if (leftWalkable) {
+                    count = addDirection(count, -1, 0);
+                }
+            }
+            return count;
+        }
+
+        private int addDirection(int count, int dx, int dy) {
+            directions[2 * count] = dx;
+            directions[2 * count + 1] = dy;
+            return count + 1;
+        }
+
+        // 직선 방향으로 전진하며 목표 또는 강제 이웃이 생기는 첫 셀을 찾는다. 없으면 -1.
+        private int jumpStraight(int x, int y, int dx, int dy) {
+            while (true) {
+                if (!isWalkable(x, y)) {
+                    return -1;
+                }
+                if (x == targetX && y == targetY) {
+                    return y * width + x;
+                }
+                if (dx != 0) {
+                    if ((isWalkable(x, y - 1) && !isWalkable(x - dx, y - 1))
+                            || (isWalkable(x, y + 1) && !isWalkable(x - dx, y + 1))) {
+                        return y * width + x;
+                    }
+                } else {
+                    if ((isWalkable(x - 1, y) && !isWalkable(x - 1, y - dy))
+                            || (isWalkable(x + 1, y) && !isWalkable(x + 1, y - dy))) {
+                        return y * width + x;
+                    }
+                }
+                x += dx;
+                y += dy;
+            }
+        }
+
+        // 대각선 방향으로 전진하며, 각 셀에서 두 직선 성분 방향으로 점프 포인트가 있으면 그 셀을 반환한다.
+        private int jumpDiagonal(int x, int y, int dx, int dy) {
+            while (true) {
+                if (!isWalkable(x, y)) {
+                    return -1;
+                }
+                if (x == targetX && y == targetY) {
+                    return y * width + x;
+                }
+                if (jumpStraight(x + dx, y, dx, 0) >= 0 || jumpStraight(x, y + dy, 0, dy) >= 0) {
+                    return y * width + x;
+                }
+                if (!(isWalkable(x + dx, y) && isWalkable(x, y + dy))) {
+                    return -1;
+                }
+                x += dx;
+                y += dy;
+            }
+        }
+
+        // 점프 포인트 사이(항상 직선 또는 순수 대각선)를 한 칸씩 펼쳐 셀 단위 경로로 만든다.
+        private List<GridPoint> expand(int startIndex, int targetIndex) {
+            List<Integer> jumpPoints = new ArrayList<>();
+            for (int cursor = targetIndex; cursor >= 0; cursor = parent[cursor]) {
+                jumpPoints.add(cursor);
+                if (cursor == startIndex) {
+                    break;
+                }
+            }
+            List<GridPoint> path = new ArrayList<>();
+            path.add(new GridPoint(startX(startIndex), startY(startIndex)));
+            for (int i = jumpPoints.size() - 1; i > 0; i--) {
+                int from = jumpPoints.get(i);
+                int to = jumpPoints.get(i - 1);
+                int x = from % width;
+                int y = from / width;
+                int toX = to % width;
+                int toY = to / width;
+                int stepX = Integer.signum(toX - x);
+                int stepY = Integer.signum(toY - y);
+                while (x != toX || y != toY) {
+                    x += stepX;
+                    y += stepY;
+                    path.add(new GridPoint(x, y));
+                }
+            }
+            return path;
+        }
+
+        private int startX(int index) {
+            return index % width;
+        }
+
+        private int startY(int index) {
+            return index / width;
+        }
+
+        private boolean isWalkable(int x, int y) {
+            return PathFindingSupport.isInBounds(x, y, width, height) && !occupancy.isOccupied(x, y);
+        }
+
+        private static long key(int f, int h) {
+            return ((long) f << 32) | (h & 0xFFFFFFFFL);
+        }
+    }
+}
@@ -4,4 +4,10 @@ import org.example.tudubem.world.service.grid.GridMap;
 
 public interface PathFindingStrategy {
     PathResult findPath(GridMap gridMap, int startX, int startY, int targetX, int targetY);
+
+    // mapId 별로 전처리 결과를 캐시하는 전략은 이 메서드를 재정의한다. 기본 구현은 mapId를 쓰지 않는다.
+    // 같은 map이라도 actor 크기마다 팽창된 점유 레이어가 다르므로 actorSize도 캐시 키에 함께 쓴다.
+    default PathResult findPath(Long mapId, int actorSize, GridMap gridMap, int startX, int startY, int targetX, int targetY) {
+        return findPath(gridMap, startX, startY, targetX, targetY);
+    }
 }
@@ -0,0 +1,46 @@
+package org.example.tudubem.actor.service.pathfind;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+// 빈 이름(bfs, astar 등)으로 경로 탐색 전략을 고른다.
+// 요청에서 전략을 지정하지 않으면 app.pathfind.strategy 설정값을 기본 전략으로 사용한다.
+@Component
+public class PathFindingStrategyResolver {
+
+    private final Map<String, PathFindingStrategy> strategies;
+    private final String defaultStrategyName;
+
+    public PathFindingStrategyResolver(
+            Map<String, PathFindingStrategy> strategies,
+            @Value("${app.pathfind.strategy:bfs}") String defaultStrategyName
+    ) {
+        if (!strategies.containsKey(defaultStrategyName)) {
+            throw new IllegalStateException("unknown default path finding strategy: " + defaultStrategyName
+                    + " (available: " + new TreeSet<>(strategies.keySet()) + ")");
+        }
+        this.strategies = Map.copyOf(strategies);
+        this.defaultStrategyName = defaultStrategyName;
+    }
+
+    public PathFindingStrategy defaultStrategy() {
+        return strategies.get(defaultStrategyName);
+    }
+
+    // 이름이 비어 있으면 기본 전략을, 등록되지 않은 이름이면 빈 값을 반환한다.
+    public Optional<PathFindingStrategy> resolve(String strategyName) {
+        if (strategyName == null || strategyName.isBlank()) {
+            return Optional.of(defaultStrategy());
+        }
+        return Optional.ofNullable(strategies.get(strategyName.trim()));
+    }
+
+    public Set<String> names() {
+        return new TreeSet<>(strategies.keySet());
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.tudubem.actor.service.pathfind;
+
+import org.example.tudubem.world.service.grid.GridMap;
+import org.example.tudubem.world.service.grid.OccupancyGrid;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// 경로 탐색 전략들이 공통으로 쓰는 입력 검증과 경로 복원 로직.
+final class PathFindingSupport {
+
+    private PathFindingSupport() {
+    }
+
+    // 시작/목표 좌표를 검증한다. 탐색이 필요 없으면 결과를, 탐색을 진행해야 하면 null을 반환한다.
+    static PathResult validate(GridMap gridMap, int startX, int startY, int targetX, int targetY) {
+        int width = gridMap.widthCells();
+        int height = gridMap.heightCells();
+
+        if (!isInBounds(startX, startY, width, height) || !isInBounds(targetX, targetY, width, height)) {
+            return new PathResult(false, List.of(), "start_or_target_out_of_bounds");
+        }
+        OccupancyGrid occupancy = gridMap.occupancy();
+        if (occupancy.isOccupied(startX, startY)) {
+            return new PathResult(false, List.of(), "start_blocked");
+        }
+        if (occupancy.isOccupied(targetX, targetY)) {
+            return new PathResult(false, List.of(), "target_blocked");
+        }
+        if (startX == targetX && startY == targetY) {
+            return new PathResult(true, List.of(new GridPoint(startX, startY)), null);
+        }
+        return null;
+    }
+
+    static boolean isInBounds(int x, int y, int width, int height) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    // parent 배열(행 우선 인덱스)을 따라 목표에서 시작점까지 거슬러 올라가 경로를 만든다.
+    static List<GridPoint> rebuildPath(int[] parent, int width, int startIndex, int targetIndex) {
+        List<GridPoint> path = new ArrayList<>();
+        int cursor = targetIndex;
+        while (cursor != startIndex) {
+            path.add(new GridPoint(cursor % width, cursor / width));
+            cursor = parent[cursor];
+            if (cursor < 0) {
+                return List.of();
+            }
+        }
+        path.add(new GridPoint(startIndex % width, startIndex / width));
+        Collections.reverse(path);
+        return path;
+    }
+}
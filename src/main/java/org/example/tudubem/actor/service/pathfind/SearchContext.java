@@ -0,0 +1,50 @@
+package org.example.tudubem.actor.service.pathfind;
+
+import java.util.Arrays;
+
+// 격자 탐색 한 번에 필요한 작업 배열 묶음. 탐색이 끝나도 버리지 않고 SearchContextPool로 돌려 재사용한다.
+// 방문 표시는 세대(generation) 번호로 기록하므로 탐색마다 배열을 지울 필요가 없다.
+final class SearchContext {
+
+    private int[] parent = new int[0];
+    private int[] visitedGeneration = new int[0];
+    private int[] queue = new int[0];
+    private int generation;
+
+    // 셀 수에 맞게 배열을 늘리고 새 세대를 시작한다. 새 세대에서는 모든 셀이 미방문 상태다.
+    void begin(int cellCount) {
+        if (parent.length < cellCount) {
+            parent = new int[cellCount];
+            visitedGeneration = new int[cellCount];
+            queue = new int[cellCount];
+            generation = 0;
+        }
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(visitedGeneration, 0);
+            generation = 1;
+        }
+    }
+
+    // 지금 배열로 탐색할 수 있는 최대 셀 수.
+    int capacity() {
+        return parent.length;
+    }
+
+    boolean isVisited(int index) {
+        return visitedGeneration[index] == generation;
+    }
+
+    void visit(int index, int parentIndex) {
+        visitedGeneration[index] = generation;
+        parent[index] = parentIndex;
+    }
+
+    int[] parent() {
+        return parent;
+    }
+
+    // 셀 하나는 한 번만 방문하므로 셀 수 크기의 배열을 원형 버퍼 없이 그대로 큐로 쓴다.
+    int[] queue() {
+        return queue;
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.tudubem.actor.service.pathfind;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// SearchContext를 스레드 사이에서 재사용하는 풀.
+// 풀이 비어 있으면 새로 만들고, 반납할 때 풀이 가득 차 있으면 버린다. 따라서 동시에 유지되는 컨텍스트는 최대 capacity개다.
+// 큰 맵을 한 번 탐색한 컨텍스트가 배열을 계속 붙잡지 않도록, maxRetainedCells보다 큰 컨텍스트는 반납할 때 버린다.
+final class SearchContextPool {
+
+    private final BlockingQueue<SearchContext> idle;
+    private final int maxRetainedCells;
+
+    SearchContextPool(int capacity, int maxRetainedCells) {
+        this.idle = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.maxRetainedCells = maxRetainedCells;
+    }
+
+    SearchContext acquire() {
+        SearchContext context = idle.poll();
+        return context != null ? context : new SearchContext();
+    }
+
+    void release(SearchContext context) {
+        if (context.capacity() > maxRetainedCells) {
+            return;
+        }
+        idle.offer(context);
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.tudubem.config;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+// 바이너리 스트림 응답 공통 처리.
+// SSE는 텍스트만 담을 수 있으므로, 바이너리 스트림은 메시지마다 uint32(little-endian) 길이를 앞에 붙여 그대로 이어 보낸다.
+public final class BinaryStreams {
+
+    // compression 파라미터(none | rle | deflate)로 압축 방식을 고른다.
+    public static final String GRID_MAP_VALUE = "application/vnd.tudubem.gridmap";
+    public static final MediaType GRID_MAP = MediaType.parseMediaType(GRID_MAP_VALUE);
+    public static final String ACTOR_STATUS_FRAME_VALUE = "application/vnd.tudubem.actor-status-frame";
+    public static final MediaType ACTOR_STATUS_FRAME = MediaType.parseMediaType(ACTOR_STATUS_FRAME_VALUE);
+
+    private BinaryStreams() {
+    }
+
+    public static Flux<DataBuffer> lengthPrefixed(Flux<byte[]> messages) {
+        return messages.map(message -> {
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + message.length).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(message.length).put(message).flip();
+            return DefaultDataBufferFactory.sharedInstance.wrap(buffer);
+        });
+    }
+
+    public static boolean isBinaryStreamType(MediaType mediaType) {
+        return GRID_MAP.equalsTypeAndSubtype(mediaType) || ACTOR_STATUS_FRAME.equalsTypeAndSubtype(mediaType);
+    }
+
+    // Accept 헤더에서 mediaType과 호환되는 항목의 파라미터 값을 찾는다. 없으면 null을 반환한다.
+    public static String acceptParameter(List<MediaType> accept, MediaType mediaType, String name) {
+        for (MediaType candidate : accept) {
+            if (mediaType.isCompatibleWith(candidate) && candidate.getParameter(name) != null) {
+                return candidate.getParameter(name);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.tudubem.config;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+// JPA(H2) 조회/저장처럼 스레드를 막는 호출을 reactor-netty 이벤트 루프 밖에서 실행한다.
+// 기본 모드는 스레드 수와 대기열을 제한한 bounded-elastic 풀이며, 대기열이 가득 차면 503으로 응답한다.
+// 가상 스레드 모드(app.blocking.virtual-threads=true)에서는 작업마다 가상 스레드 하나를 띄운다.
+// 이때 동시 DB 작업 수는 커넥션 풀이 제한한다.
+@Component
+public class BlockingExecutor {
+
+    private final boolean virtualThreads;
+    private final Scheduler scheduler;
+
+    public BlockingExecutor(
+            @Value("${app.blocking.virtual-threads:false}") boolean virtualThreads,
+            @Value("${app.blocking.threads:10}") int threads,
+            @Value("${app.blocking.queue-capacity:1000}") int queueCapacity
+    ) {
+        this.virtualThreads = virtualThreads;
+        this.scheduler = virtualThreads
+                ? virtualThreadScheduler("blocking-vt-")
+                : Schedulers.newBoundedElastic(threads, queueCapacity, "blocking");
+    }
+
+    // 작업마다 새 가상 스레드에서 실행하는 스케줄러. 스레드 이름은 prefix 뒤에 일련번호를 붙인다.
+    public static Scheduler virtualThreadScheduler(String namePrefix) {
+        return Schedulers.fromExecutorService(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 0).factory()),
+                namePrefix
+        );
+    }
+
+    @PreDestroy
+    void destroy() {
+        scheduler.dispose();
+    }
+
+    public boolean virtualThreads() {
+        return virtualThreads;
+    }
+
+    // task를 구독 시점에 전용 스케줄러에서 실행한다.
+    public <T> Mono<T> call(Callable<T> task) {
+        return Mono.fromCallable(task)
+                .subscribeOn(scheduler)
+                .onErrorMap(
+                        RejectedExecutionException.class,
+                        e -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "blocking task queue is full", e)
+                );
+    }
+
+    // LLM 호출처럼 오래 걸리는 외부 호출용 스케줄러.
+    // 가상 스레드 모드면 같은 가상 스레드 실행기를 쓰고, 아니면 DB 작업 풀을 잠그지 않도록 Reactor 공용 boundedElastic을 쓴다.
+    public Scheduler longRunningScheduler() {
+        return virtualThreads ? scheduler : Schedulers.boundedElastic();
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.tudubem.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 가상 스레드 모드에서 JFR jdk.VirtualThreadPinned 이벤트를 구독해 로그로 남긴다.
+// synchronized 블록이나 네이티브 호출 안에서 블로킹되면 가상 스레드가 캐리어 스레드에 고정(pinning)되어
+// 캐리어 수만큼만 동시에 실행되므로, 어느 코드에서 고정되는지 스택과 함께 기록한다.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.blocking.virtual-threads", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    @Value("${app.blocking.pinning-threshold-ms:20}")
+    private long thresholdMillis;
+
+    private final AtomicLong pinnedEvents = new AtomicLong();
+    private RecordingStream recordingStream;
+
+    @PostConstruct
+    void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT)
+                .withThreshold(Duration.ofMillis(thresholdMillis))
+                .withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::logPinned);
+        recordingStream.startAsync();
+        log.info("Virtual thread pinning monitor started: threshold={}ms", thresholdMillis);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    // 지금까지 기록된 pinning 이벤트 수.
+    public long pinnedEvents() {
+        return pinnedEvents.get();
+    }
+
+    private void logPinned(RecordedEvent event) {
+        pinnedEvents.incrementAndGet();
+        String thread = event.getThread() == null ? "unknown" : event.getThread().getJavaName();
+        log.warn("Virtual thread pinned for {}ms: thread={}{}", event.getDuration().toMillis(), thread, formatStack(event.getStackTrace()));
+    }
+
+    private String formatStack(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder();
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (int i = 0; i < Math.min(LOGGED_FRAMES, frames.size()); i++) {
+            RecordedFrame frame = frames.get(i);
+            builder.append(System.lineSeparator())
+                    .append("\tat ")
+                    .append(frame.getMethod().getType().getName())
+                    .append('.')
+                    .append(frame.getMethod().getName())
+                    .append(':')
+                    .append(frame.getLineNumber());
+        }
+        return builder.toString();
+    }
+}
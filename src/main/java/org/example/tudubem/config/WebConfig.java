@@ -1,8 +1,20 @@
 package org.example.tudubem.config;
 
+import org.springframework.boot.webflux.autoconfigure.WebFluxRegistrations;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.reactive.config.CorsRegistry;
 import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.condition.RequestCondition;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
 
 @Configuration
 public class WebConfig implements WebFluxConfigurer {
@@ -15,4 +27,57 @@ public class WebConfig implements WebFluxConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(true);
     }
+
+    // 바이너리 스트림 핸들러는 Accept에 해당 타입을 명시한 요청에만 매칭한다.
+    // 기본 produces 비교만으로는 Accept가 없거나 */* 일 때 같은 경로의 SSE 핸들러와 동률이 되어 타입 이름순으로 바이너리가 선택된다.
+    @Bean
+    public WebFluxRegistrations binaryStreamMappingRegistrations() {
+        return new WebFluxRegistrations() {
+            @Override
+            public RequestMappingHandlerMapping getRequestMappingHandlerMapping() {
+                return new RequestMappingHandlerMapping() {
+                    @Override
+                    protected RequestCondition<?> getCustomMethodCondition(Method method) {
+                        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+                        if (mapping == null) {
+                            return null;
+                        }
+                        List<MediaType> binaryTypes = Arrays.stream(mapping.produces())
+                                .map(MediaType::parseMediaType)
+                                .filter(BinaryStreams::isBinaryStreamType)
+                                .toList();
+                        return binaryTypes.isEmpty() ? null : new ExplicitAcceptCondition(binaryTypes);
+                    }
+                };
+            }
+        };
+    }
+
+    private record ExplicitAcceptCondition(List<MediaType> mediaTypes) implements RequestCondition<ExplicitAcceptCondition> {
+
+        @Override
+        public ExplicitAcceptCondition combine(ExplicitAcceptCondition other) {
+            return other;
+        }
+
+        @Override
+        public ExplicitAcceptCondition getMatchingCondition(ServerWebExchange exchange) {
+            for (MediaType accepted : exchange.getRequest().getHeaders().getAccept()) {
+                if (accepted.isWildcardType() || accepted.isWildcardSubtype()) {
+                    continue;
+                }
+                for (MediaType mediaType : mediaTypes) {
+                    if (mediaType.isCompatibleWith(accepted)) {
+                        return this;
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public int compareTo(ExplicitAcceptCondition other, ServerWebExchange exchange) {
+            return 0;
+        }
+    }
 }
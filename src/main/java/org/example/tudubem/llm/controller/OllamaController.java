@@ -5,6 +5,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.example.tudubem.config.BlockingExecutor;
 import org.example.tudubem.llm.dto.GenerateModelResponse;
 import org.example.tudubem.llm.dto.GenerateRequest;
 import org.example.tudubem.llm.dto.GenerateResponse;
@@ -19,7 +20,6 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import java.util.UUID;
 
@@ -29,6 +29,7 @@ import java.util.UUID;
 @Tag(name = "AI", description = "LLM 생성 API")
 public class OllamaController {
     private final ChatClient ollamaChatClient;
+    private final BlockingExecutor blockingExecutor;
 
     @PostMapping("/generate")
     @Operation(summary = "단건 생성", description = "입력 메시지를 기반으로 구조화된 생성 결과를 반환합니다.")
@@ -45,7 +46,7 @@ public class OllamaController {
                         .user(message)
                         .call()
                         .entity(GenerateModelResponse.class))
-                .subscribeOn(Schedulers.boundedElastic())
+                .subscribeOn(blockingExecutor.longRunningScheduler())
                 .map(content -> new GenerateResponse(conversationId, content.answer(), content.reason()));
     }
 
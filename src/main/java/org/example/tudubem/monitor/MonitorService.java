@@ -4,10 +4,13 @@ import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import org.example.tudubem.actor.dto.ActorStatus;
 import org.example.tudubem.actor.service.ActorStatusService;
-import org.example.tudubem.world.WorldUtils;
+import org.example.tudubem.world.dto.WorldUpdate;
+import org.example.tudubem.world.service.OccupancyPngEncoder;
 import org.example.tudubem.world.service.WorldService;
 import org.example.tudubem.world.service.grid.GridMap;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import reactor.core.Disposable;
@@ -25,15 +28,18 @@ public class MonitorService {
 
     private final ActorStatusService actorStatusService;
     private final WorldService worldService;
+    private final OccupancyPngEncoder pngEncoder;
 
     private final ConcurrentMap<Long, ActorStatus> latestActors = new ConcurrentHashMap<>();
-    private final AtomicReference<GridMap> latestGridMap = new AtomicReference<>();
+    // 콘솔에는 월드 크기와 버전만 보이므로 패치 내용은 적용하지 않고 최신 이벤트만 기억한다.
+    private final AtomicReference<WorldUpdate> latestWorld = new AtomicReference<>();
     private final List<Disposable> subscriptions = new ArrayList<>();
     private int previousLineLength = 0;
 
-    public MonitorService(ActorStatusService actorStatusService, WorldService worldService) {
+    public MonitorService(ActorStatusService actorStatusService, WorldService worldService, OccupancyPngEncoder pngEncoder) {
         this.actorStatusService = actorStatusService;
         this.worldService = worldService;
+        this.pngEncoder = pngEncoder;
     }
 
     @PostConstruct
@@ -42,8 +48,8 @@ public class MonitorService {
             latestActors.put(status.actorId(), status);
             renderConsole();
         }));
-        subscriptions.add(worldService.gridMapFlux().subscribe(gridMap -> {
-            latestGridMap.set(gridMap);
+        subscriptions.add(worldService.updateFlux().subscribe(update -> {
+            latestWorld.set(update);
             renderConsole();
         }));
     }
@@ -55,26 +61,30 @@ public class MonitorService {
         }
     }
 
-    public ResponseEntity<byte[]> getTrajectoryImage(Long mapId, Long actorId) {
-        GridMap gridMap = worldService.getCached(mapId)
-                .orElseGet(() -> worldService.buildAndCache(mapId));
-        return WorldUtils.toPngResponse(
-                gridMap,
+    // 궤적(파랑)과 현재 위치(빨강)를 GridMap 위에 그린 PNG를 반환한다.
+    public ResponseEntity<DataBuffer> getTrajectoryImage(Long mapId, Long actorId) {
+        GridMap gridMap = worldService.getOrBuild(mapId);
+        DataBuffer png = pngEncoder.encode(
+                gridMap.occupancy(),
                 actorStatusService.getTrail(actorId),
                 actorStatusService.getCurrentPointOrNull(actorId)
         );
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_PNG)
+                .body(png);
     }
 
     private synchronized void renderConsole() {
         StringBuilder line = new StringBuilder();
         line.append("monitor | time=").append(LocalDateTime.now());
-        GridMap gridMap = latestGridMap.get();
-        if (gridMap == null) {
+        WorldUpdate world = latestWorld.get();
+        if (world == null) {
             line.append(" | world=none");
         } else {
             line.append(" | world=")
-                    .append(gridMap.widthCells()).append("x").append(gridMap.heightCells())
-                    .append("@").append(gridMap.cellSizePx());
+                    .append(world.widthCells()).append("x").append(world.heightCells())
+                    .append("@").append(world.cellSizePx())
+                    .append(" v").append(world.version());
         }
 
         if (latestActors.isEmpty()) {
@@ -6,6 +6,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.example.tudubem.config.BlockingExecutor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 import java.net.URI;
 import java.util.List;
@@ -26,11 +28,12 @@ import java.util.List;
 public class RobotController {
 
     private final RobotService robotService;
+    private final BlockingExecutor blockingExecutor;
 
     @GetMapping
     @Operation(summary = "로봇 목록 조회", description = "등록된 모든 로봇을 조회합니다.")
-    public List<RobotEntity> findAll() {
-        return robotService.findAll();
+    public Mono<List<RobotEntity>> findAll() {
+        return blockingExecutor.call(robotService::findAll);
     }
 
     @GetMapping("/{id}")
@@ -39,18 +42,18 @@ public class RobotController {
             @ApiResponse(responseCode = "200", description = "조회 성공"),
             @ApiResponse(responseCode = "404", description = "로봇을 찾을 수 없음", content = @Content)
     })
-    public ResponseEntity<RobotEntity> findById(@PathVariable Long id) {
-        return robotService.findById(id)
+    public Mono<ResponseEntity<RobotEntity>> findById(@PathVariable Long id) {
+        return blockingExecutor.call(() -> robotService.findById(id)
                 .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+                .orElseGet(() -> ResponseEntity.notFound().build()));
     }
 
     @PostMapping
     @Operation(summary = "로봇 생성", description = "새 로봇을 생성합니다.")
     @ApiResponse(responseCode = "201", description = "생성 성공")
-    public ResponseEntity<RobotEntity> create(@RequestBody RobotEntity robotEntity) {
-        RobotEntity saved = robotService.create(robotEntity);
-        return ResponseEntity.created(URI.create("/robot/" + saved.getId())).body(saved);
+    public Mono<ResponseEntity<RobotEntity>> create(@RequestBody RobotEntity robotEntity) {
+        return blockingExecutor.call(() -> robotService.create(robotEntity))
+                .map(saved -> ResponseEntity.created(URI.create("/robot/" + saved.getId())).body(saved));
     }
 
     @PutMapping("/{id}")
@@ -59,10 +62,10 @@ public class RobotController {
             @ApiResponse(responseCode = "200", description = "수정 성공"),
             @ApiResponse(responseCode = "404", description = "로봇을 찾을 수 없음", content = @Content)
     })
-    public ResponseEntity<RobotEntity> update(@PathVariable Long id, @RequestBody RobotEntity request) {
-        return robotService.update(id, request)
+    public Mono<ResponseEntity<RobotEntity>> update(@PathVariable Long id, @RequestBody RobotEntity request) {
+        return blockingExecutor.call(() -> robotService.update(id, request)
                 .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+                .orElseGet(() -> ResponseEntity.notFound().build()));
     }
 
     @DeleteMapping("/{id}")
@@ -71,10 +74,12 @@ public class RobotController {
             @ApiResponse(responseCode = "204", description = "삭제 성공"),
             @ApiResponse(responseCode = "404", description = "로봇을 찾을 수 없음", content = @Content)
     })
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        if (!robotService.delete(id)) {
-            return ResponseEntity.notFound().build();
-        }
-        return ResponseEntity.noContent().build();
+    public Mono<ResponseEntity<Void>> delete(@PathVariable Long id) {
+        return blockingExecutor.call(() -> {
+            if (!robotService.delete(id)) {
+                return ResponseEntity.notFound().<Void>build();
+            }
+            return ResponseEntity.noContent().<Void>build();
+        });
     }
 }
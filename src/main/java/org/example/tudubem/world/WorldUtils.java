@@ -1,18 +1,14 @@
 package org.example.tudubem.world;
 
-import org.example.tudubem.actor.service.pathfind.GridPoint;
 import org.example.tudubem.world.dto.WorldBundle;
+import org.example.tudubem.world.service.grid.CellBounds;
+import org.example.tudubem.world.service.grid.DistanceField;
 import org.example.tudubem.world.service.grid.GridMap;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.example.tudubem.world.service.grid.OccupancyGrid;
+import org.example.tudubem.world.service.grid.OccupancyStorageType;
+import org.example.tudubem.world.service.grid.PolygonRasterizer;
 
-import javax.imageio.ImageIO;
-import java.awt.Color;
 import java.awt.geom.Point2D;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -22,135 +18,91 @@ public final class WorldUtils {
     private WorldUtils() {
     }
 
-    // 2차원 점유 그리드를 깊은 복사해 원본 변경이 전파되지 않도록 한다.
-    public static List<List<Integer>> deepCopy(List<List<Integer>> source) {
-        List<List<Integer>> copied = new ArrayList<>(source.size());
-        for (List<Integer> row : source) {
-            copied.add(new ArrayList<>(row));
-        }
-        return copied;
+    // 점유 그리드를 복사해 원본 변경이 전파되지 않도록 한다. 블록은 어느 한쪽이 쓸 때 복사된다(copy-on-write).
+    public static OccupancyGrid deepCopy(OccupancyGrid source) {
+        return source.copy();
+    }
+
+    // 지정한 저장소(힙/off-heap)로 복사한다.
+    public static OccupancyGrid deepCopy(OccupancyGrid source, OccupancyStorageType storageType) {
+        return source.copy(storageType);
     }
 
     // width x height 크기의 빈 레이어를 생성한다. 모든 셀은 0(비점유)으로 초기화된다.
-    public static List<List<Integer>> createEmptyLayer(int widthCells, int heightCells) {
-        List<List<Integer>> layer = new ArrayList<>(heightCells);
-        for (int y = 0; y < heightCells; y++) {
-            List<Integer> row = new ArrayList<>(widthCells);
-            for (int x = 0; x < widthCells; x++) {
-                row.add(0);
-            }
-            layer.add(row);
-        }
-        return layer;
+    public static OccupancyGrid createEmptyLayer(int widthCells, int heightCells) {
+        return createEmptyLayer(widthCells, heightCells, OccupancyStorageType.HEAP);
+    }
+
+    public static OccupancyGrid createEmptyLayer(int widthCells, int heightCells, OccupancyStorageType storageType) {
+        return new OccupancyGrid(widthCells, heightCells, storageType);
     }
 
     // base/keepout/dynamic 레이어를 OR 연산으로 합쳐 최종 점유(composite) 레이어를 만든다.
-    public static List<List<Integer>> combineLayers(
-            List<List<Integer>> baseLayer,
-            List<List<Integer>> keepoutLayer,
-            List<List<Integer>> dynamicLayer
+    // 비트셋 워드 단위(64셀)로 OR 하므로 셀 단위 순회가 필요 없다.
+    public static OccupancyGrid combineLayers(
+            OccupancyGrid baseLayer,
+            OccupancyGrid keepoutLayer,
+            OccupancyGrid dynamicLayer
     ) {
-        int height = baseLayer.size();
-        int width = baseLayer.getFirst().size();
-        List<List<Integer>> composite = new ArrayList<>(height);
-
-        for (int y = 0; y < height; y++) {
-            List<Integer> row = new ArrayList<>(width);
-            for (int x = 0; x < width; x++) {
-                int occupied = (baseLayer.get(y).get(x) == 1
-                        || keepoutLayer.get(y).get(x) == 1
-                        || dynamicLayer.get(y).get(x) == 1) ? 1 : 0;
-                row.add(occupied);
-            }
-            composite.add(row);
-        }
+        OccupancyGrid composite = baseLayer.copy();
+        composite.or(keepoutLayer);
+        composite.or(dynamicLayer);
         return composite;
     }
 
-    // 내부 레이어 데이터를 GridMap 응답 객체로 변환한다.
-    // 외부에서 GridMap을 수정해도 캐시 원본이 훼손되지 않도록 occupancy는 깊은 복사한다.
-    public static GridMap toGridMap(List<List<Integer>> layer, WorldBundle bundle) {
-        return new GridMap(
-                bundle.widthCells,
-                bundle.heightCells,
-                bundle.cellSizePx,
-                deepCopy(layer)
-        );
-    }
-
-    // GridMap 점유 정보를 흑백 PNG로 인코딩해 HTTP 응답으로 반환한다.
-    // 점유 셀(1)은 검정, 비점유 셀(0)은 흰색이며, y축은 이미지 좌표계에 맞춰 뒤집어 그린다.
-    public static ResponseEntity<byte[]> toPngResponse(GridMap gridMap) {
-        int width = gridMap.widthCells();
-        int height = gridMap.heightCells();
-        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
-
-        for (int y = 0; y < height; y++) {
-            List<Integer> row = gridMap.occupancy().get(y);
-            for (int x = 0; x < width; x++) {
-                boolean occupied = row.get(x) == 1;
-                int rgb = occupied ? Color.BLACK.getRGB() : Color.WHITE.getRGB();
-                image.setRGB(x, height - 1 - y, rgb);
-            }
+    // bounds 영역에 해당하는 워드만 base/keepout/dynamic OR 결과로 다시 채워 composite를 제자리에서 갱신한다.
+    public static void combineLayers(
+            OccupancyGrid composite,
+            OccupancyGrid baseLayer,
+            OccupancyGrid keepoutLayer,
+            OccupancyGrid dynamicLayer,
+            CellBounds bounds
+    ) {
+        CellBounds clipped = bounds.clip(composite.width(), composite.height());
+        if (clipped.isEmpty()) {
+            return;
         }
-
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            ImageIO.write(image, "png", baos);
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_TYPE, MediaType.IMAGE_PNG_VALUE)
-                    .body(baos.toByteArray());
-        } catch (IOException e) {
-            return ResponseEntity.internalServerError().build();
+        int fromWord = clipped.minX() >>> 6;
+        int toWord = clipped.maxX() >>> 6;
+        for (int y = clipped.minY(); y <= clipped.maxY(); y++) {
+            for (int w = fromWord; w <= toWord; w++) {
+                composite.setWord(y, w, baseLayer.word(y, w) | keepoutLayer.word(y, w) | dynamicLayer.word(y, w));
+            }
         }
     }
 
-    // GridMap 위에 actor 이동 궤적(파랑)과 현재 위치(빨강)를 오버레이한 PNG 응답을 반환한다.
-    public static ResponseEntity<byte[]> toPngResponse(
-            GridMap gridMap,
-            List<GridPoint> trail,
-            GridPoint current
-    ) {
-        int width = gridMap.widthCells();
-        int height = gridMap.heightCells();
-        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
-
-        for (int y = 0; y < height; y++) {
-            List<Integer> row = gridMap.occupancy().get(y);
-            for (int x = 0; x < width; x++) {
-                boolean occupied = row.get(x) == 1;
-                int rgb = occupied ? Color.BLACK.getRGB() : Color.WHITE.getRGB();
-                image.setRGB(x, height - 1 - y, rgb);
-            }
-        }
+    // 점유 셀에서 radius 셀 이내(셀 중심 간 유클리드 거리)를 모두 점유로 만든 팽창(inflation) 레이어를 만든다.
+    // 반경 radius인 actor의 중심이 들어갈 수 없는 셀이 점유로 표시되므로, 경로 탐색은 점 하나로 계획하면 된다.
+    // 팽창 레이어는 storageType 저장소에 만든다. 보통 composite와 같은 종류를 쓴다.
+    public static OccupancyGrid inflate(DistanceField distanceField, int radius, OccupancyStorageType storageType) {
+        OccupancyGrid inflated = createEmptyLayer(distanceField.width(), distanceField.height(), storageType);
+        inflate(inflated, distanceField, radius, new CellBounds(0, 0, distanceField.width() - 1, distanceField.height() - 1));
+        return inflated;
+    }
 
-        if (trail != null) {
-            int trailRgb = new Color(0, 122, 255).getRGB();
-            for (GridPoint point : trail) {
-                if (point == null) {
-                    continue;
-                }
-                if (point.x() < 0 || point.y() < 0 || point.x() >= width || point.y() >= height) {
-                    continue;
-                }
-                image.setRGB(point.x(), height - 1 - point.y(), trailRgb);
+    // 거리 변환 레이어를 기준으로 팽창 레이어의 region 영역만 다시 채운다.
+    // composite의 dirty 영역이 바뀌었다면 팽창 결과가 바뀌는 곳은 dirty를 radius만큼 넓힌 영역뿐이다.
+    public static void inflate(OccupancyGrid inflated, DistanceField distanceField, int radius, CellBounds region) {
+        CellBounds clipped = region.clip(inflated.width(), inflated.height());
+        long radiusSquared = (long) radius * radius;
+        for (int y = clipped.minY(); y <= clipped.maxY(); y++) {
+            for (int x = clipped.minX(); x <= clipped.maxX(); x++) {
+                inflated.set(x, y, distanceField.squaredAt(x, y) <= radiusSquared);
             }
         }
+    }
 
-        if (current != null
-                && current.x() >= 0 && current.y() >= 0
-                && current.x() < width && current.y() < height) {
-            int currentRgb = Color.RED.getRGB();
-            image.setRGB(current.x(), height - 1 - current.y(), currentRgb);
-        }
-
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            ImageIO.write(image, "png", baos);
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_TYPE, MediaType.IMAGE_PNG_VALUE)
-                    .body(baos.toByteArray());
-        } catch (IOException e) {
-            return ResponseEntity.internalServerError().build();
+    // 게시된 레이어를 GridMap 응답 객체로 감싼다. 게시된 레이어는 얼려 두므로 복사하지 않고 그대로 공유한다.
+    public static GridMap toGridMap(OccupancyGrid layer, WorldBundle bundle) {
+        if (!layer.isFrozen()) {
+            throw new IllegalStateException("world layer must be frozen before it is shared");
         }
+        return new GridMap(
+                bundle.widthCells,
+                bundle.heightCells,
+                bundle.cellSizePx,
+                layer
+        );
     }
 
     // verticesJson 문자열에서 숫자만 추출해 (x, y) 좌표 목록으로 파싱한다.
@@ -189,42 +141,11 @@ public final class WorldUtils {
 
     // 폴리곤 내부에 포함되는 셀 중심점을 점유(1)로 마킹한다.
     // 폴리곤 점이 3개 미만이면 유효한 면적이 없다고 보고 반영하지 않는다.
-    public static void overlayPolygonAsOccupied(List<List<Integer>> occupancy, List<Point2D.Double> polygonInGrid) {
+    // 폴리곤 범위 안의 행만 스캔라인으로 채우므로 작은 폴리곤은 맵 크기와 무관하게 빠르다.
+    public static void overlayPolygonAsOccupied(OccupancyGrid occupancy, List<Point2D.Double> polygonInGrid) {
         if (polygonInGrid.size() < 3) {
             return;
         }
-
-        int height = occupancy.size();
-        int width = occupancy.getFirst().size();
-
-        for (int y = 0; y < height; y++) {
-            double centerY = y + 0.5;
-            List<Integer> row = occupancy.get(y);
-            for (int x = 0; x < width; x++) {
-                double centerX = x + 0.5;
-                if (isPointInPolygon(centerX, centerY, polygonInGrid)) {
-                    row.set(x, 1);
-                }
-            }
-        }
-    }
-
-    // 레이 캐스팅(ray casting) 방식으로 점(x, y)이 폴리곤 내부에 있는지 판별한다.
-    // 경계 근처의 0 나눗셈 위험을 줄이기 위해 작은 epsilon을 더해 계산한다.
-    private static boolean isPointInPolygon(double x, double y, List<Point2D.Double> polygon) {
-        boolean inside = false;
-        for (int i = 0, j = polygon.size() - 1; i < polygon.size(); j = i++) {
-            double xi = polygon.get(i).x;
-            double yi = polygon.get(i).y;
-            double xj = polygon.get(j).x;
-            double yj = polygon.get(j).y;
-
-            boolean intersect = ((yi > y) != (yj > y))
-                    && (x < (xj - xi) * (y - yi) / ((yj - yi) + 1e-12) + xi);
-            if (intersect) {
-                inside = !inside;
-            }
-        }
-        return inside;
+        PolygonRasterizer.fill(occupancy, polygonInGrid);
     }
 }
@@ -6,8 +6,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.example.tudubem.world.dto.AreaLookupResult;
+import org.example.tudubem.world.dto.AreaPoint;
 import org.example.tudubem.world.entity.AreaEntity;
 import org.example.tudubem.world.service.AreaService;
+import org.example.tudubem.config.BlockingExecutor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,7 +19,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 import java.net.URI;
 import java.util.List;
@@ -28,11 +33,28 @@ import java.util.List;
 public class AreaController {
 
     private final AreaService areaService;
+    private final BlockingExecutor blockingExecutor;
 
     @GetMapping
     @Operation(summary = "영역 목록 조회", description = "특정 지도(mapId)의 영역 목록을 조회합니다.")
-    public List<AreaEntity> findAll(@PathVariable Long mapId) {
-        return areaService.findAllByMapId(mapId);
+    public Mono<List<AreaEntity>> findAll(@PathVariable Long mapId) {
+        return blockingExecutor.call(() -> areaService.findAllByMapId(mapId));
+    }
+
+    @GetMapping("/at")
+    @Operation(summary = "좌표를 포함하는 영역 조회", description = "픽셀 좌표 (x, y)(원점: 좌하단)를 포함하는 영역 목록을 조회합니다. 지도별 공간 인덱스를 사용하며, 인덱스는 처음 조회할 때 만들고 영역이 바뀌면 다시 만듭니다.")
+    public Mono<List<AreaEntity>> findAt(
+            @PathVariable Long mapId,
+            @RequestParam double x,
+            @RequestParam double y
+    ) {
+        return blockingExecutor.call(() -> areaService.findContaining(mapId, x, y));
+    }
+
+    @PostMapping("/at")
+    @Operation(summary = "여러 좌표의 포함 영역 일괄 조회", description = "좌표 목록을 받아 좌표마다 포함하는 영역 ID 목록을 요청 순서대로 반환합니다.")
+    public Mono<List<AreaLookupResult>> findAtAll(@PathVariable Long mapId, @RequestBody List<AreaPoint> points) {
+        return blockingExecutor.call(() -> areaService.findContaining(mapId, points));
     }
 
     @GetMapping("/{id}")
@@ -41,10 +63,10 @@ public class AreaController {
             @ApiResponse(responseCode = "200", description = "조회 성공"),
             @ApiResponse(responseCode = "404", description = "영역을 찾을 수 없음", content = @Content)
     })
-    public ResponseEntity<AreaEntity> findById(@PathVariable Long mapId, @PathVariable Long id) {
-        return areaService.findById(mapId, id)
+    public Mono<ResponseEntity<AreaEntity>> findById(@PathVariable Long mapId, @PathVariable Long id) {
+        return blockingExecutor.call(() -> areaService.findById(mapId, id)
                 .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+                .orElseGet(() -> ResponseEntity.notFound().build()));
     }
 
     @PostMapping
@@ -53,10 +75,10 @@ public class AreaController {
             @ApiResponse(responseCode = "201", description = "생성 성공"),
             @ApiResponse(responseCode = "404", description = "지도를 찾을 수 없음", content = @Content)
     })
-    public ResponseEntity<AreaEntity> create(@PathVariable Long mapId, @RequestBody AreaEntity request) {
-        return areaService.create(mapId, request)
+    public Mono<ResponseEntity<AreaEntity>> create(@PathVariable Long mapId, @RequestBody AreaEntity request) {
+        return blockingExecutor.call(() -> areaService.create(mapId, request)
                 .map(saved -> ResponseEntity.created(URI.create("/map/" + mapId + "/areas/" + saved.getId())).body(saved))
-                .orElseGet(() -> ResponseEntity.notFound().build());
+                .orElseGet(() -> ResponseEntity.notFound().build()));
     }
 
     @PutMapping("/{id}")
@@ -65,10 +87,10 @@ public class AreaController {
             @ApiResponse(responseCode = "200", description = "수정 성공"),
             @ApiResponse(responseCode = "404", description = "영역 또는 지도를 찾을 수 없음", content = @Content)
     })
-    public ResponseEntity<AreaEntity> update(@PathVariable Long mapId, @PathVariable Long id, @RequestBody AreaEntity request) {
-        return areaService.update(mapId, id, request)
+    public Mono<ResponseEntity<AreaEntity>> update(@PathVariable Long mapId, @PathVariable Long id, @RequestBody AreaEntity request) {
+        return blockingExecutor.call(() -> areaService.update(mapId, id, request)
                 .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+                .orElseGet(() -> ResponseEntity.notFound().build()));
     }
 
     @DeleteMapping("/{id}")
@@ -77,10 +99,12 @@ public class AreaController {
             @ApiResponse(responseCode = "204", description = "삭제 성공"),
             @ApiResponse(responseCode = "404", description = "영역 또는 지도를 찾을 수 없음", content = @Content)
     })
-    public ResponseEntity<Void> delete(@PathVariable Long mapId, @PathVariable Long id) {
-        if (!areaService.delete(mapId, id)) {
-            return ResponseEntity.notFound().build();
-        }
-        return ResponseEntity.noContent().build();
+    public Mono<ResponseEntity<Void>> delete(@PathVariable Long mapId, @PathVariable Long id) {
+        return blockingExecutor.call(() -> {
+            if (!areaService.delete(mapId, id)) {
+                return ResponseEntity.notFound().<Void>build();
+            }
+            return ResponseEntity.noContent().<Void>build();
+        });
     }
 }
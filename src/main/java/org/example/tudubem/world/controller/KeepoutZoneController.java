@@ -8,6 +8,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.example.tudubem.world.entity.KeepoutZoneEntity;
 import org.example.tudubem.world.service.KeepoutZoneService;
+import org.example.tudubem.config.BlockingExecutor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 import java.net.URI;
 import java.util.List;
@@ -28,11 +30,12 @@ import java.util.List;
 public class KeepoutZoneController {
 
     private final KeepoutZoneService keepoutZoneService;
+    private final BlockingExecutor blockingExecutor;
 
     @GetMapping
     @Operation(summary = "Keepout 목록 조회", description = "특정 지도(mapId)의 keepout zone 목록을 조회합니다.")
-    public List<KeepoutZoneEntity> findAll(@PathVariable Long mapId) {
-        return keepoutZoneService.findAllByMapId(mapId);
+    public Mono<List<KeepoutZoneEntity>> findAll(@PathVariable Long mapId) {
+        return blockingExecutor.call(() -> keepoutZoneService.findAllByMapId(mapId));
     }
 
     @GetMapping("/{id}")
@@ -41,10 +44,10 @@ public class KeepoutZoneController {
             @ApiResponse(responseCode = "200", description = "조회 성공"),
             @ApiResponse(responseCode = "404", description = "keepout zone을 찾을 수 없음", content = @Content)
     })
-    public ResponseEntity<KeepoutZoneEntity> findById(@PathVariable Long mapId, @PathVariable Long id) {
-        return keepoutZoneService.findById(mapId, id)
+    public Mono<ResponseEntity<KeepoutZoneEntity>> findById(@PathVariable Long mapId, @PathVariable Long id) {
+        return blockingExecutor.call(() -> keepoutZoneService.findById(mapId, id)
                 .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+                .orElseGet(() -> ResponseEntity.notFound().build()));
     }
 
     @PostMapping
@@ -53,10 +56,10 @@ public class KeepoutZoneController {
             @ApiResponse(responseCode = "201", description = "생성 성공"),
             @ApiResponse(responseCode = "404", description = "지도를 찾을 수 없음", content = @Content)
     })
-    public ResponseEntity<KeepoutZoneEntity> create(@PathVariable Long mapId, @RequestBody KeepoutZoneEntity request) {
-        return keepoutZoneService.create(mapId, request)
+    public Mono<ResponseEntity<KeepoutZoneEntity>> create(@PathVariable Long mapId, @RequestBody KeepoutZoneEntity request) {
+        return blockingExecutor.call(() -> keepoutZoneService.create(mapId, request)
                 .map(saved -> ResponseEntity.created(URI.create("/map/" + mapId + "/keepout-zones/" + saved.getId())).body(saved))
-                .orElseGet(() -> ResponseEntity.notFound().build());
+                .orElseGet(() -> ResponseEntity.notFound().build()));
     }
 
     @PutMapping("/{id}")
@@ -65,10 +68,10 @@ public class KeepoutZoneController {
             @ApiResponse(responseCode = "200", description = "수정 성공"),
             @ApiResponse(responseCode = "404", description = "keepout zone 또는 지도를 찾을 수 없음", content = @Content)
     })
-    public ResponseEntity<KeepoutZoneEntity> update(@PathVariable Long mapId, @PathVariable Long id, @RequestBody KeepoutZoneEntity request) {
-        return keepoutZoneService.update(mapId, id, request)
+    public Mono<ResponseEntity<KeepoutZoneEntity>> update(@PathVariable Long mapId, @PathVariable Long id, @RequestBody KeepoutZoneEntity request) {
+        return blockingExecutor.call(() -> keepoutZoneService.update(mapId, id, request)
                 .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+                .orElseGet(() -> ResponseEntity.notFound().build()));
     }
 
     @DeleteMapping("/{id}")
@@ -77,10 +80,12 @@ public class KeepoutZoneController {
             @ApiResponse(responseCode = "204", description = "삭제 성공"),
             @ApiResponse(responseCode = "404", description = "keepout zone 또는 지도를 찾을 수 없음", content = @Content)
     })
-    public ResponseEntity<Void> delete(@PathVariable Long mapId, @PathVariable Long id) {
-        if (!keepoutZoneService.delete(mapId, id)) {
-            return ResponseEntity.notFound().build();
-        }
-        return ResponseEntity.noContent().build();
+    public Mono<ResponseEntity<Void>> delete(@PathVariable Long mapId, @PathVariable Long id) {
+        return blockingExecutor.call(() -> {
+            if (!keepoutZoneService.delete(mapId, id)) {
+                return ResponseEntity.notFound().<Void>build();
+            }
+            return ResponseEntity.noContent().<Void>build();
+        });
     }
 }
@@ -6,6 +6,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.example.tudubem.config.BlockingExecutor;
 import org.example.tudubem.world.entity.MapEntity;
 import org.example.tudubem.world.service.MapService;
 import org.springframework.core.io.FileSystemResource;
@@ -41,13 +42,14 @@ import java.util.UUID;
 @Tag(name = "Map", description = "지도(Map) 관리 API")
 public class MapController {
     private final MapService mapService;
+    private final BlockingExecutor blockingExecutor;
     @Value("${app.map.image-dir:./data/map}")
     private String mapImageDir;
 
     @GetMapping
     @Operation(summary = "지도 목록 조회", description = "등록된 모든 지도를 조회합니다.")
-    public List<MapEntity> findAll() {
-        return mapService.findAll();
+    public Mono<List<MapEntity>> findAll() {
+        return blockingExecutor.call(mapService::findAll);
     }
 
     @GetMapping("/{id}")
@@ -56,10 +58,10 @@ public class MapController {
             @ApiResponse(responseCode = "200", description = "조회 성공"),
             @ApiResponse(responseCode = "404", description = "지도를 찾을 수 없음", content = @Content)
     })
-    public ResponseEntity<MapEntity> findById(@PathVariable Long id) {
-        return mapService.findById(id)
+    public Mono<ResponseEntity<MapEntity>> findById(@PathVariable Long id) {
+        return blockingExecutor.call(() -> mapService.findById(id)
                 .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+                .orElseGet(() -> ResponseEntity.notFound().build()));
     }
 
     @GetMapping("/{id}/sensor-map")
@@ -68,8 +70,8 @@ public class MapController {
             @ApiResponse(responseCode = "200", description = "조회 성공"),
             @ApiResponse(responseCode = "404", description = "지도 또는 센서맵 파일을 찾을 수 없음", content = @Content)
     })
-    public ResponseEntity<Resource> getSensorMap(@PathVariable Long id) {
-        return mapService.findById(id)
+    public Mono<ResponseEntity<Resource>> getSensorMap(@PathVariable Long id) {
+        return blockingExecutor.call(() -> mapService.findById(id)
                 .flatMap(mapEntity -> {
                     String sensorMapImagePath = mapEntity.getSensorMapImagePath();
                     if (sensorMapImagePath == null || sensorMapImagePath.isBlank()) {
@@ -89,15 +91,15 @@ public class MapController {
                             .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + path.getFileName() + "\"")
                             .body(resource);
                 })
-                .orElseGet(() -> ResponseEntity.notFound().build());
+                .orElseGet(() -> ResponseEntity.notFound().build()));
     }
 
     @PostMapping
     @Operation(summary = "지도 생성", description = "새 지도를 생성합니다.")
     @ApiResponse(responseCode = "201", description = "생성 성공")
-    public ResponseEntity<MapEntity> create(@RequestBody MapEntity mapEntity) {
-        MapEntity saved = mapService.create(mapEntity);
-        return ResponseEntity.created(URI.create("/map/" + saved.getId())).body(saved);
+    public Mono<ResponseEntity<MapEntity>> create(@RequestBody MapEntity mapEntity) {
+        return blockingExecutor.call(() -> mapService.create(mapEntity))
+                .map(saved -> ResponseEntity.created(URI.create("/map/" + saved.getId())).body(saved));
     }
 
     @PutMapping("/{id}")
@@ -106,10 +108,10 @@ public class MapController {
             @ApiResponse(responseCode = "200", description = "수정 성공"),
             @ApiResponse(responseCode = "404", description = "지도를 찾을 수 없음", content = @Content)
     })
-    public ResponseEntity<MapEntity> update(@PathVariable Long id, @RequestBody MapEntity request) {
-        return mapService.update(id, request)
+    public Mono<ResponseEntity<MapEntity>> update(@PathVariable Long id, @RequestBody MapEntity request) {
+        return blockingExecutor.call(() -> mapService.update(id, request)
                 .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+                .orElseGet(() -> ResponseEntity.notFound().build()));
     }
 
     @DeleteMapping("/{id}")
@@ -118,11 +120,13 @@ public class MapController {
             @ApiResponse(responseCode = "204", description = "삭제 성공"),
             @ApiResponse(responseCode = "404", description = "지도를 찾을 수 없음", content = @Content)
     })
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        if (!mapService.delete(id)) {
-            return ResponseEntity.notFound().build();
-        }
-        return ResponseEntity.noContent().build();
+    public Mono<ResponseEntity<Void>> delete(@PathVariable Long id) {
+        return blockingExecutor.call(() -> {
+            if (!mapService.delete(id)) {
+                return ResponseEntity.notFound().<Void>build();
+            }
+            return ResponseEntity.noContent().<Void>build();
+        });
     }
 
     @PostMapping(value = "/{id}/sensor-map", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -137,17 +141,17 @@ public class MapController {
         Path targetPath = mapImagePath.resolve(storedFileName).normalize();
         String dbPath = targetPath.toString();
 
-        return Mono.fromCallable(() -> {
+        return blockingExecutor.call(() -> {
                     Files.createDirectories(mapImagePath);
                 return targetPath;
             })
             .flatMap(path -> filePart.transferTo(path).thenReturn(path))
-            .flatMap(path -> Mono.fromCallable(() -> mapService.updateSensorMapPath(id, dbPath))
+            .flatMap(path -> blockingExecutor.call(() -> mapService.updateSensorMapPath(id, dbPath))
                     .flatMap(updated -> {
                         if (updated.isPresent()) {
                                 return Mono.just(ResponseEntity.ok(updated.get()));
                             }
-                            return Mono.fromCallable(() -> {
+                            return blockingExecutor.call(() -> {
                                 Files.deleteIfExists(path);
                                 return ResponseEntity.notFound().build();
                             });
@@ -6,9 +6,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.example.tudubem.config.BinaryStreams;
+import org.example.tudubem.config.BlockingExecutor;
+import org.example.tudubem.world.dto.ClearanceResponse;
+import org.example.tudubem.world.dto.WorldBuildStatus;
+import org.example.tudubem.world.dto.WorldCacheStats;
+import org.example.tudubem.world.dto.WorldUpdate;
+import org.example.tudubem.world.service.OccupancyPngEncoder;
+import org.example.tudubem.world.service.WorldBuildService;
 import org.example.tudubem.world.service.WorldService;
-import org.example.tudubem.world.WorldUtils;
-import org.example.tudubem.world.service.grid.GridMap;
+import org.example.tudubem.world.service.WorldTileService;
+import org.example.tudubem.world.service.WorldUpdateBinaryEncoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.codec.ServerSentEvent;
@@ -16,8 +28,15 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/world")
@@ -26,46 +45,160 @@ import reactor.core.publisher.Flux;
 public class WorldController {
 
     private final WorldService worldService;
+    private final WorldBuildService worldBuildService;
+    private final WorldTileService worldTileService;
+    private final OccupancyPngEncoder pngEncoder;
+    private final BlockingExecutor blockingExecutor;
 
     @PostMapping("/{mapId}/build")
-    @Operation(summary = "월드 빌드 및 캐시", description = "지도의 센서맵과 레이어를 기반으로 GridMap을 생성하고 메모리에 캐시합니다.")
+    @Operation(summary = "월드 빌드 요청", description = "지도의 센서맵과 레이어로 GridMap을 만드는 빌드 작업을 백그라운드에서 실행합니다. 같은 map의 대기 중인 요청은 하나로 합쳐지며, 빌드가 끝날 때까지 이전 캐시가 그대로 조회됩니다.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "빌드 성공"),
-            @ApiResponse(responseCode = "404", description = "지도를 찾을 수 없음", content = @Content)
+            @ApiResponse(responseCode = "202", description = "빌드 작업 접수"),
+            @ApiResponse(responseCode = "503", description = "빌드 대기열이 가득 참", content = @Content)
     })
-    public ResponseEntity<GridMap> buildAndCache(@PathVariable Long mapId) {
+    public ResponseEntity<WorldBuildStatus> buildAndCache(@PathVariable Long mapId) {
         try {
-            GridMap gridMap = worldService.buildAndCache(mapId);
-            return ResponseEntity.ok(gridMap);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.notFound().build();
+            WorldBuildStatus status = worldBuildService.submit(mapId);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/world/" + mapId + "/build"))
+                    .body(status);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         }
     }
 
+    @GetMapping("/{mapId}/build")
+    @Operation(summary = "월드 빌드 상태 조회", description = "해당 map의 가장 최근 빌드 작업 상태(QUEUED/RUNNING/DONE/FAILED)와 단계별 소요 시간을 반환합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "404", description = "빌드 요청 이력이 없음", content = @Content)
+    })
+    public ResponseEntity<WorldBuildStatus> getBuildStatus(@PathVariable Long mapId) {
+        return worldBuildService.status(mapId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @GetMapping(value = "/{mapId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    @Operation(summary = "캐시된 월드 SSE 스트림", description = "해당 mapId의 GridMap 변경 이벤트를 SSE로 구독합니다.")
+    @Operation(summary = "캐시된 월드 SSE 스트림", description = "해당 mapId의 월드 변경을 SSE로 구독합니다. 구독 직후와 월드가 새로 빌드될 때는 전체 그리드를 담은 world-snapshot 이벤트를, 동적 객체가 바뀌면 바뀐 영역만 담은 world-patch 이벤트를 보냅니다. 이벤트 id는 월드 버전입니다.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "구독 성공")
     })
-    public Flux<ServerSentEvent<GridMap>> streamGridMap(@PathVariable Long mapId) {
+    public Flux<ServerSentEvent<WorldUpdate>> streamGridMap(@PathVariable Long mapId) {
         return worldService.asFlux(mapId)
-                .map(gridMap -> ServerSentEvent.<GridMap>builder()
-                        .event("grid-map")
-                        .data(gridMap)
+                .map(update -> ServerSentEvent.<WorldUpdate>builder()
+                        .id(Long.toString(update.version()))
+                        .event(update.snapshot() ? "world-snapshot" : "world-patch")
+                        .data(update)
                         .build());
     }
 
-    @GetMapping(value = "/{mapId}/image", produces = MediaType.IMAGE_PNG_VALUE)
-    @Operation(summary = "캐시된 그리드맵 이미지 조회", description = "캐시된 GridMap을 PNG(image/png)로 반환합니다.")
+    @GetMapping(value = "/{mapId}/stream", produces = BinaryStreams.GRID_MAP_VALUE)
+    @Operation(summary = "캐시된 월드 바이너리 스트림", description = "Accept: application/vnd.tudubem.gridmap[;compression=none|rle|deflate] 이면 SSE 스트림과 같은 스냅샷/패치를 비트 단위 바이너리 메시지(uint32 길이 + 본문)로 이어 보냅니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "구독 성공"),
+            @ApiResponse(responseCode = "400", description = "지원하지 않는 compression", content = @Content)
+    })
+    public ResponseEntity<Flux<DataBuffer>> streamGridMapBinary(
+            @PathVariable Long mapId,
+            @RequestHeader HttpHeaders headers
+    ) {
+        WorldUpdateBinaryEncoder.Compression compression;
+        try {
+            compression = WorldUpdateBinaryEncoder.Compression.parse(
+                    BinaryStreams.acceptParameter(headers.getAccept(), BinaryStreams.GRID_MAP, "compression")
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        Flux<byte[]> messages = worldService.asFlux(mapId)
+                .map(update -> WorldUpdateBinaryEncoder.encode(update, compression));
+        return ResponseEntity.ok()
+                .contentType(BinaryStreams.GRID_MAP)
+                .body(BinaryStreams.lengthPrefixed(messages));
+    }
+
+    @GetMapping("/{mapId}/snapshot")
+    @Operation(summary = "캐시된 월드 스냅샷 조회", description = "현재 월드 버전과 전체 그리드를 반환합니다. 스트림 패치를 이어 붙이기 전 기준 상태로 사용합니다.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "조회 성공"),
-            @ApiResponse(responseCode = "404", description = "캐시된 그리드맵이 없음", content = @Content),
-            @ApiResponse(responseCode = "500", description = "이미지 변환 실패", content = @Content)
+            @ApiResponse(responseCode = "404", description = "캐시된 월드가 없음", content = @Content)
     })
-    public ResponseEntity<byte[]> getCachedGridMapImage(@PathVariable Long mapId) {
-        return worldService.getCached(mapId)
-                .map(WorldUtils::toPngResponse)
+    public ResponseEntity<WorldUpdate> getSnapshot(@PathVariable Long mapId) {
+        return worldService.snapshot(mapId)
+                .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    @GetMapping(value = "/{mapId}/image", produces = MediaType.IMAGE_PNG_VALUE)
+    @Operation(summary = "캐시된 그리드맵 이미지 조회", description = "캐시된 GridMap을 1비트 흑백 PNG(image/png)로 반환합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "404", description = "캐시된 그리드맵이 없음", content = @Content)
+    })
+    public Mono<ResponseEntity<DataBuffer>> getCachedGridMapImage(@PathVariable Long mapId) {
+        // 큰 맵은 PNG 인코딩에 수십 ms가 걸리므로 이벤트 루프 밖에서 실행한다.
+        return blockingExecutor.call(() -> worldService.getCached(mapId)
+                .map(gridMap -> ResponseEntity.ok()
+                        .contentType(MediaType.IMAGE_PNG)
+                        .body(pngEncoder.encode(gridMap.occupancy())))
+                .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+
+    @GetMapping(value = "/{mapId}/tiles/{z}/{x}/{y}.png", produces = MediaType.IMAGE_PNG_VALUE)
+    @Operation(summary = "그리드맵 타일 이미지 조회", description = "캐시된 GridMap을 256x256 PNG 타일로 반환합니다. 가장 큰 zoom이 셀 1개 = 1픽셀이고 zoom 0은 지도 전체를 타일 하나로 축소합니다. 타일 (0, 0)은 지도 좌상단이며, ETag는 타일 영역이 바뀔 때만 달라지므로 If-None-Match로 재검증하면 304를 받습니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "304", description = "타일이 바뀌지 않음", content = @Content),
+            @ApiResponse(responseCode = "404", description = "캐시된 그리드맵이 없거나 타일 범위를 벗어남", content = @Content)
+    })
+    public Mono<ResponseEntity<byte[]>> getTile(
+            @PathVariable Long mapId,
+            @PathVariable int z,
+            @PathVariable int x,
+            @PathVariable int y
+    ) {
+        // 캐시된 타일은 바로 응답하고, 렌더링이 필요한 타일만 이벤트 루프 밖에서 그린다.
+        Mono<Optional<WorldTileService.Tile>> tile = worldTileService.cachedTile(mapId, z, x, y)
+                .map(cached -> Mono.just(Optional.of(cached)))
+                .orElseGet(() -> blockingExecutor.call(() -> worldTileService.tile(mapId, z, x, y)));
+        return tile.map(found -> found
+                .map(rendered -> ResponseEntity.ok()
+                        .eTag(rendered.etag())
+                        .cacheControl(CacheControl.noCache())
+                        .contentType(MediaType.IMAGE_PNG)
+                        .body(rendered.png()))
+                .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+
+    @GetMapping("/{mapId}/clearance")
+    @Operation(summary = "장애물 여유 거리 조회", description = "캐시된 월드에서 셀 (x, y)와 가장 가까운 점유 셀 사이의 유클리드 거리를 반환합니다. 거리는 254셀에서 잘리며, 잘린 값이면 capped가 true입니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "400", description = "좌표가 그리드 범위를 벗어남", content = @Content),
+            @ApiResponse(responseCode = "404", description = "캐시된 월드가 없음", content = @Content)
+    })
+    public ResponseEntity<ClearanceResponse> getClearance(
+            @PathVariable Long mapId,
+            @RequestParam int x,
+            @RequestParam int y
+    ) {
+        try {
+            return worldService.getClearance(mapId, x, y)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/cache/stats")
+    @Operation(summary = "월드 캐시 상태 조회", description = "캐시된 map 목록, 메모리 사용량, 적중/미스/제거 횟수를 반환합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회 성공")
+    })
+    public WorldCacheStats cacheStats() {
+        return worldService.cacheStats();
+    }
+
 }
@@ -0,0 +1,16 @@
+package org.example.tudubem.world.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "좌표 하나에 대한 영역 포함 조회 결과")
+public record AreaLookupResult(
+        @Schema(description = "x 좌표", example = "60")
+        double x,
+        @Schema(description = "y 좌표", example = "40")
+        double y,
+        @Schema(description = "좌표를 포함하는 영역 ID 목록", example = "[10, 12]")
+        List<Long> areaIds
+) {
+}
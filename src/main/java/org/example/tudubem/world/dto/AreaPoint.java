@@ -0,0 +1,12 @@
+package org.example.tudubem.world.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "영역 조회용 좌표 (픽셀 단위, 원점: 좌하단)")
+public record AreaPoint(
+        @Schema(description = "x 좌표", example = "60")
+        double x,
+        @Schema(description = "y 좌표", example = "40")
+        double y
+) {
+}
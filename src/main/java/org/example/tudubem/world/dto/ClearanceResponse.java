@@ -0,0 +1,22 @@
+package org.example.tudubem.world.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "셀 위치의 장애물 여유 거리")
+public record ClearanceResponse(
+        @Schema(description = "지도 ID", example = "1")
+        Long mapId,
+        @Schema(description = "셀 x 좌표", example = "120")
+        int x,
+        @Schema(description = "셀 y 좌표", example = "45")
+        int y,
+        @Schema(description = "해당 셀 점유 여부", example = "false")
+        boolean occupied,
+        @Schema(description = "가장 가까운 점유 셀까지의 거리(셀 단위, 셀 중심 기준). 254셀에서 잘리며, 점유 셀이 없으면 null", example = "3.605551275463989")
+        Double distanceCells,
+        @Schema(description = "가장 가까운 점유 셀까지의 거리(픽셀 단위). 254셀에서 잘리며, 점유 셀이 없으면 null", example = "3.605551275463989")
+        Double distancePx,
+        @Schema(description = "거리가 254셀에서 잘렸는지 여부. true이면 실제 거리는 distanceCells 이상", example = "false")
+        boolean capped
+) {
+}
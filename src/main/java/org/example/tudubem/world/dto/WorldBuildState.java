@@ -0,0 +1,9 @@
+package org.example.tudubem.world.dto;
+
+// 월드 빌드 작업 상태.
+public enum WorldBuildState {
+    QUEUED,
+    RUNNING,
+    DONE,
+    FAILED
+}
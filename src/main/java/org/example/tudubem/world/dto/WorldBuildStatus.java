@@ -0,0 +1,29 @@
+package org.example.tudubem.world.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Schema(description = "월드 빌드 작업 상태")
+public record WorldBuildStatus(
+        @Schema(description = "빌드 작업 ID", example = "3")
+        long jobId,
+        @Schema(description = "지도 ID", example = "1")
+        Long mapId,
+        @Schema(description = "셀 크기(px)", example = "1")
+        int cellSizePx,
+        @Schema(description = "작업 상태", example = "DONE")
+        WorldBuildState state,
+        @Schema(description = "요청 시각")
+        Instant submittedAt,
+        @Schema(description = "실행 시작 시각")
+        Instant startedAt,
+        @Schema(description = "종료 시각")
+        Instant finishedAt,
+        @Schema(description = "단계별 소요 시간(ms), 실행 순서", example = "{\"load-map\": 2, \"load-keepout\": 1, \"static-layers\": 41, \"composite\": 2, \"distance\": 18}")
+        Map<String, Long> stageMillis,
+        @Schema(description = "실패 사유", example = "map not found: 999")
+        String error
+) {
+}
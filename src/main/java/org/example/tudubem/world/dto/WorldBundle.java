@@ -1,11 +1,20 @@
 package org.example.tudubem.world.dto;
 
 import lombok.AllArgsConstructor;
+import org.example.tudubem.world.service.grid.CellBounds;
+import org.example.tudubem.world.service.grid.DistanceField;
+import org.example.tudubem.world.service.grid.DynamicObjectLayer;
+import org.example.tudubem.world.service.grid.LayerIndex;
+import org.example.tudubem.world.service.grid.OccupancyGrid;
 
-import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+// 게시된 한 버전의 월드 상태. 동적 객체 레이어와 팽창 레이어를 포함한 모든 레이어가 얼린(freeze) 상태로 게시되고
+// 번들 자체도 게시한 뒤에는 바뀌지 않으므로, 읽는 쪽은 잠금이나 복사 없이 그대로 쓴다.
+// 동적 객체가 바뀌면 바뀐 블록만 새로 만든 다음 번들을 게시하고, 나머지 블록은 이전 번들과 공유한다.
 @AllArgsConstructor
 public class WorldBundle {
     public final Long mapId;
@@ -13,12 +22,21 @@ public class WorldBundle {
     public final int heightCells;
     public final int cellSizePx;
 
-    public final List<List<Integer>> base;
-    public final List<List<Integer>> keepout;
-    public List<List<Integer>> dynamic;
-    public List<List<Integer>> composite;
+    public final OccupancyGrid base;
+    public final OccupancyGrid keepout;
+    // 이 번들 시점의 동적 객체 레이어. 바꿀 때는 copy()한 복사본을 고쳐 다음 번들에 담는다.
+    public final DynamicObjectLayer dynamic;
+    public final OccupancyGrid composite;
+    // composite 기준 가장 가까운 점유 셀까지의 거리 레이어. 게시한 뒤에는 바꾸지 않는다.
+    public final DistanceField distance;
 
-    public final Map<String, List<Point2D.Double>> dynamicObjectsInGrid;
+    // actor 반경(셀)별 팽창 레이어(읽기 전용 Map). 처음 요청된 반경은 withInflated로 레이어를 더한 번들을 만들어 교체하고,
+    // 다음 번들은 이미 만든 반경의 레이어를 바뀐 영역만 고쳐 이어받는다.
+    public final Map<Integer, OccupancyGrid> inflated;
+
+    // 레이어에서 만든 파생 인덱스(읽기 전용 Map). 처음 요청될 때 withIndex로 더하고,
+    // 다음 번들은 인덱스를 그대로 이어받되 고쳐야 할 영역만 쌓아 두었다가 조회할 때 그 영역만 고친다.
+    public final Map<IndexKey, IndexEntry> indexes;
 
     public boolean hasSameGridConfig(Long mapId, int widthCells, int heightCells, int cellSizePx) {
         return this.mapId.equals(mapId)
@@ -26,4 +44,77 @@ public class WorldBundle {
                 && this.heightCells == heightCells
                 && this.cellSizePx == cellSizePx;
     }
+
+    // 팽창 레이어 하나를 더한 번들. 나머지 레이어는 그대로 공유한다.
+    public WorldBundle withInflated(Integer radius, OccupancyGrid layer) {
+        Map<Integer, OccupancyGrid> layers = new HashMap<>(inflated);
+        layers.put(radius, layer);
+        return new WorldBundle(
+                mapId,
+                widthCells,
+                heightCells,
+                cellSizePx,
+                base,
+                keepout,
+                dynamic,
+                composite,
+                distance,
+                Map.copyOf(layers),
+                indexes
+        );
+    }
+
+    // 인덱스 하나를 더하거나 바꾼 번들. 나머지 레이어와 인덱스는 그대로 공유한다.
+    public WorldBundle withIndex(IndexKey key, IndexEntry entry) {
+        Map<IndexKey, IndexEntry> entries = new HashMap<>(indexes);
+        entries.put(key, entry);
+        return new WorldBundle(
+                mapId,
+                widthCells,
+                heightCells,
+                cellSizePx,
+                base,
+                keepout,
+                dynamic,
+                composite,
+                distance,
+                inflated,
+                Map.copyOf(entries)
+        );
+    }
+
+    // 캐시 메모리 예산 계산용으로 레이어와 동적 객체가 차지하는 크기를 대략 계산한다.
+    public long sizeInBytes() {
+        return base.sizeInBytes()
+                + keepout.sizeInBytes()
+                + dynamic.sizeInBytes()
+                + composite.sizeInBytes()
+                + distance.sizeInBytes()
+                + inflated.values().stream().mapToLong(OccupancyGrid::sizeInBytes).sum()
+                + indexes.values().stream().mapToLong(entry -> entry.index().sizeInBytes()).sum();
+    }
+
+    // 인덱스 이름과 인덱스를 만든 레이어의 팽창 반경(0이면 composite).
+    public record IndexKey(String name, int radius) {
+    }
+
+    // 번들에 붙은 인덱스와, 인덱스를 만든 레이어 이후 바뀌어 아직 고치지 않은 영역들.
+    public record IndexEntry(LayerIndex index, List<CellBounds> pendingDirty) {
+
+        // 쌓아 둘 영역 수의 상한. 넘으면 하나로 합친다.
+        private static final int MAX_PENDING_DIRTY = 32;
+
+        public IndexEntry withDirty(CellBounds dirty) {
+            List<CellBounds> pending = new ArrayList<>(pendingDirty);
+            pending.add(dirty);
+            if (pending.size() > MAX_PENDING_DIRTY) {
+                CellBounds union = CellBounds.EMPTY;
+                for (CellBounds bounds : pending) {
+                    union = union.union(bounds);
+                }
+                pending = List.of(union);
+            }
+            return new IndexEntry(index, List.copyOf(pending));
+        }
+    }
 }
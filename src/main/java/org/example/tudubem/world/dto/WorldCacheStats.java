@@ -0,0 +1,24 @@
+package org.example.tudubem.world.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "월드 캐시 상태")
+public record WorldCacheStats(
+        @Schema(description = "캐시된 mapId 목록(오래 사용되지 않은 순)", example = "[2, 1]")
+        List<Long> cachedMapIds,
+        @Schema(description = "캐시 사용 메모리(byte)", example = "4194304")
+        long usedBytes,
+        @Schema(description = "캐시 메모리 예산(byte)", example = "536870912")
+        long maxBytes,
+        @Schema(description = "최대 캐시 map 개수", example = "16")
+        int maxEntries,
+        @Schema(description = "캐시 적중 횟수. 요청마다 처음 조회한 결과만 센다", example = "120")
+        long hits,
+        @Schema(description = "캐시 미스 횟수. 요청마다 처음 조회한 결과만 센다", example = "3")
+        long misses,
+        @Schema(description = "캐시 제거 횟수", example = "1")
+        long evictions
+) {
+}
@@ -0,0 +1,15 @@
+package org.example.tudubem.world.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.example.tudubem.world.service.grid.OccupancyGrid;
+
+@Schema(description = "월드 점유 그리드의 사각 영역 패치. (x, y)부터 cells 크기만큼을 덮어쓴다.")
+public record WorldPatch(
+        @Schema(description = "영역 좌하단 셀 x 좌표", example = "120")
+        int x,
+        @Schema(description = "영역 좌하단 셀 y 좌표", example = "45")
+        int y,
+        @Schema(description = "영역의 점유 그리드(0=비점유, 1=점유), 원점은 영역 좌하단 기준", type = "array", example = "[[0,1],[1,1]]")
+        OccupancyGrid cells
+) {
+}
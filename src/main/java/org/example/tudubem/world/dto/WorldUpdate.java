@@ -0,0 +1,24 @@
+package org.example.tudubem.world.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "월드 변경 이벤트. 스냅샷은 전체 그리드를, 그 외에는 직전 버전 이후 바뀐 영역만 담는다.")
+public record WorldUpdate(
+        @Schema(description = "지도 ID", example = "1")
+        Long mapId,
+        @Schema(description = "월드 버전. map별로 변경마다 1씩 증가한다.", example = "42")
+        long version,
+        @Schema(description = "전체 그리드를 담은 스냅샷 여부. 스냅샷을 받으면 그리드 크기부터 다시 맞춘다.", example = "false")
+        boolean snapshot,
+        @Schema(description = "가로 셀 개수", example = "256")
+        int widthCells,
+        @Schema(description = "세로 셀 개수", example = "128")
+        int heightCells,
+        @Schema(description = "1셀을 구성하는 픽셀 크기", example = "4")
+        int cellSizePx,
+        @Schema(description = "덮어쓸 영역 목록. 스냅샷이면 전체 그리드 하나다.")
+        List<WorldPatch> patches
+) {
+}
@@ -0,0 +1,175 @@
+package org.example.tudubem.world.service;
+
+import org.example.tudubem.world.WorldUtils;
+import org.example.tudubem.world.entity.AreaEntity;
+
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+// 한 지도의 영역 폴리곤을 균일 격자 버킷으로 나눠 둔 읽기 전용 공간 인덱스.
+// 영역마다 외접 사각형이 겹치는 버킷에 등록해 두고, 조회 시에는 점이 속한 버킷의 후보만 외접 사각형과 폴리곤 포함 여부로 거른다.
+// 좌표는 verticesJson과 같은 픽셀 좌표(원점: 좌하단)이다. 좌표를 파싱할 수 없는 영역은 인덱스에서 빠진다.
+final class AreaIndex {
+
+    // 한 축의 최대 버킷 수. 영역 수의 제곱근만큼 나누되 이 값을 넘지 않는다.
+    private static final int MAX_BUCKETS_PER_AXIS = 256;
+
+    private final List<IndexedArea> areas;
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+    private final double bucketWidth;
+    private final double bucketHeight;
+    private final int columns;
+    private final int rows;
+    private final int[][] buckets;
+
+    private AreaIndex(List<IndexedArea> areas, double minX, double minY, double maxX, double maxY) {
+        this.areas = areas;
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        int perAxis = Math.min(MAX_BUCKETS_PER_AXIS, Math.max(1, (int) Math.ceil(Math.sqrt(areas.size()))));
+        this.columns = maxX > minX ? perAxis : 1;
+        this.rows = maxY > minY ? perAxis : 1;
+        this.bucketWidth = Math.max((maxX - minX) / columns, Double.MIN_NORMAL);
+        this.bucketHeight = Math.max((maxY - minY) / rows, Double.MIN_NORMAL);
+
+        int[] counts = new int[columns * rows];
+        for (IndexedArea area : areas) {
+            forEachBucket(area, bucket -> counts[bucket]++);
+        }
+        this.buckets = new int[columns * rows][];
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+            buckets[bucket] = new int[counts[bucket]];
+            counts[bucket] = 0;
+        }
+        for (int i = 0; i < areas.size(); i++) {
+            int index = i;
+            forEachBucket(areas.get(i), bucket -> buckets[bucket][counts[bucket]++] = index);
+        }
+    }
+
+    static AreaIndex build(List<AreaEntity> entities) {
+        List<IndexedArea> areas = new ArrayList<>(entities.size());
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (AreaEntity entity : entities) {
+            List<Point2D.Double> vertices;
+            try {
+                vertices = WorldUtils.parseVertices(entity.getVerticesJson());
+            } catch (IllegalStateException e) {
+                continue;
+            }
+            IndexedArea area = IndexedArea.of(entity, vertices);
+            areas.add(area);
+            minX = Math.min(minX, area.minX());
+            minY = Math.min(minY, area.minY());
+            maxX = Math.max(maxX, area.maxX());
+            maxY = Math.max(maxY, area.maxY());
+        }
+        if (areas.isEmpty()) {
+            return new AreaIndex(areas, 0, 0, 0, 0);
+        }
+        return new AreaIndex(areas, minX, minY, maxX, maxY);
+    }
+
+    // (x, y)를 포함하는 영역을 등록 순서대로 반환한다. 경계 위의 점은 포함되지 않을 수 있다.
+    List<AreaEntity> findContaining(double x, double y) {
+        if (areas.isEmpty()) {
+            return List.of();
+        }
+        int column = bucketColumn(x);
+        int row = bucketRow(y);
+        if (column < 0 || row < 0) {
+            return List.of();
+        }
+        List<AreaEntity> found = new ArrayList<>();
+        for (int index : buckets[row * columns + column]) {
+            IndexedArea area = areas.get(index);
+            if (area.contains(x, y)) {
+                found.add(area.entity());
+            }
+        }
+        return found;
+    }
+
+    private int bucketColumn(double x) {
+        return bucketOf(x, minX, maxX, bucketWidth, columns);
+    }
+
+    private int bucketRow(double y) {
+        return bucketOf(y, minY, maxY, bucketHeight, rows);
+    }
+
+    // 인덱스 범위 밖이면 -1. 최댓값 경계는 마지막 버킷에 넣는다.
+    private static int bucketOf(double value, double min, double max, double size, int count) {
+        if (!(value >= min) || value > max) {
+            return -1;
+        }
+        return Math.min(count - 1, (int) ((value - min) / size));
+    }
+
+    private void forEachBucket(IndexedArea area, IntConsumer action) {
+        int fromColumn = bucketColumn(area.minX());
+        int toColumn = bucketColumn(area.maxX());
+        int fromRow = bucketRow(area.minY());
+        int toRow = bucketRow(area.maxY());
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                action.accept(row * columns + column);
+            }
+        }
+    }
+
+    private record IndexedArea(
+            AreaEntity entity,
+            double[] xs,
+            double[] ys,
+            double minX,
+            double minY,
+            double maxX,
+            double maxY
+    ) {
+
+        static IndexedArea of(AreaEntity entity, List<Point2D.Double> vertices) {
+            int n = vertices.size();
+            double[] xs = new double[n];
+            double[] ys = new double[n];
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < n; i++) {
+                xs[i] = vertices.get(i).x;
+                ys[i] = vertices.get(i).y;
+                minX = Math.min(minX, xs[i]);
+                minY = Math.min(minY, ys[i]);
+                maxX = Math.max(maxX, xs[i]);
+                maxY = Math.max(maxY, ys[i]);
+            }
+            return new IndexedArea(entity, xs, ys, minX, minY, maxX, maxY);
+        }
+
+        // 외접 사각형으로 먼저 거른 뒤 even-odd 규칙(반직선 교차 횟수)으로 판정한다.
+        boolean contains(double x, double y) {
+            if (x < minX || x > maxX || y < minY || y > maxY) {
+                return false;
+            }
+            boolean inside = false;
+            for (int i = 0, j = xs.length - 1; i < xs.length; j = i++) {
+                if ((ys[i] > y) != (ys[j] > y)
+                        && x < (xs[j] - xs[i]) * (y - ys[i]) / (ys[j] - ys[i]) + xs[i]) {
+                    inside = !inside;
+                }
+            }
+            return inside;
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package org.example.tudubem.world.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.tudubem.world.dto.AreaLookupResult;
+import org.example.tudubem.world.dto.AreaPoint;
 import org.example.tudubem.world.entity.AreaEntity;
 import org.example.tudubem.world.entity.AreaRepository;
 import org.example.tudubem.world.entity.MapEntity;
 import org.example.tudubem.world.entity.MapRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -19,6 +25,11 @@ public class AreaService {
     private final AreaRepository areaRepository;
     private final MapRepository mapRepository;
 
+    // map별 영역 공간 인덱스. 처음 조회할 때 만들고, 영역이 바뀐 트랜잭션이 커밋되면 버린다.
+    // 커밋 전 데이터로 만들던 인덱스가 버린 뒤에 들어오지 않도록 map별 세대 번호를 함께 비교한다.
+    private final Map<Long, AreaIndex> indexes = new HashMap<>();
+    private final Map<Long, Long> indexGenerations = new HashMap<>();
+
     public List<AreaEntity> findAllByMapId(Long mapId) {
         return areaRepository.findByMap_Id(mapId);
     }
@@ -27,6 +38,25 @@ public class AreaService {
         return areaRepository.findByIdAndMap_Id(id, mapId);
     }
 
+    // (x, y) 픽셀 좌표(원점: 좌하단)를 포함하는 영역을 조회한다.
+    public List<AreaEntity> findContaining(Long mapId, double x, double y) {
+        return indexOf(mapId).findContaining(x, y);
+    }
+
+    // 여러 좌표를 한 번에 조회한다. 결과는 points 순서를 따른다.
+    public List<AreaLookupResult> findContaining(Long mapId, List<AreaPoint> points) {
+        AreaIndex index = indexOf(mapId);
+        return points.stream()
+                .map(point -> new AreaLookupResult(
+                        point.x(),
+                        point.y(),
+                        index.findContaining(point.x(), point.y()).stream()
+                                .map(AreaEntity::getId)
+                                .toList()
+                ))
+                .toList();
+    }
+
     @Transactional
     public Optional<AreaEntity> create(Long mapId, AreaEntity request) {
         return mapRepository.findById(mapId)
@@ -34,6 +64,7 @@ public class AreaService {
                     AreaEntity area = new AreaEntity();
                     area.setMap(map);
                     apply(area, request);
+                    invalidateIndexAfterCommit(mapId);
                     return areaRepository.save(area);
                 });
     }
@@ -49,6 +80,7 @@ public class AreaService {
                 .map(area -> {
                     area.setMap(mapOptional.get());
                     apply(area, request);
+                    invalidateIndexAfterCommit(mapId);
                     return areaRepository.save(area);
                 });
     }
@@ -58,11 +90,50 @@ public class AreaService {
         return areaRepository.findByIdAndMap_Id(id, mapId)
                 .map(area -> {
                     areaRepository.delete(area);
+                    invalidateIndexAfterCommit(mapId);
                     return true;
                 })
                 .orElse(false);
     }
 
+    private AreaIndex indexOf(Long mapId) {
+        long generation;
+        synchronized (indexes) {
+            AreaIndex cached = indexes.get(mapId);
+            if (cached != null) {
+                return cached;
+            }
+            generation = indexGenerations.getOrDefault(mapId, 0L);
+        }
+        AreaIndex built = AreaIndex.build(areaRepository.findByMap_Id(mapId));
+        synchronized (indexes) {
+            if (indexGenerations.getOrDefault(mapId, 0L) == generation) {
+                indexes.put(mapId, built);
+            }
+        }
+        return built;
+    }
+
+    private void invalidateIndexAfterCommit(Long mapId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateIndex(mapId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidateIndex(mapId);
+            }
+        });
+    }
+
+    private void invalidateIndex(Long mapId) {
+        synchronized (indexes) {
+            indexGenerations.merge(mapId, 1L, Long::sum);
+            indexes.remove(mapId);
+        }
+    }
+
     private void apply(AreaEntity area, AreaEntity request) {
         area.setName(request.getName());
         area.setType(request.getType());
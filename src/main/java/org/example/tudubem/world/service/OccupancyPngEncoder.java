@@ -0,0 +1,315 @@
+package org.example.tudubem.world.service;
+
+import org.example.tudubem.actor.service.pathfind.GridPoint;
+import org.example.tudubem.world.service.grid.OccupancyGrid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+// 점유 그리드를 BufferedImage/ImageIO 없이 PNG로 바로 인코딩한다.
+// 점유 이미지는 1비트 흑백(color type 0), 궤적 이미지는 2비트 팔레트(color type 3)이며, 행은 비트셋 워드에서 바로 만든다.
+// 점유 셀은 검정, 비점유 셀은 흰색이고 y축은 이미지 좌표계에 맞춰 뒤집어 그린다(첫 이미지 행 = 가장 위 셀 행).
+//
+// 이미지 행을 밴드로 나눠 밴드마다 따로 deflate하고, 마지막이 아닌 밴드는 SYNC_FLUSH로 바이트 경계에서 끊어 이어 붙인다.
+// 밴드마다 IDAT 청크 하나를 쓰며, zlib 헤더는 첫 청크 앞에, 전체 Adler-32는 밴드별 값을 합쳐 마지막 청크 뒤에 붙인다.
+// parallel이면 밴드를 공용 ForkJoinPool에서 동시에 압축한다. 밴드 경계에서 압축 사전이 끊기는 만큼만 크기가 늘어난다.
+@Component
+public class OccupancyPngEncoder {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] ZLIB_HEADER = {0x78, (byte) 0x9C};
+    private static final int COLOR_GRAY = 0;
+    private static final int COLOR_PALETTE = 3;
+    // 밴드 하나의 필터 포함 원본 행 바이트 목표치. 이보다 작은 이미지는 밴드 하나로 압축한다.
+    private static final int BAND_BYTES = 256 * 1024;
+
+    // 궤적 이미지 팔레트: 0 점유(검정), 1 비점유(흰색), 2 궤적(파랑), 3 현재 위치(빨강)
+    private static final byte[] TRAJECTORY_PALETTE = {
+            0, 0, 0,
+            (byte) 255, (byte) 255, (byte) 255,
+            0, 122, (byte) 255,
+            (byte) 255, 0, 0
+    };
+    private static final int TRAIL_INDEX = 2;
+    private static final int CURRENT_INDEX = 3;
+
+    // 1비트 픽셀 8개(MSB 먼저)를 2비트 팔레트 인덱스 8개(0 또는 1)로 펼친 값.
+    private static final short[] SPREAD_2BIT = new short[256];
+
+    static {
+        for (int value = 0; value < 256; value++) {
+            int spread = 0;
+            for (int i = 0; i < 8; i++) {
+                spread |= ((value >>> (7 - i)) & 1) << (14 - 2 * i);
+            }
+            SPREAD_2BIT[value] = (short) spread;
+        }
+    }
+
+    // 이미지 행 row의 픽셀 바이트(필터 바이트 제외)를 out[offset]부터 채운다. 밴드마다 다른 스레드에서 불릴 수 있다.
+    @FunctionalInterface
+    public interface RowWriter {
+        void write(int row, byte[] out, int offset);
+    }
+
+    @Value("${app.grid.png.deflate-level:1}")
+    private int deflateLevel;
+
+    @Value("${app.grid.png.parallel:true}")
+    private boolean parallel;
+
+    // 점유 그리드를 1비트 흑백 PNG로 인코딩한다.
+    public DataBuffer encode(OccupancyGrid grid) {
+        return toDataBuffer(grid.width(), grid.height(), 1, null, (row, out, offset) ->
+                writeBilevelRow(grid, grid.height() - 1 - row, out, offset));
+    }
+
+    // 점유 그리드 위에 궤적(파랑)과 현재 위치(빨강)를 그린 2비트 팔레트 PNG로 인코딩한다. 범위를 벗어난 점은 건너뛴다.
+    public DataBuffer encode(OccupancyGrid grid, List<GridPoint> trail, GridPoint current) {
+        int width = grid.width();
+        int height = grid.height();
+        PointsByRow trailByRow = PointsByRow.of(trail, width, height);
+        int bilevelBytes = (width + 7) >>> 3;
+        return toDataBuffer(width, height, 2, TRAJECTORY_PALETTE, (row, out, offset) -> {
+            int y = height - 1 - row;
+            byte[] bilevel = new byte[bilevelBytes];
+            writeBilevelRow(grid, y, bilevel, 0);
+            int rowBytes = (width + 3) >>> 2;
+            for (int i = 0; i < bilevelBytes; i++) {
+                short spread = SPREAD_2BIT[bilevel[i] & 0xFF];
+                out[offset + 2 * i] = (byte) (spread >>> 8);
+                if (2 * i + 1 < rowBytes) {
+                    out[offset + 2 * i + 1] = (byte) spread;
+                }
+            }
+            trailByRow.forEachX(y, x -> setPixel2(out, offset, x, TRAIL_INDEX));
+            if (current != null && current.y() == y && current.x() >= 0 && current.x() < width) {
+                setPixel2(out, offset, current.x(), CURRENT_INDEX);
+            }
+        });
+    }
+
+    // 행을 직접 채우는 1비트 흑백 PNG(0 = 검정, 1 = 흰색). 타일처럼 작은 이미지를 캐시에 담을 때 쓴다.
+    public byte[] encodeBilevel(int width, int height, RowWriter rows) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(out, width, height, 1, null, rows);
+        return out.toByteArray();
+    }
+
+    private DataBuffer toDataBuffer(int width, int height, int bitDepth, byte[] palette, RowWriter rows) {
+        // 1비트 지도는 보통 원본 비트맵보다 훨씬 작게 압축되므로 비트맵 크기의 1/8에서 시작해 필요하면 늘린다.
+        long bitmapBytes = (long) height * ((width * (long) bitDepth + 7) >>> 3);
+        DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.allocateBuffer((int) Math.min(bitmapBytes / 8 + 1024, 1 << 24));
+        write(buffer.asOutputStream(), width, height, bitDepth, palette, rows);
+        return buffer;
+    }
+
+    private void write(OutputStream out, int width, int height, int bitDepth, byte[] palette, RowWriter rows) {
+        int rowBytes = (int) ((width * (long) bitDepth + 7) >>> 3);
+        int bandRows = Math.max(1, BAND_BYTES / (rowBytes + 1));
+        int bands = Math.max(1, (height + bandRows - 1) / bandRows);
+        try {
+            out.write(SIGNATURE);
+            byte[] header = new byte[13];
+            putInt(header, 0, width);
+            putInt(header, 4, height);
+            header[8] = (byte) bitDepth;
+            header[9] = (byte) (palette == null ? COLOR_GRAY : COLOR_PALETTE);
+            writeChunk(out, "IHDR", header);
+            if (palette != null) {
+                writeChunk(out, "PLTE", palette);
+            }
+
+            Band[] compressed = null;
+            if (parallel && bands > 1 && ForkJoinPool.getCommonPoolParallelism() > 1) {
+                compressed = IntStream.range(0, bands)
+                        .parallel()
+                        .mapToObj(band -> compressBand(rows, rowBytes, height, bandRows, band, bands))
+                        .toArray(Band[]::new);
+            }
+            long adler = 1;
+            for (int band = 0; band < bands; band++) {
+                Band current = compressed != null
+                        ? compressed[band]
+                        : compressBand(rows, rowBytes, height, bandRows, band, bands);
+                adler = combineAdler32(adler, current.adler(), current.rawLength());
+                byte[] prefix = band == 0 ? ZLIB_HEADER : new byte[0];
+                byte[] suffix = new byte[0];
+                if (band == bands - 1) {
+                    suffix = new byte[4];
+                    putInt(suffix, 0, (int) adler);
+                }
+                writeChunk(out, "IDAT", prefix, current.data(), suffix);
+            }
+            writeChunk(out, "IEND");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 밴드의 행을 필터 0(None)으로 이어 붙여 deflate한다. 마지막 밴드만 스트림을 끝낸다.
+    private Band compressBand(RowWriter rows, int rowBytes, int height, int bandRows, int band, int bands) {
+        int fromRow = band * bandRows;
+        int toRow = Math.min(height, fromRow + bandRows);
+        int stride = rowBytes + 1;
+        byte[] raw = new byte[(toRow - fromRow) * stride];
+        for (int row = fromRow; row < toRow; row++) {
+            rows.write(row, raw, (row - fromRow) * stride + 1);
+        }
+        Adler32 adler = new Adler32();
+        adler.update(raw);
+
+        Deflater deflater = new Deflater(deflateLevel, true);
+        try {
+            deflater.setInput(raw);
+            byte[] data = new byte[raw.length + (raw.length >>> 12) + (raw.length >>> 14) + 64];
+            int length = 0;
+            if (band == bands - 1) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    if (length == data.length) {
+                        data = Arrays.copyOf(data, data.length * 2);
+                    }
+                    length += deflater.deflate(data, length, data.length - length);
+                }
+            } else {
+                // 출력 공간을 다 채웠으면 남은 출력이 있을 수 있으므로 공간을 늘려 다시 부른다.
+                while (true) {
+                    length += deflater.deflate(data, length, data.length - length, Deflater.SYNC_FLUSH);
+                    if (length < data.length) {
+                        break;
+                    }
+                    data = Arrays.copyOf(data, data.length * 2);
+                }
+            }
+            return new Band(Arrays.copyOf(data, length), adler.getValue(), raw.length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    // 비트셋 워드는 셀 x가 LSB부터 오므로 뒤집어서 PNG 순서(MSB 먼저)로 쓴다. 점유(1)는 검정(0)이 되도록 반전한다.
+    private static void writeBilevelRow(OccupancyGrid grid, int y, byte[] out, int offset) {
+        int rowBytes = (grid.width() + 7) >>> 3;
+        for (int w = 0; w < grid.wordsPerRow(); w++) {
+            long value = Long.reverse(~grid.word(y, w));
+            int base = w << 3;
+            int count = Math.min(8, rowBytes - base);
+            for (int b = 0; b < count; b++) {
+                out[offset + base + b] = (byte) (value >>> (56 - (b << 3)));
+            }
+        }
+    }
+
+    private static void setPixel2(byte[] out, int offset, int x, int index) {
+        int shift = 6 - ((x & 3) << 1);
+        int i = offset + (x >>> 2);
+        out[i] = (byte) ((out[i] & ~(3 << shift)) | (index << shift));
+    }
+
+    // zlib adler32_combine: 앞 구간의 값 adler1과 뒤 구간(length2 바이트)의 값 adler2로 이어 붙인 구간의 값을 구한다.
+    static long combineAdler32(long adler1, long adler2, long length2) {
+        final long base = 65521;
+        long remainder = length2 % base;
+        long sum1 = adler1 & 0xFFFF;
+        long sum2 = (remainder * sum1) % base;
+        sum1 += (adler2 & 0xFFFF) + base - 1;
+        sum2 += ((adler1 >>> 16) & 0xFFFF) + ((adler2 >>> 16) & 0xFFFF) + base - remainder;
+        if (sum1 >= base) {
+            sum1 -= base;
+        }
+        if (sum1 >= base) {
+            sum1 -= base;
+        }
+        if (sum2 >= base << 1) {
+            sum2 -= base << 1;
+        }
+        if (sum2 >= base) {
+            sum2 -= base;
+        }
+        return sum1 | (sum2 << 16);
+    }
+
+    private static void writeChunk(OutputStream out, String type, byte[]... parts) throws IOException {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        byte[] header = new byte[8];
+        putInt(header, 0, length);
+        System.arraycopy(typeBytes, 0, header, 4, 4);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        out.write(header);
+        for (byte[] part : parts) {
+            crc.update(part);
+            out.write(part);
+        }
+        byte[] trailer = new byte[4];
+        putInt(trailer, 0, (int) crc.getValue());
+        out.write(trailer);
+    }
+
+    private static void putInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    private record Band(byte[] data, long adler, int rawLength) {
+    }
+
+    // 그리드 행(y)별로 묶은 점들의 x 좌표. 궤적을 행마다 전부 훑지 않도록 미리 정렬해 둔다.
+    private record PointsByRow(int[] start, int[] xs) {
+
+        static PointsByRow of(List<GridPoint> points, int width, int height) {
+            int[] start = new int[height + 1];
+            if (points == null) {
+                return new PointsByRow(start, new int[0]);
+            }
+            for (GridPoint point : points) {
+                if (inside(point, width, height)) {
+                    start[point.y() + 1]++;
+                }
+            }
+            for (int y = 0; y < height; y++) {
+                start[y + 1] += start[y];
+            }
+            int[] xs = new int[start[height]];
+            int[] cursor = Arrays.copyOf(start, height);
+            for (GridPoint point : points) {
+                if (inside(point, width, height)) {
+                    xs[cursor[point.y()]++] = point.x();
+                }
+            }
+            return new PointsByRow(start, xs);
+        }
+
+        void forEachX(int y, IntConsumer action) {
+            for (int i = start[y]; i < start[y + 1]; i++) {
+                action.accept(xs[i]);
+            }
+        }
+
+        private static boolean inside(GridPoint point, int width, int height) {
+            return point != null && point.x() >= 0 && point.y() >= 0 && point.x() < width && point.y() < height;
+        }
+    }
+}
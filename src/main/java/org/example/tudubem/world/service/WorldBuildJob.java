@@ -0,0 +1,112 @@
+package org.example.tudubem.world.service;
+
+import org.example.tudubem.world.dto.WorldBuildState;
+import org.example.tudubem.world.dto.WorldBuildStatus;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// 월드 빌드 한 번의 진행 상태와 단계별 소요 시간을 기록한다.
+// 빌드 스레드가 갱신하고 상태 API가 읽으므로 모든 접근은 synchronized로 맞춘다.
+public final class WorldBuildJob {
+
+    private final long jobId;
+    private final Long mapId;
+    private final int cellSizePx;
+    private final Instant submittedAt = Instant.now();
+    private final Map<String, Long> stageMillis = new LinkedHashMap<>();
+    // 작업이 끝나면 완료되고, 실패하면 빌드에서 던진 예외로 완료된다.
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private WorldBuildState state = WorldBuildState.QUEUED;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+
+    public WorldBuildJob(long jobId, Long mapId, int cellSizePx) {
+        this.jobId = jobId;
+        this.mapId = mapId;
+        this.cellSizePx = cellSizePx;
+    }
+
+    public Long mapId() {
+        return mapId;
+    }
+
+    public int cellSizePx() {
+        return cellSizePx;
+    }
+
+    public synchronized WorldBuildState state() {
+        return state;
+    }
+
+    // work를 실행하고 걸린 시간을 name 단계로 기록한다. 같은 이름이 다시 기록되면 시간을 더한다.
+    public <T> T stage(String name, Supplier<T> work) {
+        long startedNanos = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+            synchronized (this) {
+                stageMillis.merge(name, elapsedMillis, Long::sum);
+            }
+        }
+    }
+
+    public void stage(String name, Runnable work) {
+        stage(name, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    synchronized void markRunning() {
+        state = WorldBuildState.RUNNING;
+        startedAt = Instant.now();
+    }
+
+    // 작업이 끝날 때까지 호출한 스레드를 막는다. 빌드가 실패했으면 그 예외를 그대로 던진다.
+    public void await() {
+        try {
+            completion.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    synchronized boolean isFinished() {
+        return state == WorldBuildState.DONE || state == WorldBuildState.FAILED;
+    }
+
+    synchronized void markDone() {
+        state = WorldBuildState.DONE;
+        finishedAt = Instant.now();
+        completion.complete(null);
+    }
+
+    synchronized void markFailed(RuntimeException cause) {
+        state = WorldBuildState.FAILED;
+        finishedAt = Instant.now();
+        error = cause.getMessage();
+        completion.completeExceptionally(cause);
+    }
+
+    public synchronized WorldBuildStatus status() {
+        return new WorldBuildStatus(
+                jobId,
+                mapId,
+                cellSizePx,
+                state,
+                submittedAt,
+                startedAt,
+                finishedAt,
+                new LinkedHashMap<>(stageMillis),
+                error
+        );
+    }
+}
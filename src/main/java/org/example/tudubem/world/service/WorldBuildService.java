@@ -0,0 +1,135 @@
+package org.example.tudubem.world.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tudubem.config.BlockingExecutor;
+import org.example.tudubem.world.dto.WorldBuildState;
+import org.example.tudubem.world.dto.WorldBuildStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 월드 빌드를 이벤트 루프 밖의 전용 스케줄러에서 작업 단위로 실행한다.
+// 같은 map의 빌드는 한 번에 하나만 실행하고, 아직 시작하지 않은 작업이 있으면 새 요청을 그 작업에 합친다.
+// 빌드 중에도 캐시에는 이전 번들이 남아 있다가 새 번들이 게시되는 순간 교체된다.
+@Slf4j
+@Component
+public class WorldBuildService {
+
+    private final WorldService worldService;
+    private final Scheduler scheduler;
+    private final AtomicLong jobIds = new AtomicLong();
+
+    // map별 가장 최근 작업, 실행 중인 map, 실행 중인 작업 뒤에서 기다리는 작업. 모두 this로 보호한다.
+    private final Map<Long, WorldBuildJob> latestJobs = new HashMap<>();
+    private final Set<Long> runningMapIds = new HashSet<>();
+    private final Map<Long, WorldBuildJob> pendingJobs = new HashMap<>();
+
+    @Value("${app.grid.cell-size-px:1}")
+    private int defaultCellSizePx;
+
+    public WorldBuildService(
+            WorldService worldService,
+            @Value("${app.blocking.virtual-threads:false}") boolean virtualThreads,
+            @Value("${app.world.build.threads:2}") int threads,
+            @Value("${app.world.build.queue-capacity:64}") int queueCapacity
+    ) {
+        this.worldService = worldService;
+        // 가상 스레드 모드에서도 같은 map의 빌드는 하나씩만 실행되므로 동시 빌드 수는 map 수를 넘지 않는다.
+        this.scheduler = virtualThreads
+                ? BlockingExecutor.virtualThreadScheduler("world-build-vt-")
+                : Schedulers.newBoundedElastic(threads, queueCapacity, "world-build");
+    }
+
+    @PreDestroy
+    void destroy() {
+        scheduler.dispose();
+    }
+
+    // 기본 셀 크기로 빌드를 요청한다.
+    public WorldBuildStatus submit(Long mapId) {
+        return submit(mapId, defaultCellSizePx);
+    }
+
+    // 빌드를 요청하고 작업 상태를 반환한다. 같은 설정의 대기 중인 작업이 있으면 그 작업을 그대로 반환한다.
+    // 스케줄러 대기열이 가득 차면 RejectedExecutionException을 던진다.
+    public WorldBuildStatus submit(Long mapId, int cellSizePx) {
+        return enqueue(mapId, cellSizePx).status();
+    }
+
+    // 캐시에 없는 map을 빌드하고 끝날 때까지 기다린다.
+    // 대기 중이거나 실행 중인 작업이 있으면 새로 요청하지 않고 그 작업을 기다리므로, 동시에 들어온 요청도 빌드는 한 번만 한다.
+    // 호출한 스레드를 막으므로 이벤트 루프가 아닌 곳에서만 호출한다. 빌드가 실패하면 그 예외를 던진다.
+    public void awaitBuild(Long mapId) {
+        WorldBuildJob job;
+        synchronized (this) {
+            WorldBuildJob latest = latestJobs.get(mapId);
+            job = latest != null && !latest.isFinished() ? latest : enqueue(mapId, defaultCellSizePx);
+        }
+        job.await();
+    }
+
+    // 해당 map의 가장 최근 빌드 작업 상태를 조회한다.
+    public synchronized Optional<WorldBuildStatus> status(Long mapId) {
+        return Optional.ofNullable(latestJobs.get(mapId)).map(WorldBuildJob::status);
+    }
+
+    private synchronized WorldBuildJob enqueue(Long mapId, int cellSizePx) {
+        WorldBuildJob latest = latestJobs.get(mapId);
+        if (latest != null && latest.state() == WorldBuildState.QUEUED && latest.cellSizePx() == cellSizePx) {
+            return latest;
+        }
+
+        WorldBuildJob job = new WorldBuildJob(jobIds.incrementAndGet(), mapId, cellSizePx);
+        if (runningMapIds.contains(mapId)) {
+            // 실행 중인 빌드가 끝나면 이어서 실행한다. 그 전에 들어온 요청은 이 작업에 합쳐진다.
+            pendingJobs.put(mapId, job);
+        } else {
+            start(job);
+        }
+        latestJobs.put(mapId, job);
+        return job;
+    }
+
+    private void start(WorldBuildJob job) {
+        scheduler.schedule(() -> run(job));
+        runningMapIds.add(job.mapId());
+    }
+
+    private void run(WorldBuildJob job) {
+        synchronized (this) {
+            job.markRunning();
+        }
+        try {
+            worldService.buildAndCache(job.mapId(), job.cellSizePx(), job);
+            job.markDone();
+        } catch (RuntimeException e) {
+            log.warn("World build failed: mapId={}", job.mapId(), e);
+            job.markFailed(e);
+        } finally {
+            startNext(job.mapId());
+        }
+    }
+
+    private synchronized void startNext(Long mapId) {
+        runningMapIds.remove(mapId);
+        WorldBuildJob next = pendingJobs.remove(mapId);
+        if (next == null) {
+            return;
+        }
+        try {
+            start(next);
+        } catch (RejectedExecutionException e) {
+            next.markFailed(new RejectedExecutionException("world build queue is full"));
+        }
+    }
+}
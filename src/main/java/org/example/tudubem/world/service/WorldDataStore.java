@@ -1,37 +1,291 @@
 package org.example.tudubem.world.service;
 
 import org.example.tudubem.world.dto.WorldBundle;
+import org.example.tudubem.world.dto.WorldCacheStats;
+import org.example.tudubem.world.dto.WorldPatch;
+import org.example.tudubem.world.dto.WorldUpdate;
+import org.example.tudubem.world.service.grid.CellBounds;
+import org.example.tudubem.world.service.grid.OccupancyGrid;
+import org.springframework.beans.factory.annotation.Value;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Sinks;
 
-import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+// mapId 별로 여러 WorldBundle을 동시에 보관하는 LRU 캐시.
+// 메모리 예산(max-bytes)이나 최대 개수(max-entries)를 넘으면 가장 오래 사용되지 않은 map부터 제거한다.
+// 게시할 때마다 map별 월드 버전을 1씩 올리며, 버전은 캐시에서 제거된 뒤에도 이어진다.
+// 변경 이벤트는 잠금 안에서 순번을 붙여 대기열에 넣고, 잠금을 놓은 뒤 한 번에 한 스레드만 순번대로 내보낸다.
+// 그래서 구독자 코드가 캐시 잠금을 잡은 채 실행되지 않고, 같은 map의 이벤트가 버전 순서를 벗어나지 않는다.
 public abstract class WorldDataStore {
 
-    private final Sinks.Many<Optional<WorldBundle>> worldBundleSink = Sinks.many().replay().latest();
-    private final AtomicReference<Optional<WorldBundle>> worldBundleRef = new AtomicReference<>(Optional.empty());
+    @Value("${app.world.cache.max-bytes:536870912}")
+    private long maxBytes;
 
-    @PostConstruct
-    void init() {
-        worldBundleSink.asFlux().subscribe(worldBundleRef::set);
-        worldBundleSink.emitNext(Optional.empty(), Sinks.EmitFailureHandler.FAIL_FAST);
+    @Value("${app.world.cache.max-entries:16}")
+    private int maxEntries;
+
+    // accessOrder=true 이므로 조회할 때마다 해당 map이 가장 최근 사용 위치로 이동한다.
+    // 번들은 게시한 뒤 바뀌지 않으므로 크기는 게시할 때 한 번만 계산해 함께 기록해 둔다.
+    private final LinkedHashMap<Long, CacheEntry> bundles = new LinkedHashMap<>(16, 0.75f, true);
+    private final ConcurrentMap<Long, MapSink> mapSinks = new ConcurrentHashMap<>();
+    private final Sinks.Many<WorldChange> allBundleSink = Sinks.many().replay().latest();
+    private final ConcurrentMap<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+    private long usedBytes;
+    // 내보낼 변경 이벤트. 순번은 bundles 잠금 안에서 매기므로 대기열 순서가 곧 게시 순서다.
+    private final Queue<PendingChange> pendingChanges = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger emitting = new AtomicInteger();
+    private long lastSequence;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    // 요청을 받아 캐시를 찾는 조회. 적중/미스 통계에 센다.
+    protected Optional<WorldBundle> current(Long mapId) {
+        Optional<WorldBundle> bundle = peek(mapId);
+        (bundle.isEmpty() ? misses : hits).incrementAndGet();
+        return bundle;
+    }
+
+    // 통계에 세지 않는 조회. 이미 센 요청 안에서 번들을 다시 확인하거나 게시를 재시도할 때 쓴다.
+    protected Optional<WorldBundle> peek(Long mapId) {
+        synchronized (bundles) {
+            CacheEntry entry = bundles.get(mapId);
+            return Optional.ofNullable(entry == null ? null : entry.bundle());
+        }
+    }
+
+    // 해당 mapId의 번들 변경 스트림. 구독 즉시 최신 변경(없으면 Optional.empty())을 한 번 받는다.
+    // map별 sink는 구독하는 동안만 둔다. 마지막 구독이 끝났을 때 캐시에 없는 map이면 sink를 버린다.
+    protected Flux<Optional<WorldChange>> bundleFlux(Long mapId) {
+        return Flux.defer(() -> {
+            MapSink mapSink;
+            synchronized (bundles) {
+                mapSink = sinkOf(mapId);
+                mapSink.subscribers++;
+            }
+            return mapSink.sink.asFlux().doFinally(signal -> release(mapId, mapSink));
+        });
+    }
+
+    // 모든 map의 번들 변경 스트림. 캐시에서 제거된 map은 bundle이 null인 변경으로 알린다.
+    protected Flux<WorldChange> bundleFlux() {
+        return allBundleSink.asFlux();
+    }
+
+    // bundle이 아직 캐시의 현재 번들이면 그 월드 버전을, 새 번들로 교체되었거나 제거되었으면 -1을 반환한다.
+    protected long currentVersionOf(WorldBundle worldBundle) {
+        synchronized (bundles) {
+            CacheEntry entry = bundles.get(worldBundle.mapId);
+            return entry != null && entry.bundle() == worldBundle ? versionOf(worldBundle.mapId) : -1;
+        }
+    }
+
+    // expected가 아직 현재 번들이면(null이면 캐시에 없으면) 새 번들로 교체해 게시한다(compare-and-set).
+    // 구독자는 이 변경을 받으면 전체 스냅샷을 다시 받아야 한다. 그 사이 번들이 바뀌었으면 아무것도 바꾸지 않고 false를 반환한다.
+    protected boolean publish(WorldBundle expected, WorldBundle worldBundle) {
+        synchronized (bundles) {
+            CacheEntry previous = bundles.get(worldBundle.mapId);
+            if ((previous == null ? null : previous.bundle()) != expected) {
+                return false;
+            }
+            CacheEntry entry = new CacheEntry(worldBundle, worldBundle.sizeInBytes());
+            bundles.put(worldBundle.mapId, entry);
+            if (previous != null) {
+                usedBytes -= previous.bytes();
+            }
+            usedBytes += entry.bytes();
+            enqueue(new WorldChange(worldBundle.mapId, worldBundle, nextVersion(worldBundle.mapId), null));
+            evictOverBudget(worldBundle.mapId);
+        }
+        drainChanges();
+        return true;
+    }
+
+    // previous가 아직 현재 번들이면 next로 바꾸고 dirty 영역만 패치로 게시한다(compare-and-set).
+    // dirty가 비어 있으면(팽창 레이어 추가 등 월드 내용은 그대로인 교체) 버전을 올리거나 이벤트를 보내지 않고 번들만 바꾼다.
+    // 그 사이 새 번들로 교체되었거나 캐시에서 제거되었으면 아무것도 바꾸지 않고 false를 반환한다.
+    protected boolean publishPatch(WorldBundle previous, WorldBundle next, CellBounds dirty) {
+        CellBounds clipped = dirty.clip(next.widthCells, next.heightCells);
+        OccupancyGrid cells = clipped.isEmpty() ? null : next.composite.region(clipped);
+        synchronized (bundles) {
+            CacheEntry current = bundles.get(previous.mapId);
+            if (current == null || current.bundle() != previous) {
+                return false;
+            }
+            if (next == previous) {
+                return true;
+            }
+            CacheEntry entry = new CacheEntry(next, next.sizeInBytes());
+            bundles.put(next.mapId, entry);
+            usedBytes += entry.bytes() - current.bytes();
+            if (cells != null) {
+                long version = nextVersion(next.mapId);
+                enqueue(new WorldChange(next.mapId, next, version, delta(next, version, clipped, cells)));
+            }
+            evictOverBudget(next.mapId);
+        }
+        drainChanges();
+        return true;
+    }
+
+    protected void clear(Long mapId) {
+        synchronized (bundles) {
+            CacheEntry removed = bundles.remove(mapId);
+            if (removed != null) {
+                usedBytes -= removed.bytes();
+                enqueueRemoved(mapId);
+            }
+        }
+        drainChanges();
+    }
+
+    public WorldCacheStats cacheStats() {
+        synchronized (bundles) {
+            return new WorldCacheStats(
+                    new ArrayList<>(bundles.keySet()),
+                    usedBytes,
+                    maxBytes,
+                    maxEntries,
+                    hits.get(),
+                    misses.get(),
+                    evictions.get()
+            );
+        }
+    }
+
+    // 예산을 넘는 동안 LRU 순서로 제거한다. 방금 게시한 map은 예산보다 크더라도 남겨 둔다.
+    private void evictOverBudget(Long justPublishedMapId) {
+        Iterator<Map.Entry<Long, CacheEntry>> iterator = bundles.entrySet().iterator();
+        List<Long> evicted = new ArrayList<>();
+        while ((usedBytes > maxBytes || bundles.size() > maxEntries) && iterator.hasNext()) {
+            Map.Entry<Long, CacheEntry> eldest = iterator.next();
+            if (eldest.getKey().equals(justPublishedMapId)) {
+                continue;
+            }
+            usedBytes -= eldest.getValue().bytes();
+            iterator.remove();
+            evicted.add(eldest.getKey());
+            evictions.incrementAndGet();
+        }
+        for (Long mapId : evicted) {
+            enqueueRemoved(mapId);
+        }
+    }
+
+    private long versionOf(Long mapId) {
+        AtomicLong version = versions.get(mapId);
+        return version == null ? 0 : version.get();
+    }
+
+    private long nextVersion(Long mapId) {
+        return versions.computeIfAbsent(mapId, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    private static WorldUpdate delta(WorldBundle next, long version, CellBounds clipped, OccupancyGrid cells) {
+        return new WorldUpdate(
+                next.mapId,
+                version,
+                false,
+                next.widthCells,
+                next.heightCells,
+                next.cellSizePx,
+                List.of(new WorldPatch(clipped.minX(), clipped.minY(), cells.freeze()))
+        );
+    }
+
+    // bundles 잠금 안에서만 부른다.
+    private void enqueue(WorldChange change) {
+        pendingChanges.add(new PendingChange(++lastSequence, change));
+    }
+
+    // bundles 잠금 안에서만 부른다. 구독자가 없는 map의 sink는 버리고, 다음 구독 때 현재 상태로 다시 만든다.
+    private void enqueueRemoved(Long mapId) {
+        MapSink mapSink = mapSinks.get(mapId);
+        if (mapSink != null && mapSink.subscribers == 0) {
+            mapSinks.remove(mapId);
+        }
+        enqueue(new WorldChange(mapId, null, versionOf(mapId), null));
+    }
+
+    // 대기 중인 변경을 순번대로 내보낸다. 다른 스레드가 내보내는 중이면 그 스레드가 이어서 내보내도록 맡기고 바로 돌아온다.
+    private void drainChanges() {
+        if (emitting.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            PendingChange pending;
+            while ((pending = pendingChanges.poll()) != null) {
+                deliver(pending);
+            }
+            missed = emitting.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void deliver(PendingChange pending) {
+        WorldChange change = pending.change();
+        // sink를 만들 때 이미 반영된(순번이 같거나 이른) 변경은 다시 보내지 않는다.
+        MapSink mapSink = mapSinks.get(change.mapId());
+        if (mapSink != null && pending.sequence() > mapSink.seededSequence) {
+            mapSink.sink.emitNext(Optional.ofNullable(change.bundle() == null ? null : change), Sinks.EmitFailureHandler.FAIL_FAST);
+        }
+        allBundleSink.emitNext(change, Sinks.EmitFailureHandler.FAIL_FAST);
     }
 
-    protected Optional<WorldBundle> current() {
-        return worldBundleRef.get();
+    // bundles 잠금 안에서만 부른다. 새 sink는 지금까지 게시된 상태로 시작하므로 그 순번까지의 대기 중인 변경은 건너뛴다.
+    private MapSink sinkOf(Long mapId) {
+        return mapSinks.computeIfAbsent(mapId, key -> {
+            Sinks.Many<Optional<WorldChange>> sink = Sinks.many().replay().latest();
+            CacheEntry entry = bundles.get(key);
+            sink.emitNext(
+                    Optional.ofNullable(entry == null ? null : new WorldChange(key, entry.bundle(), versionOf(key), null)),
+                    Sinks.EmitFailureHandler.FAIL_FAST
+            );
+            return new MapSink(sink, lastSequence);
+        });
     }
 
-    protected Flux<Optional<WorldBundle>> asFlux() {
-        return worldBundleSink.asFlux();
+    private void release(Long mapId, MapSink mapSink) {
+        synchronized (bundles) {
+            mapSink.subscribers--;
+            if (mapSink.subscribers == 0 && !bundles.containsKey(mapId)) {
+                mapSinks.remove(mapId, mapSink);
+            }
+        }
     }
 
-    protected void publish(WorldBundle worldBundle) {
-        worldBundleSink.emitNext(Optional.of(worldBundle), Sinks.EmitFailureHandler.FAIL_FAST);
+    // 게시된 변경. delta가 null이면 번들 전체가 바뀐 것이고, bundle이 null이면 캐시에서 제거된 것이다.
+    protected record WorldChange(Long mapId, WorldBundle bundle, long version, WorldUpdate delta) {
     }
 
-    protected void clear() {
-        worldBundleSink.emitNext(Optional.empty(), Sinks.EmitFailureHandler.FAIL_FAST);
+    private record CacheEntry(WorldBundle bundle, long bytes) {
+    }
+
+    private record PendingChange(long sequence, WorldChange change) {
+    }
+
+    // 구독 수는 bundles 잠금 안에서만 바꾼다. 구독 직전에 sink를 버리는 일이 없도록 Flux를 돌려주기 전에 센다.
+    private static final class MapSink {
+        private final Sinks.Many<Optional<WorldChange>> sink;
+        private final long seededSequence;
+        private int subscribers;
+
+        private MapSink(Sinks.Many<Optional<WorldChange>> sink, long seededSequence) {
+            this.sink = sink;
+            this.seededSequence = seededSequence;
+        }
     }
 }
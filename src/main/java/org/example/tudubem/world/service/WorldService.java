@@ -1,11 +1,21 @@
 package org.example.tudubem.world.service;
 import lombok.RequiredArgsConstructor;
+import org.example.tudubem.world.dto.ClearanceResponse;
 import org.example.tudubem.world.dto.WorldBundle;
+import org.example.tudubem.world.dto.WorldPatch;
+import org.example.tudubem.world.dto.WorldUpdate;
 import org.example.tudubem.world.WorldUtils;
 import org.example.tudubem.world.entity.KeepoutZoneEntity;
 import org.example.tudubem.world.entity.MapEntity;
+import org.example.tudubem.world.service.grid.CellBounds;
+import org.example.tudubem.world.service.grid.DistanceField;
+import org.example.tudubem.world.service.grid.DynamicObjectLayer;
 import org.example.tudubem.world.service.grid.GridMap;
 import org.example.tudubem.world.service.grid.GridMapFactory;
+import org.example.tudubem.world.service.grid.LayerIndex;
+import org.example.tudubem.world.service.grid.OccupancyGrid;
+import org.example.tudubem.world.service.grid.OccupancyStorageType;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
@@ -16,25 +26,38 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 @Component
 @RequiredArgsConstructor
 public class WorldService extends WorldDataStore {
 
+    // 팽창 레이어를 만들 수 있는 가장 큰 actor 크기. 거리 레이어가 DistanceField.MAX_DISTANCE에서 잘리므로
+    // 반경(size - 1)이 그보다 작아야 팽창 결과가 잘리지 않은 거리로 만든 것과 같다.
+    public static final int MAX_ACTOR_SIZE = DistanceField.MAX_DISTANCE;
+
     private final MapService mapService;
     private final KeepoutZoneService keepoutZoneService;
+    private final WorldSnapshotStore snapshotStore;
+    // 캐시에 없는 map의 빌드를 맡긴다. WorldBuildService가 이 서비스를 쓰므로 처음 쓸 때 찾는다.
+    private final ObjectProvider<WorldBuildService> worldBuildService;
 
-    @Value("${app.grid.cell-size-px:1}")
-    private int defaultCellSizePx;
+    @Value("${app.grid.parallel-decode:true}")
+    private boolean parallelDecode;
 
-    // 기본 셀 크기로 그리드맵을 생성하고 캐시한다.
-    public GridMap buildAndCache(Long mapId) {
-        return buildAndCache(mapId, defaultCellSizePx);
-    }
+    // 레이어를 off-heap(메모리 매핑) 저장소에 둘 mapId 목록.
+    @Value("${app.world.storage.off-heap-map-ids:}")
+    private Set<Long> offHeapMapIds;
 
-    // 지정한 셀 크기로 그리드맵을 생성하고 캐시한다.
-    public GridMap buildAndCache(Long mapId, int cellSizePx) {
-        MapEntity mapEntity = mapService.findById(mapId)
+    // 그리드맵을 생성하고 캐시한다. 단계별 소요 시간은 job에 기록한다.
+    // 같은 map의 빌드가 겹치지 않도록 WorldBuildService의 작업으로만 호출한다.
+    // 새 번들은 레이어를 모두 얼린 뒤 한 번에 게시되므로 그 전까지 조회는 이전 번들을 그대로 받는다.
+    // 빌드하는 동안 들어온 동적 객체 변경은 게시할 때 새 번들에 다시 반영하므로 잃어버리지 않는다.
+    public GridMap buildAndCache(Long mapId, int cellSizePx, WorldBuildJob job) {
+        MapEntity mapEntity = job.stage("load-map", () -> mapService.findById(mapId))
                 .orElseThrow(() -> new IllegalArgumentException("map not found: " + mapId));
 
         String sensorMapImagePath = mapEntity.getSensorMapImagePath();
@@ -42,121 +65,317 @@ public class WorldService extends WorldDataStore {
             throw new IllegalStateException("sensor map image path is empty for mapId=" + mapId);
         }
 
-        GridMap baseGridMap = GridMapFactory.create(Path.of(sensorMapImagePath), cellSizePx);
-        WorldBundle previous = current().orElse(null);
+        // 센서맵과 활성 keepout이 바뀌지 않았으면 스냅샷 파일에서 정적 레이어를 바로 읽는다.
+        Path sensorMapPath = Path.of(sensorMapImagePath);
+        List<KeepoutZoneEntity> keepoutZones = job.stage("load-keepout", () -> keepoutZoneService.findEnabledByMapId(mapId));
+        WorldSnapshotStore.Key snapshotKey = job.stage(
+                "snapshot-key",
+                () -> snapshotStore.keyOf(mapId, cellSizePx, sensorMapPath, keepoutZones)
+        );
+        WorldSnapshotStore.StaticLayers staticLayers = job.stage(
+                        "snapshot-load",
+                        () -> snapshotStore.load(snapshotKey, storageTypeOf(mapId))
+                )
+                .orElseGet(() -> {
+                    WorldSnapshotStore.StaticLayers built = job.stage(
+                            "static-layers",
+                            () -> buildStaticLayers(mapId, sensorMapPath, cellSizePx, keepoutZones)
+                    );
+                    job.stage("snapshot-save", () -> snapshotStore.save(snapshotKey, built));
+                    return built;
+                });
+        WorldBundle previous = peek(mapId).orElse(null);
 
-        List<List<Integer>> baseLayer = WorldUtils.deepCopy(baseGridMap.occupancy());
-        List<List<Integer>> keepoutLayer = buildKeepoutLayer(mapId, baseGridMap);
-        List<List<Integer>> dynamicLayer = WorldUtils.createEmptyLayer(baseGridMap.widthCells(), baseGridMap.heightCells());
+        OccupancyGrid baseLayer = staticLayers.base().freeze();
+        OccupancyGrid keepoutLayer = staticLayers.keepout().freeze();
+        int widthCells = baseLayer.width();
+        int heightCells = baseLayer.height();
+        // 같은 그리드 구성이면 기존 동적 객체를 새 번들로 옮긴다.
+        DynamicObjectLayer dynamicLayer = previous != null && previous.hasSameGridConfig(mapId, widthCells, heightCells, cellSizePx)
+                ? previous.dynamic
+                : new DynamicObjectLayer(widthCells, heightCells).freeze();
 
-        Map<String, List<Point2D.Double>> dynamicObjects = new HashMap<>();
-        if (previous != null && previous.hasSameGridConfig(
-                mapId,
-                baseGridMap.widthCells(),
-                baseGridMap.heightCells(),
-                baseGridMap.cellSizePx()
-        )) {
-            dynamicObjects.putAll(previous.dynamicObjectsInGrid);
+        OccupancyGrid compositeLayer = job.stage(
+                "composite",
+                () -> WorldUtils.combineLayers(baseLayer, keepoutLayer, dynamicLayer.occupancy()).freeze()
+        );
+        DistanceField distanceField = job.stage("distance", () -> new DistanceField(compositeLayer));
+        // 이전 번들에서 쓰던 actor 크기의 팽창 레이어는 미리 만들어 두어 첫 경로 탐색이 기다리지 않게 한다.
+        Map<Integer, OccupancyGrid> inflatedLayers = new HashMap<>();
+        if (previous != null) {
+            job.stage("inflate", () -> {
+                for (Integer radius : previous.inflated.keySet()) {
+                    inflatedLayers.put(radius, WorldUtils.inflate(distanceField, radius, compositeLayer.storageType()).freeze());
+                }
+            });
         }
-
-        List<List<Integer>> compositeLayer = WorldUtils.combineLayers(baseLayer, keepoutLayer, dynamicLayer);
         WorldBundle newBundle = new WorldBundle(
                 mapId,
-                baseGridMap.widthCells(),
-                baseGridMap.heightCells(),
-                baseGridMap.cellSizePx(),
+                widthCells,
+                heightCells,
+                cellSizePx,
                 baseLayer,
                 keepoutLayer,
                 dynamicLayer,
                 compositeLayer,
-                dynamicObjects
+                distanceField,
+                Map.copyOf(inflatedLayers),
+                Map.of()
         );
-        rebuildDynamicAndComposite(newBundle);
-        publish(newBundle);
-        return WorldUtils.toGridMap(newBundle.composite, newBundle);
+        WorldBundle published = job.stage("publish", () -> publishBuilt(previous, newBundle));
+        return WorldUtils.toGridMap(published.composite, published);
     }
 
     // 캐시된 그리드맵을 조회한다.
     public Optional<GridMap> getCached(Long mapId) {
-        Optional<WorldBundle> cached = current();
-        if (cached.isEmpty() || !cached.get().mapId.equals(mapId)) {
-            return Optional.empty();
+        return current(mapId)
+                .map(bundle -> WorldUtils.toGridMap(bundle.composite, bundle));
+    }
+
+    // 캐시된 그리드맵을 조회한다. 캐시가 없으면 빌드 작업이 끝날 때까지 기다린다.
+    public GridMap getOrBuild(Long mapId) {
+        WorldBundle bundle = ensureWorldBundle(mapId);
+        return WorldUtils.toGridMap(bundle.composite, bundle);
+    }
+
+    // actor 크기를 반영한 그리드맵을 조회한다. 캐시가 없으면 빌드 작업이 끝날 때까지 기다린다.
+    // size는 중심 셀을 포함한 셀 단위 반경이므로 size 1은 팽창 없이 합성 레이어를 그대로 쓴다.
+    // size가 MAX_ACTOR_SIZE보다 크면 IllegalArgumentException을 던진다.
+    public GridMap getForActorSize(Long mapId, int actorSize) {
+        int radius = radiusOf(actorSize);
+        WorldBundle bundle = ensureWorldBundle(mapId);
+        return WorldUtils.toGridMap(layerOf(bundle, radius), bundle);
+    }
+
+    // actor 크기를 반영한 레이어에서 만든 인덱스(HPA* 클러스터 그래프 등)를 조회한다. 캐시가 없으면 빌드 작업이 끝날 때까지 기다린다.
+    // 인덱스는 번들에 붙어 함께 캐시되고 메모리 예산에 들어가며, 월드가 캐시에서 제거되면 함께 사라진다.
+    // 처음 요청되면 factory로 만들고, 그 뒤 동적 객체 변경으로 쌓인 영역이 있으면 그 영역만 고친 인덱스로 교체한다.
+    // 만들거나 고치는 동안 잠금을 잡지 않으므로 다른 조회를 막지 않는다. 그 사이 번들이 바뀌었으면 이번 결과는 캐시하지 않는다.
+    public LayerIndex getLayerIndex(Long mapId, int actorSize, String name, Function<OccupancyGrid, LayerIndex> factory) {
+        int radius = radiusOf(actorSize);
+        WorldBundle.IndexKey key = new WorldBundle.IndexKey(name, radius);
+        WorldBundle bundle = ensureWorldBundle(mapId);
+        OccupancyGrid layer = layerOf(bundle, radius);
+        // layerOf가 팽창 레이어를 더한 번들로 교체했으면 그 번들에 인덱스를 붙인다.
+        bundle = peek(mapId).filter(latest -> latest.inflated.get(radius) == layer).orElse(bundle);
+        WorldBundle.IndexEntry entry = bundle.indexes.get(key);
+        if (entry != null && entry.pendingDirty().isEmpty()) {
+            return entry.index();
         }
-        WorldBundle bundle = cached.get();
-        return Optional.of(WorldUtils.toGridMap(bundle.composite, bundle));
+        LayerIndex index = entry == null ? factory.apply(layer) : entry.index().repair(layer, entry.pendingDirty());
+        publishPatch(bundle, bundle.withIndex(key, new WorldBundle.IndexEntry(index, List.of())), CellBounds.EMPTY);
+        return index;
     }
 
-    // 특정 mapId의 월드 번들 변경만 필터링해 GridMap 스트림으로 노출한다.
-    public Flux<GridMap> asFlux(Long mapId) {
-        return asFlux()
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .filter(bundle -> bundle.mapId.equals(mapId))
-                .map(bundle -> WorldUtils.toGridMap(bundle.composite, bundle));
+    // actor 크기를 팽창 반경으로 바꾼다. 거리 레이어가 잘리는 반경 이상은 모든 빈 셀이 막힌 것으로 보이므로 거부한다.
+    private static int radiusOf(int actorSize) {
+        if (actorSize > MAX_ACTOR_SIZE) {
+            throw new IllegalArgumentException("actor size exceeds " + MAX_ACTOR_SIZE + ": " + actorSize);
+        }
+        return Math.max(0, actorSize - 1);
     }
 
-    // 모든 mapId의 월드 번들 변경을 GridMap 스트림으로 노출한다.
-    public Flux<GridMap> gridMapFlux() {
-        return asFlux()
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .map(bundle -> WorldUtils.toGridMap(bundle.composite, bundle));
+    // 번들의 팽창 반경 radius 레이어. 처음 요청된 반경은 레이어를 더한 번들로 교체해 캐시 메모리 예산에도 반영한다.
+    // 그 사이 번들이 바뀌었으면 이번 요청에는 만든 레이어를 그대로 쓰고, 다음 요청에서 새 번들 기준으로 다시 만든다.
+    private OccupancyGrid layerOf(WorldBundle bundle, int radius) {
+        if (radius == 0) {
+            return bundle.composite;
+        }
+        OccupancyGrid inflated = bundle.inflated.get(radius);
+        if (inflated == null) {
+            inflated = WorldUtils.inflate(bundle.distance, radius, bundle.composite.storageType()).freeze();
+            publishPatch(bundle, bundle.withInflated(radius, inflated), CellBounds.EMPTY);
+        }
+        return inflated;
     }
 
-    // 캐시된 그리드맵을 제거한다.
-    public void evict(Long mapId) {
-        Optional<WorldBundle> cached = current();
-        if (cached.isPresent() && cached.get().mapId.equals(mapId)) {
-            clear();
+    // 셀 (x, y)에서 가장 가까운 점유 셀까지의 거리를 조회한다. 캐시된 월드가 없으면 빈 값을 반환한다.
+    public Optional<ClearanceResponse> getClearance(Long mapId, int x, int y) {
+        return current(mapId).map(bundle -> {
+            if (x < 0 || y < 0 || x >= bundle.widthCells || y >= bundle.heightCells) {
+                throw new IllegalArgumentException("cell out of bounds: (" + x + ", " + y + ")");
+            }
+            double distanceCells = bundle.distance.distanceAt(x, y);
+            boolean reachable = !Double.isInfinite(distanceCells);
+            return new ClearanceResponse(
+                    mapId,
+                    x,
+                    y,
+                    bundle.composite.isOccupied(x, y),
+                    reachable ? distanceCells : null,
+                    reachable ? distanceCells * bundle.cellSizePx : null,
+                    reachable && distanceCells >= DistanceField.MAX_DISTANCE
+            );
+        });
+    }
+
+    // 특정 mapId의 월드 변경을 버전이 붙은 이벤트로 노출한다.
+    // 구독 직후와 월드가 새로 빌드되었을 때는 전체 스냅샷을, 그 외에는 바뀐 영역만 담은 패치를 보낸다.
+    // 버전이 이어지지 않으면(뒤처진 구독자) 패치를 이어 붙일 수 없으므로 스냅샷을 다시 보낸다.
+    public Flux<WorldUpdate> asFlux(Long mapId) {
+        return Flux.defer(() -> {
+            AtomicLong sentVersion = new AtomicLong(-1);
+            return bundleFlux(mapId)
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .handle((change, sink) -> {
+                        if (change.version() <= sentVersion.get()) {
+                            return;
+                        }
+                        Optional<WorldUpdate> update = change.delta() != null && change.version() == sentVersion.get() + 1
+                                ? Optional.of(change.delta())
+                                : snapshot(mapId);
+                        update.ifPresent(next -> {
+                            sentVersion.set(next.version());
+                            sink.next(next);
+                        });
+                    });
+        });
+    }
+
+    // 모든 mapId의 월드 변경 스트림. 월드가 새로 빌드되면 해당 map의 스냅샷을 보낸다. 캐시에서 제거된 map은 removedFlux로 알린다.
+    public Flux<WorldUpdate> updateFlux() {
+        return bundleFlux()
+                .handle((change, sink) -> {
+                    if (change.bundle() == null) {
+                        return;
+                    }
+                    if (change.delta() != null) {
+                        sink.next(change.delta());
+                    } else {
+                        snapshot(change.mapId()).ifPresent(sink::next);
+                    }
+                });
+    }
+
+    // 캐시에서 제거된(evict 또는 메모리 예산 초과) mapId 스트림.
+    public Flux<Long> removedFlux() {
+        return bundleFlux()
+                .filter(change -> change.bundle() == null)
+                .map(WorldChange::mapId);
+    }
+
+    // 캐시된 월드 전체를 현재 버전의 스냅샷으로 만든다. 캐시가 없으면 빈 값을 반환한다.
+    // 게시된 합성 레이어는 얼려 있으므로 복사하지 않고 그대로 담는다.
+    public Optional<WorldUpdate> snapshot(Long mapId) {
+        Optional<WorldBundle> cached = peek(mapId);
+        if (cached.isEmpty()) {
+            return Optional.empty();
         }
+        WorldBundle bundle = cached.get();
+        long version = currentVersionOf(bundle);
+        if (version < 0) {
+            // 버전을 읽기 전에 다음 번들로 교체되었으면 새 번들로 다시 만든다.
+            return snapshot(mapId);
+        }
+        return Optional.of(new WorldUpdate(
+                mapId,
+                version,
+                true,
+                bundle.widthCells,
+                bundle.heightCells,
+                bundle.cellSizePx,
+                List.of(new WorldPatch(0, 0, bundle.composite))
+        ));
+    }
+
+    // 해당 mapId의 캐시된 그리드맵만 제거한다. 다른 map의 캐시는 유지된다.
+    public void evict(Long mapId) {
+        clear(mapId);
     }
 
     // 동적 객체를 추가 또는 갱신한다.
     public GridMap upsertDynamicObject(Long mapId, String objectId, String verticesJson) {
-        WorldBundle bundle = ensureWorldBundle(mapId);
         List<Point2D.Double> polygonInPixels = WorldUtils.parseVertices(verticesJson);
-        List<Point2D.Double> polygonInGrid = WorldUtils.toGridScale(polygonInPixels, bundle.cellSizePx);
-        bundle.dynamicObjectsInGrid.put(objectId, polygonInGrid);
-        rebuildDynamicAndComposite(bundle);
-        publish(bundle);
-        return WorldUtils.toGridMap(bundle.composite, bundle);
+        return updateDynamic(mapId, (dynamic, cellSizePx) ->
+                dynamic.upsert(objectId, WorldUtils.toGridScale(polygonInPixels, cellSizePx)));
     }
 
     // 동적 객체를 제거한다.
     public GridMap removeDynamicObject(Long mapId, String objectId) {
-        WorldBundle bundle = ensureWorldBundle(mapId);
-        bundle.dynamicObjectsInGrid.remove(objectId);
-        rebuildDynamicAndComposite(bundle);
-        publish(bundle);
-        return WorldUtils.toGridMap(bundle.composite, bundle);
+        return updateDynamic(mapId, (dynamic, cellSizePx) -> dynamic.remove(objectId));
     }
 
     // 동적 객체를 모두 제거한다.
     public GridMap clearDynamicObjects(Long mapId) {
-        WorldBundle bundle = ensureWorldBundle(mapId);
-        bundle.dynamicObjectsInGrid.clear();
-        rebuildDynamicAndComposite(bundle);
-        publish(bundle);
-        return WorldUtils.toGridMap(bundle.composite, bundle);
+        return updateDynamic(mapId, (dynamic, cellSizePx) -> dynamic.clear());
     }
 
-    // 요청한 mapId의 캐시가 없으면 새로 생성한다.
+    // 동적 객체 레이어의 복사본을 바꾸고 바뀐 영역만 새로 만든 다음 번들을 게시한다(compare-and-set).
+    // 읽는 쪽은 게시된 번들을 잠금 없이 그대로 쓴다. 그 사이 다른 변경이나 새 빌드로 번들이 교체되었으면 새 번들에 다시 적용한다.
+    private GridMap updateDynamic(Long mapId, BiFunction<DynamicObjectLayer, Integer, CellBounds> change) {
+        while (true) {
+            WorldBundle bundle = ensureWorldBundle(mapId);
+            DynamicObjectLayer dynamic = bundle.dynamic.copy();
+            CellBounds dirty = change.apply(dynamic, bundle.cellSizePx);
+            WorldBundle next = nextBundle(bundle, dynamic.freeze(), dirty);
+            if (publishPatch(bundle, next, dirty)) {
+                return WorldUtils.toGridMap(next.composite, next);
+            }
+        }
+    }
+
+    // 빌드한 번들을 previous 자리에 게시한다(compare-and-set).
+    // 빌드하는 동안 동적 객체가 바뀌어 번들이 교체되었으면, 최신 동적 객체 레이어와 달라진 영역만 새 번들에 다시 반영해 다시 시도한다.
+    private WorldBundle publishBuilt(WorldBundle previous, WorldBundle built) {
+        WorldBundle expected = previous;
+        WorldBundle next = built;
+        while (!publish(expected, next)) {
+            expected = peek(built.mapId).orElse(null);
+            if (expected != null && expected.hasSameGridConfig(built.mapId, built.widthCells, built.heightCells, built.cellSizePx)) {
+                CellBounds dirty = built.dynamic.occupancy().changedBounds(expected.dynamic.occupancy());
+                next = nextBundle(built, expected.dynamic, dirty);
+            } else {
+                next = built;
+            }
+        }
+        return next;
+    }
+
+    // 요청한 mapId의 캐시가 없으면 빌드 작업을 요청하고 끝날 때까지 기다린다.
+    // 빌드는 WorldBuildService가 map별로 하나씩만 실행하므로, 동시에 캐시를 놓친 요청들도 같은 작업을 기다린다.
     private WorldBundle ensureWorldBundle(Long mapId) {
-        Optional<WorldBundle> cached = current();
-        if (cached.isEmpty() || !cached.get().mapId.equals(mapId)) {
-            buildAndCache(mapId);
+        Optional<WorldBundle> cached = current(mapId);
+        if (cached.isPresent()) {
+            return cached.get();
         }
-        return current()
-                .orElseThrow(() -> new IllegalStateException("world bundle cache is empty"));
+        worldBuildService.getObject().awaitBuild(mapId);
+        return peek(mapId)
+                .orElseThrow(() -> new IllegalStateException("world bundle cache is empty: mapId=" + mapId));
+    }
+
+    // 센서맵을 디코딩하고 활성화된 keepout 영역을 래스터화해 정적 레이어를 만든다.
+    private WorldSnapshotStore.StaticLayers buildStaticLayers(
+            Long mapId,
+            Path sensorMapPath,
+            int cellSizePx,
+            List<KeepoutZoneEntity> keepoutZones
+    ) {
+        GridMap baseGridMap = GridMapFactory.create(
+                sensorMapPath,
+                cellSizePx,
+                GridMapFactory.DEFAULT_OCCUPIED_THRESHOLD_GRAY,
+                parallelDecode
+        );
+        OccupancyStorageType storageType = storageTypeOf(mapId);
+        OccupancyGrid baseLayer = WorldUtils.deepCopy(baseGridMap.occupancy(), storageType);
+        return new WorldSnapshotStore.StaticLayers(baseLayer, buildKeepoutLayer(keepoutZones, baseGridMap, storageType));
     }
 
     // 활성화된 keepout 영역을 레이어로 변환한다.
-    private List<List<Integer>> buildKeepoutLayer(Long mapId, GridMap baseGridMap) {
+    private OccupancyGrid buildKeepoutLayer(
+            List<KeepoutZoneEntity> keepoutZones,
+            GridMap baseGridMap,
+            OccupancyStorageType storageType
+    ) {
         // keepout 레이어 초기화
-        List<List<Integer>> keepoutLayer = WorldUtils.createEmptyLayer(baseGridMap.widthCells(), baseGridMap.heightCells());
+        OccupancyGrid keepoutLayer = WorldUtils.createEmptyLayer(
+                baseGridMap.widthCells(),
+                baseGridMap.heightCells(),
+                storageType
+        );
 
         // keepout 계산
-        List<KeepoutZoneEntity> keepoutZones = keepoutZoneService.findEnabledByMapId(mapId);
         for (KeepoutZoneEntity zone : keepoutZones) {
             List<Point2D.Double> polygonInPixels = WorldUtils.parseVertices(zone.getVerticesJson());
             List<Point2D.Double> polygonInGrid = WorldUtils.toGridScale(polygonInPixels, baseGridMap.cellSizePx());
@@ -165,19 +384,57 @@ public class WorldService extends WorldDataStore {
         return keepoutLayer;
     }
 
-    // 동적 레이어와 최종 합성 레이어를 다시 계산한다.
-    private void rebuildDynamicAndComposite(WorldBundle bundle) {
-
-        // 다이나믹 레이어 초기화
-        List<List<Integer>> dynamicLayer = WorldUtils.createEmptyLayer(bundle.widthCells, bundle.heightCells);
+    // 설정된 map의 정적/합성/팽창 레이어와 거리 레이어는 off-heap 저장소에 둔다. 동적 객체 레이어는 작아서 힙에 둔다.
+    private OccupancyStorageType storageTypeOf(Long mapId) {
+        return offHeapMapIds.contains(mapId) ? OccupancyStorageType.OFF_HEAP : OccupancyStorageType.HEAP;
+    }
 
-        // 다이나믹 객체 재계산
-        for (List<Point2D.Double> polygon : bundle.dynamicObjectsInGrid.values()) {
-            WorldUtils.overlayPolygonAsOccupied(dynamicLayer, polygon);
+    // 동적 객체 변경으로 바뀔 수 있는 영역만 합성 레이어, 거리 레이어, 팽창 레이어에 다시 반영한 다음 번들을 만든다.
+    // 인덱스는 여기서 고치지 않고 바뀐 영역만 쌓아 두어, 동적 객체를 바꾸는 쪽이 인덱스 계산을 기다리지 않게 한다.
+    // 각 레이어는 이전 번들과 블록을 공유하는 복사본에서 시작하므로 바뀐 블록만 새로 할당된다.
+    // dirty가 비어 있으면 점유 상태는 그대로이므로 동적 객체 레이어만 바꾸고 나머지 레이어는 그대로 공유한다.
+    private WorldBundle nextBundle(WorldBundle bundle, DynamicObjectLayer dynamic, CellBounds dirty) {
+        if (dirty.isEmpty()) {
+            return new WorldBundle(
+                    bundle.mapId,
+                    bundle.widthCells,
+                    bundle.heightCells,
+                    bundle.cellSizePx,
+                    bundle.base,
+                    bundle.keepout,
+                    dynamic,
+                    bundle.composite,
+                    bundle.distance,
+                    bundle.inflated,
+                    bundle.indexes
+            );
         }
-
-        bundle.dynamic = dynamicLayer;
-        bundle.composite = WorldUtils.combineLayers(bundle.base, bundle.keepout, bundle.dynamic);
+        OccupancyGrid composite = bundle.composite.copy();
+        WorldUtils.combineLayers(composite, bundle.base, bundle.keepout, dynamic.occupancy(), dirty);
+        composite.freeze();
+        DistanceField distance = bundle.distance.copy();
+        distance.update(composite, dirty);
+        Map<Integer, OccupancyGrid> inflatedLayers = new HashMap<>();
+        bundle.inflated.forEach((radius, layer) -> {
+            OccupancyGrid inflated = layer.copy();
+            WorldUtils.inflate(inflated, distance, radius, dirty.expand(radius));
+            inflatedLayers.put(radius, inflated.freeze());
+        });
+        Map<WorldBundle.IndexKey, WorldBundle.IndexEntry> indexes = new HashMap<>();
+        bundle.indexes.forEach((key, entry) -> indexes.put(key, entry.withDirty(dirty.expand(key.radius()))));
+        return new WorldBundle(
+                bundle.mapId,
+                bundle.widthCells,
+                bundle.heightCells,
+                bundle.cellSizePx,
+                bundle.base,
+                bundle.keepout,
+                dynamic,
+                composite,
+                distance,
+                Map.copyOf(inflatedLayers),
+                Map.copyOf(indexes)
+        );
     }
 
 }
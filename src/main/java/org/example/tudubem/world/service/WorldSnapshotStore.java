@@ -0,0 +1,211 @@
+package org.example.tudubem.world.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.tudubem.world.entity.KeepoutZoneEntity;
+import org.example.tudubem.world.service.grid.GridMapFactory;
+import org.example.tudubem.world.service.grid.OccupancyGrid;
+import org.example.tudubem.world.service.grid.OccupancyStorageType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+// 빌드한 정적 레이어(base, keepout)를 map별 바이너리 스냅샷 파일로 저장하고 다시 읽는다.
+// 센서맵 파일 해시와 활성 keepout 해시가 그대로면 PNG 디코딩과 폴리곤 래스터화를 건너뛰고 파일을 메모리 매핑해 읽는다.
+//
+// 파일 형식(big-endian):
+//   int magic "TDGS", int formatVersion, long mapId, int widthCells, int heightCells, int cellSizePx,
+//   int occupiedThresholdGray, byte[32] 센서맵 SHA-256, byte[32] keepout SHA-256,
+//   long[] base 비트셋 워드, long[] keepout 비트셋 워드 (OccupancyGrid 행 정렬 배치 그대로)
+@Slf4j
+@Component
+public class WorldSnapshotStore {
+
+    private static final int MAGIC = 0x54444753;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HASH_BYTES = 32;
+    // 헤더 뒤의 워드 영역이 8바이트 경계에서 시작하도록 헤더 크기는 8의 배수로 둔다.
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 * 4 + HASH_BYTES * 2;
+
+    @Value("${app.world.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.world.snapshot.dir:./data/map-snapshot}")
+    private String snapshotDir;
+
+    // 스냅샷 유효성을 판단하는 값. 해시는 16진수 문자열이다.
+    public record Key(Long mapId, int cellSizePx, String sourceHash, String keepoutHash) {
+    }
+
+    public record StaticLayers(OccupancyGrid base, OccupancyGrid keepout) {
+    }
+
+    // 스냅샷을 쓰지 않거나 센서맵 해시를 구할 수 없으면 null을 반환한다. null 키로는 load/save가 아무것도 하지 않는다.
+    public Key keyOf(Long mapId, int cellSizePx, Path sensorMapImagePath, List<KeepoutZoneEntity> keepoutZones) {
+        if (!enabled || !Files.isRegularFile(sensorMapImagePath)) {
+            return null;
+        }
+        try {
+            MessageDigest sourceDigest = sha256();
+            try (InputStream in = Files.newInputStream(sensorMapImagePath)) {
+                byte[] chunk = new byte[64 * 1024];
+                int read;
+                while ((read = in.read(chunk)) > 0) {
+                    sourceDigest.update(chunk, 0, read);
+                }
+            }
+            MessageDigest keepoutDigest = sha256();
+            keepoutZones.stream()
+                    .sorted(Comparator.comparing(KeepoutZoneEntity::getId))
+                    .forEach(zone -> keepoutDigest.update(
+                            (zone.getId() + "\n" + zone.getVerticesJson() + "\n").getBytes(StandardCharsets.UTF_8)
+                    ));
+            HexFormat hex = HexFormat.of();
+            return new Key(mapId, cellSizePx, hex.formatHex(sourceDigest.digest()), hex.formatHex(keepoutDigest.digest()));
+        } catch (IOException e) {
+            log.warn("Failed to hash sensor map for snapshot: mapId={}, path={}", mapId, sensorMapImagePath, e);
+            return null;
+        }
+    }
+
+    // 키가 모두 일치하는 스냅샷이 있으면 storageType 저장소의 레이어로 읽어 온다.
+    // 파일이 없거나 맞지 않거나 손상되었으면 빈 값을 반환한다.
+    public Optional<StaticLayers> load(Key key, OccupancyStorageType storageType) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        Path file = fileOf(key.mapId());
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES) {
+                return Optional.empty();
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                return Optional.empty();
+            }
+            long mapId = buffer.getLong();
+            int widthCells = buffer.getInt();
+            int heightCells = buffer.getInt();
+            int cellSizePx = buffer.getInt();
+            int occupiedThresholdGray = buffer.getInt();
+            byte[] sourceHash = new byte[HASH_BYTES];
+            byte[] keepoutHash = new byte[HASH_BYTES];
+            buffer.get(sourceHash);
+            buffer.get(keepoutHash);
+
+            HexFormat hex = HexFormat.of();
+            if (mapId != key.mapId()
+                    || cellSizePx != key.cellSizePx()
+                    || occupiedThresholdGray != GridMapFactory.DEFAULT_OCCUPIED_THRESHOLD_GRAY
+                    || !hex.formatHex(sourceHash).equals(key.sourceHash())
+                    || !hex.formatHex(keepoutHash).equals(key.keepoutHash())) {
+                return Optional.empty();
+            }
+
+            // 헤더의 크기로 레이어를 할당하기 전에 파일 길이가 그 크기와 정확히 맞는지 먼저 확인한다.
+            if (widthCells < 0 || heightCells < 0 || fileSize != fileSizeOf(widthCells, heightCells)) {
+                log.warn("Ignoring truncated world snapshot: {}", file);
+                return Optional.empty();
+            }
+            OccupancyGrid base = new OccupancyGrid(widthCells, heightCells, storageType);
+            OccupancyGrid keepout = new OccupancyGrid(widthCells, heightCells, storageType);
+            LongBuffer words = buffer.asLongBuffer();
+            base.copyWordsFrom(words);
+            keepout.copyWordsFrom(words);
+            return Optional.of(new StaticLayers(base, keepout));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to read world snapshot: {}", file, e);
+            return Optional.empty();
+        }
+    }
+
+    // 같은 디렉터리의 고유한 임시 파일에 쓴 뒤 원자적으로 교체한다. 저장에 실패해도 월드 빌드는 계속된다.
+    // 임시 파일 이름이 저장마다 달라 같은 map을 동시에 저장해도 서로의 파일을 덮어쓰지 않는다.
+    public void save(Key key, StaticLayers layers) {
+        if (key == null) {
+            return;
+        }
+        Path file = fileOf(key.mapId());
+        OccupancyGrid base = layers.base();
+        OccupancyGrid keepout = layers.keepout();
+        long fileSize = fileSizeOf(base.width(), base.height());
+        Path temp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            temp = Files.createTempFile(file.getParent(), file.getFileName() + ".", ".tmp");
+            try (FileChannel channel = FileChannel.open(
+                    temp,
+                    StandardOpenOption.READ,
+                    StandardOpenOption.WRITE
+            )) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+                HexFormat hex = HexFormat.of();
+                buffer.putInt(MAGIC)
+                        .putInt(FORMAT_VERSION)
+                        .putLong(key.mapId())
+                        .putInt(base.width())
+                        .putInt(base.height())
+                        .putInt(key.cellSizePx())
+                        .putInt(GridMapFactory.DEFAULT_OCCUPIED_THRESHOLD_GRAY)
+                        .put(hex.parseHex(key.sourceHash()))
+                        .put(hex.parseHex(key.keepoutHash()));
+                LongBuffer words = buffer.asLongBuffer();
+                base.copyWordsTo(words);
+                keepout.copyWordsTo(words);
+                buffer.force();
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to write world snapshot: {}", file, e);
+            deleteQuietly(temp);
+        }
+    }
+
+    // 헤더와 두 레이어의 워드를 합친 파일 길이.
+    private static long fileSizeOf(int widthCells, int heightCells) {
+        long wordsPerRow = (widthCells + 63L) >>> 6;
+        return HEADER_BYTES + 2L * wordsPerRow * heightCells * Long.BYTES;
+    }
+
+    private static void deleteQuietly(Path temp) {
+        if (temp == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary world snapshot: {}", temp, e);
+        }
+    }
+
+    private Path fileOf(Long mapId) {
+        return Path.of(snapshotDir).resolve("map-" + mapId + ".grid").normalize();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package org.example.tudubem.world.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.tudubem.world.dto.WorldPatch;
+import org.example.tudubem.world.dto.WorldUpdate;
+import org.example.tudubem.world.service.grid.CellBounds;
+import org.example.tudubem.world.service.grid.OccupancyGrid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// 캐시된 월드를 256x256 PNG 타일(slippy map 방식 z/x/y)로 잘라 보낸다.
+// 가장 큰 zoom이 셀 1개 = 1픽셀이고 zoom이 1 줄 때마다 가로세로 2배씩 축소한다. 축소 픽셀은 덮는 셀 중 하나라도 점유면 점유로 그린다.
+// 타일 (0, 0)은 지도의 좌상단이며(기존 PNG 이미지와 같이 y축이 위쪽), 지도 밖 픽셀은 점유(검정)로 채운다.
+// 렌더링한 타일은 map 전체가 함께 쓰는 LRU 캐시에 두고, 월드가 바뀌면 바뀐 영역을 덮는 타일만 지운다.
+// 새로 빌드된 월드(keepout 변경 등)는 직전 스냅샷과 비교해 실제로 바뀐 영역만 지운다.
+// 월드 캐시에서 제거된 map은 비교 기준 스냅샷과 타일을 모두 버린다.
+@Service
+public class WorldTileService {
+
+    public static final int TILE_SIZE = 256;
+
+    private final WorldService worldService;
+    private final OccupancyPngEncoder pngEncoder;
+
+    // accessOrder=true 이므로 조회할 때마다 해당 타일이 가장 최근 사용 위치로 이동한다.
+    private final LinkedHashMap<TileKey, Tile> tiles = new LinkedHashMap<>(256, 0.75f, true);
+    // map별로 캐시가 반영한 월드 버전과 비교 기준 스냅샷. tiles 잠금 안에서만 읽고 쓴다.
+    private final Map<Long, MapTiles> maps = new HashMap<>();
+    private Disposable subscription;
+    private long usedBytes;
+
+    @Value("${app.world.tiles.cache-max-bytes:33554432}")
+    private long maxBytes;
+
+    public WorldTileService(WorldService worldService, OccupancyPngEncoder pngEncoder) {
+        this.worldService = worldService;
+        this.pngEncoder = pngEncoder;
+    }
+
+    @PostConstruct
+    void init() {
+        // 전체 비교는 맵 크기에 비례하므로 월드를 게시하는 스레드가 아닌 별도 스레드에서 순서대로 처리한다.
+        subscription = Disposables.composite(
+                worldService.updateFlux()
+                        .publishOn(Schedulers.single())
+                        .subscribe(this::invalidate),
+                worldService.removedFlux()
+                        .publishOn(Schedulers.single())
+                        .subscribe(this::drop)
+        );
+    }
+
+    @PreDestroy
+    void destroy() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    // 렌더링하지 않고 캐시에 있는 타일만 조회한다. 이벤트 루프에서 바로 호출해도 된다.
+    public Optional<Tile> cachedTile(Long mapId, int z, int x, int y) {
+        Optional<WorldUpdate> snapshot = worldService.snapshot(mapId);
+        if (snapshot.isEmpty()) {
+            return Optional.empty();
+        }
+        synchronized (tiles) {
+            MapTiles state = maps.get(mapId);
+            if (state == null || state.version < snapshot.get().version()) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(tiles.get(new TileKey(mapId, z, x, y)));
+        }
+    }
+
+    // 타일을 조회하고, 캐시에 없으면 렌더링한다. 렌더링은 CPU를 쓰므로 이벤트 루프 밖에서 호출한다.
+    // 캐시된 월드가 없거나 zoom/좌표가 범위를 벗어나면 빈 값을 반환한다.
+    // ETag는 타일을 렌더링한 월드 버전으로 만들므로 그 영역이 바뀌기 전까지는 버전이 올라도 그대로 유지된다.
+    public Optional<Tile> tile(Long mapId, int z, int x, int y) {
+        Optional<WorldUpdate> snapshot = worldService.snapshot(mapId);
+        if (snapshot.isEmpty()) {
+            return Optional.empty();
+        }
+        WorldUpdate world = snapshot.get();
+        OccupancyGrid grid = world.patches().get(0).cells();
+        int maxZoom = maxZoom(grid.width(), grid.height());
+        if (z < 0 || z > maxZoom || x < 0 || y < 0) {
+            return Optional.empty();
+        }
+        int span = TILE_SIZE << (maxZoom - z);
+        if (x >= ceilDiv(grid.width(), span) || y >= ceilDiv(grid.height(), span)) {
+            return Optional.empty();
+        }
+
+        TileKey key = new TileKey(mapId, z, x, y);
+        synchronized (tiles) {
+            MapTiles state = maps.computeIfAbsent(mapId, id -> new MapTiles(grid, world.version()));
+            // 캐시가 아직 이 버전의 변경을 반영하지 못했으면 캐시된 타일이 오래되었을 수 있다.
+            if (state.version >= world.version()) {
+                Tile cached = tiles.get(key);
+                if (cached != null) {
+                    return Optional.of(cached);
+                }
+            }
+        }
+
+        Tile rendered = new Tile(
+                "\"" + mapId + "-" + z + "-" + x + "-" + y + "-v" + world.version() + "\"",
+                render(grid, maxZoom - z, x, y)
+        );
+        synchronized (tiles) {
+            MapTiles state = maps.get(mapId);
+            if (state != null && state.version == world.version()) {
+                Tile previous = tiles.put(key, rendered);
+                usedBytes += rendered.png().length - (previous == null ? 0 : previous.png().length);
+                evictOverBudget();
+            }
+        }
+        return Optional.of(rendered);
+    }
+
+    // 가장 큰 zoom. 그 zoom에서는 셀 1개가 1픽셀이며, zoom 0은 지도 전체가 타일 하나에 들어간다.
+    public static int maxZoom(int widthCells, int heightCells) {
+        int zoom = 0;
+        while ((long) TILE_SIZE << zoom < Math.max(widthCells, heightCells)) {
+            zoom++;
+        }
+        return zoom;
+    }
+
+    // 월드 변경 이벤트마다 바뀐 영역을 덮는 타일을 지운다.
+    private void invalidate(WorldUpdate update) {
+        synchronized (tiles) {
+            MapTiles state = maps.get(update.mapId());
+            // 아직 타일을 요청받지 않은 map은 지울 타일이 없다. 기준 스냅샷은 첫 요청 때 잡는다.
+            if (state == null) {
+                return;
+            }
+            if (update.version() <= state.version) {
+                return;
+            }
+            state.version = update.version();
+            if (!update.snapshot()) {
+                for (WorldPatch patch : update.patches()) {
+                    CellBounds bounds = new CellBounds(
+                            patch.x(),
+                            patch.y(),
+                            patch.x() + patch.cells().width() - 1,
+                            patch.y() + patch.cells().height() - 1
+                    );
+                    state.patchedSinceSnapshot = state.patchedSinceSnapshot.union(bounds);
+                    removeTiles(update.mapId(), bounds);
+                }
+                return;
+            }
+            // 새 빌드는 직전 스냅샷과 비교한다. 그 뒤 패치로 바뀌었던 영역은 새 빌드에서 되돌려졌을 수 있으므로 함께 지운다.
+            OccupancyGrid grid = update.patches().get(0).cells();
+            CellBounds dirty = state.snapshot.hasSameSize(grid)
+                    ? state.snapshot.changedBounds(grid).union(state.patchedSinceSnapshot)
+                    : null;
+            state.snapshot = grid;
+            state.patchedSinceSnapshot = CellBounds.EMPTY;
+            if (dirty == null || !dirty.isEmpty()) {
+                removeTiles(update.mapId(), dirty);
+            }
+        }
+    }
+
+    // 캐시에서 제거된 map의 비교 기준 스냅샷과 타일을 버린다. 다시 빌드되면 첫 요청 때 기준을 새로 잡는다.
+    private void drop(Long mapId) {
+        synchronized (tiles) {
+            removeTiles(mapId, null);
+            maps.remove(mapId);
+        }
+    }
+
+    // dirty 영역과 겹치는 해당 map의 타일을 지운다. dirty가 null이면 map의 타일을 모두 지운다.
+    private void removeTiles(Long mapId, CellBounds dirty) {
+        Iterator<Map.Entry<TileKey, Tile>> iterator = tiles.entrySet().iterator();
+        MapTiles state = maps.get(mapId);
+        while (iterator.hasNext()) {
+            Map.Entry<TileKey, Tile> entry = iterator.next();
+            TileKey key = entry.getKey();
+            if (!key.mapId().equals(mapId)) {
+                continue;
+            }
+            if (dirty == null || state == null || key.cellBounds(state.snapshot).intersects(dirty)) {
+                usedBytes -= entry.getValue().png().length;
+                iterator.remove();
+            }
+        }
+    }
+
+    private void evictOverBudget() {
+        Iterator<Tile> iterator = tiles.values().iterator();
+        while (usedBytes > maxBytes && iterator.hasNext()) {
+            usedBytes -= iterator.next().png().length;
+            iterator.remove();
+        }
+    }
+
+    // zoom 차이(shift)만큼 축소한 타일을 1비트 PNG로 그린다.
+    // 축소 픽셀 한 줄에 해당하는 셀 행들을 워드 단위 OR로 합친 뒤 픽셀마다 구간 안에 점유 비트가 있는지 본다.
+    private byte[] render(OccupancyGrid grid, int shift, int tileX, int tileY) {
+        int scale = 1 << shift;
+        int span = TILE_SIZE << shift;
+        int originX = tileX * span;
+        int originRow = tileY * span;
+        int width = grid.width();
+        int height = grid.height();
+        int firstWord = originX >>> 6;
+        int lastWord = Math.min(grid.wordsPerRow() - 1, (int) (((long) originX + span - 1) >>> 6));
+
+        return pngEncoder.encodeBilevel(TILE_SIZE, TILE_SIZE, (py, out, offset) -> {
+            // 지도 밖 픽셀은 0(검정)으로 남는다.
+            Arrays.fill(out, offset, offset + TILE_SIZE / 8, (byte) 0);
+            int firstRow = originRow + py * scale;
+            if (firstRow >= height) {
+                return;
+            }
+            long[] rowBits = new long[lastWord - firstWord + 1];
+            for (int row = firstRow; row < Math.min(height, firstRow + scale); row++) {
+                // 이미지 행은 위에서부터, 그리드 행은 아래에서부터 센다.
+                int y = height - 1 - row;
+                for (int w = firstWord; w <= lastWord; w++) {
+                    rowBits[w - firstWord] |= grid.word(y, w);
+                }
+            }
+            for (int px = 0; px < TILE_SIZE; px++) {
+                int fromX = originX + px * scale;
+                if (fromX >= width) {
+                    break;
+                }
+                if (!anyBit(rowBits, fromX - (firstWord << 6), Math.min(width, fromX + scale) - (firstWord << 6))) {
+                    out[offset + (px >>> 3)] |= (byte) (0x80 >>> (px & 7));
+                }
+            }
+        });
+    }
+
+    // [from, to) 비트 구간에 1인 비트가 있는지 확인한다.
+    private static boolean anyBit(long[] words, int from, int to) {
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (firstWord == lastWord) {
+            return (words[firstWord] & firstMask & lastMask) != 0;
+        }
+        if ((words[firstWord] & firstMask) != 0) {
+            return true;
+        }
+        for (int w = firstWord + 1; w < lastWord; w++) {
+            if (words[w] != 0) {
+                return true;
+            }
+        }
+        return (words[lastWord] & lastMask) != 0;
+    }
+
+    private static int ceilDiv(int value, int divisor) {
+        return (value + divisor - 1) / divisor;
+    }
+
+    public record Tile(String etag, byte[] png) {
+    }
+
+    private record TileKey(Long mapId, int z, int x, int y) {
+
+        // 타일이 덮는 셀 영역. 지도 밖 부분도 포함한다.
+        CellBounds cellBounds(OccupancyGrid grid) {
+            int span = TILE_SIZE << (maxZoom(grid.width(), grid.height()) - z);
+            int topRow = y * span;
+            return new CellBounds(
+                    x * span,
+                    grid.height() - topRow - span,
+                    x * span + span - 1,
+                    grid.height() - 1 - topRow
+            );
+        }
+    }
+
+    private static final class MapTiles {
+        private OccupancyGrid snapshot;
+        private long version;
+        private CellBounds patchedSinceSnapshot = CellBounds.EMPTY;
+
+        private MapTiles(OccupancyGrid snapshot, long version) {
+            this.snapshot = snapshot;
+            this.version = version;
+        }
+    }
+}
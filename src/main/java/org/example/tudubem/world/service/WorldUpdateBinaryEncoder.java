@@ -0,0 +1,165 @@
+package org.example.tudubem.world.service;
+
+import org.example.tudubem.world.dto.WorldPatch;
+import org.example.tudubem.world.dto.WorldUpdate;
+import org.example.tudubem.world.service.grid.OccupancyGrid;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.Deflater;
+
+// 월드 변경(WorldUpdate)을 JSON 대신 비트 단위로 압축한 바이너리로 인코딩한다. 바이트 순서는 little-endian이다.
+//
+// 헤더(32 bytes):
+//   int32 magic 'TGM1', int64 version, int32 widthCells, int32 heightCells, int32 cellSizePx,
+//   byte snapshot(0/1), byte compression, byte[2] 0, int32 patchCount
+// 패치마다:
+//   int32 x, int32 y, int32 width, int32 height, int32 bodyLength, 본문(compression별)
+//   NONE    행 우선 비트맵. 행마다 ceil(width / 8) 바이트, 셀 x는 바이트 x / 8의 (x % 8)번째 비트(LSB 먼저).
+//   RLE     행 우선으로 이어 붙인 셀 열을 비점유부터 번갈아 가며 run 길이(unsigned LEB128 varint)로 적는다.
+//   DEFLATE NONE 비트맵을 zlib(deflate)으로 압축한 값.
+// 좌표 원점은 JSON과 같이 좌하단이며 y = 0 행이 먼저 온다.
+public final class WorldUpdateBinaryEncoder {
+
+    public static final int MAGIC = 0x314D4754;
+    public static final int HEADER_BYTES = 32;
+    public static final int PATCH_HEADER_BYTES = 20;
+
+    public enum Compression {
+        NONE,
+        RLE,
+        DEFLATE;
+
+        // 미디어 타입의 compression 파라미터 값으로 고른다. 비어 있으면 NONE이다.
+        public static Compression parse(String value) {
+            if (value == null || value.isBlank()) {
+                return NONE;
+            }
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private WorldUpdateBinaryEncoder() {
+    }
+
+    public static byte[] encode(WorldUpdate update, Compression compression) {
+        List<byte[]> bodies = new ArrayList<>(update.patches().size());
+        int length = HEADER_BYTES;
+        for (WorldPatch patch : update.patches()) {
+            byte[] body = encodeCells(patch.cells(), compression);
+            bodies.add(body);
+            length += PATCH_HEADER_BYTES + body.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC)
+                .putLong(update.version())
+                .putInt(update.widthCells())
+                .putInt(update.heightCells())
+                .putInt(update.cellSizePx())
+                .put((byte) (update.snapshot() ? 1 : 0))
+                .put((byte) compression.ordinal())
+                .put(new byte[2])
+                .putInt(update.patches().size());
+        for (int i = 0; i < bodies.size(); i++) {
+            WorldPatch patch = update.patches().get(i);
+            byte[] body = bodies.get(i);
+            buffer.putInt(patch.x())
+                    .putInt(patch.y())
+                    .putInt(patch.cells().width())
+                    .putInt(patch.cells().height())
+                    .putInt(body.length)
+                    .put(body);
+        }
+        return buffer.array();
+    }
+
+    private static byte[] encodeCells(OccupancyGrid cells, Compression compression) {
+        return switch (compression) {
+            case NONE -> packBits(cells);
+            case RLE -> runLengths(cells);
+            case DEFLATE -> deflate(packBits(cells));
+        };
+    }
+
+    // 비트셋 워드를 행마다 little-endian 바이트로 풀어 행 경계를 바이트에 맞춘다.
+    private static byte[] packBits(OccupancyGrid occupancy) {
+        int width = occupancy.width();
+        int height = occupancy.height();
+        int rowBytes = (width + 7) >>> 3;
+        byte[] bits = new byte[Math.multiplyExact(rowBytes, height)];
+        for (int y = 0; y < height; y++) {
+            int offset = y * rowBytes;
+            for (int w = 0; w < occupancy.wordsPerRow(); w++) {
+                long word = occupancy.word(y, w);
+                int byteIndex = w << 3;
+                for (int b = 0; b < Long.BYTES && byteIndex + b < rowBytes; b++) {
+                    bits[offset + byteIndex + b] = (byte) (word >>> (b << 3));
+                }
+            }
+            // 너비가 8의 배수가 아니면 마지막 바이트의 남는 비트는 0이다.
+            int tailBits = width & 7;
+            if (tailBits != 0) {
+                bits[offset + rowBytes - 1] &= (byte) ((1 << tailBits) - 1);
+            }
+        }
+        return bits;
+    }
+
+    // 워드 단위로 현재 상태와 다른 첫 비트를 찾아 run을 센다.
+    private static byte[] runLengths(OccupancyGrid occupancy) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int width = occupancy.width();
+        boolean current = false;
+        long run = 0;
+        for (int y = 0; y < occupancy.height(); y++) {
+            for (int w = 0; w < occupancy.wordsPerRow(); w++) {
+                long word = occupancy.word(y, w);
+                int bitsInWord = Math.min(Long.SIZE, width - (w << 6));
+                int position = 0;
+                while (position < bitsInWord) {
+                    long changed = (current ? ~word : word) >>> position;
+                    int same = changed == 0 ? Long.SIZE - position : Long.numberOfTrailingZeros(changed);
+                    int taken = Math.min(same, bitsInWord - position);
+                    run += taken;
+                    position += taken;
+                    if (position < bitsInWord) {
+                        writeVarint(out, run);
+                        current = !current;
+                        run = 0;
+                    }
+                }
+            }
+        }
+        writeVarint(out, run);
+        return out.toByteArray();
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 8));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(chunk);
+                out.write(chunk, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+}
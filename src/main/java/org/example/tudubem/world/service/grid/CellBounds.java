@@ -0,0 +1,67 @@
+package org.example.tudubem.world.service.grid;
+
+// 셀 좌표 기준 사각 영역. min/max 모두 포함(inclusive)하며 min > max 이면 빈 영역이다.
+public record CellBounds(
+        int minX,
+        int minY,
+        int maxX,
+        int maxY
+) {
+    public static final CellBounds EMPTY = new CellBounds(0, 0, -1, -1);
+
+    public boolean isEmpty() {
+        return minX > maxX || minY > maxY;
+    }
+
+    public int width() {
+        return isEmpty() ? 0 : maxX - minX + 1;
+    }
+
+    public int height() {
+        return isEmpty() ? 0 : maxY - minY + 1;
+    }
+
+    public boolean contains(int x, int y) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY;
+    }
+
+    public boolean intersects(CellBounds other) {
+        return !isEmpty() && !other.isEmpty()
+                && minX <= other.maxX && other.minX <= maxX
+                && minY <= other.maxY && other.minY <= maxY;
+    }
+
+    public CellBounds union(CellBounds other) {
+        if (other == null || other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+        return new CellBounds(
+                Math.min(minX, other.minX),
+                Math.min(minY, other.minY),
+                Math.max(maxX, other.maxX),
+                Math.max(maxY, other.maxY)
+        );
+    }
+
+    // 사방으로 margin 셀만큼 넓힌다. 빈 영역은 그대로 둔다.
+    public CellBounds expand(int margin) {
+        if (isEmpty()) {
+            return this;
+        }
+        return new CellBounds(minX - margin, minY - margin, maxX + margin, maxY + margin);
+    }
+
+    // width x height 그리드 범위로 잘라낸다.
+    public CellBounds clip(int width, int height) {
+        CellBounds clipped = new CellBounds(
+                Math.max(0, minX),
+                Math.max(0, minY),
+                Math.min(width - 1, maxX),
+                Math.min(height - 1, maxY)
+        );
+        return clipped.isEmpty() ? EMPTY : clipped;
+    }
+}
@@ -0,0 +1,216 @@
+package org.example.tudubem.world.service.grid;
+
+import java.util.Arrays;
+
+// 점유 그리드의 유클리드 거리 변환(EDT) 레이어. 셀마다 가장 가까운 점유 셀까지의 거리 제곱(셀 중심 기준)을 보관한다.
+// Felzenszwalb & Huttenlocher 방식으로 열 방향 1차원 거리를 구한 뒤, 행마다 포물선 하한 포락선을 만들어 선형 시간에 계산한다.
+// 두 단계가 분리되어 있으므로 점유가 바뀌면 바뀐 열만 다시 계산하고, 그 결과 세로 거리가 달라진 행만 다시 합친다.
+// 두 단계 결과는 타일 단위 copy-on-write 배열에 두므로, copy()한 뒤 갱신해도 바뀐 타일만 새로 할당된다.
+// 셀당 3바이트(세로 거리 1바이트, 거리 제곱 2바이트)만 쓰도록 거리를 MAX_DISTANCE 셀에서 자른다.
+// 두 결과는 입력 그리드와 같은 종류의 저장소(힙 또는 off-heap)에 둔다.
+// 포락선의 값이 MAX_DISTANCE 제곱보다 작으면 잘린 열 값을 쓰지 않은 것이므로, 그보다 가까운 거리는 자르지 않은 값과 같다.
+public final class DistanceField {
+
+    // 점유 셀이 하나도 없어 거리를 정할 수 없는 셀의 값.
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    // 이 거리(셀) 이상은 모두 이 값으로 본다. 팽창 반경과 여유 거리 조회에는 이보다 먼 거리가 필요 없다.
+    public static final int MAX_DISTANCE = 254;
+
+    private static final int MAX_SQUARED = MAX_DISTANCE * MAX_DISTANCE;
+    // 세로 거리 레이어에서 열에 점유 셀이 없음을 나타내는 값.
+    private static final int EMPTY_COLUMN = 0xFF;
+    // 거리 제곱 레이어에서 UNREACHABLE을 나타내는 값.
+    private static final int UNREACHABLE_SQUARED = 0xFFFF;
+
+    private final int width;
+    private final int height;
+    // 1단계 결과: 같은 열에서 가장 가까운 점유 셀까지의 세로 거리(MAX_DISTANCE에서 자름, 8비트).
+    private final PackedTileGrid columnDistance;
+    // 최종 결과: 가장 가까운 점유 셀까지의 거리 제곱(MAX_DISTANCE 제곱에서 자름, 16비트).
+    private final PackedTileGrid squared;
+
+    public DistanceField(OccupancyGrid grid) {
+        this.width = grid.width();
+        this.height = grid.height();
+        this.columnDistance = new PackedTileGrid(width, height, Byte.SIZE, grid.storageType());
+        this.squared = new PackedTileGrid(width, height, Short.SIZE, grid.storageType());
+        int[] column = new int[height];
+        for (int x = 0; x < width; x++) {
+            computeColumn(grid, x, column);
+            for (int y = 0; y < height; y++) {
+                columnDistance.set(x, y, column[y]);
+            }
+        }
+        RowEnvelope envelope = new RowEnvelope(width);
+        int[] rowIn = new int[width];
+        int[] rowOut = new int[width];
+        for (int y = 0; y < height; y++) {
+            columnDistance.getRow(y, rowIn);
+            envelope.computeRow(rowIn, rowOut);
+            squared.setRow(y, rowOut);
+        }
+    }
+
+    private DistanceField(DistanceField source) {
+        this.width = source.width;
+        this.height = source.height;
+        this.columnDistance = source.columnDistance.copy();
+        this.squared = source.squared.copy();
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    // 거리 제곱. MAX_DISTANCE 이상 떨어진 셀은 MAX_DISTANCE의 제곱이다.
+    public int squaredAt(int x, int y) {
+        int value = squared.get(x, y);
+        return value == UNREACHABLE_SQUARED ? UNREACHABLE : value;
+    }
+
+    // 가장 가까운 점유 셀까지의 거리(셀 단위). 점유 셀이 없으면 양의 무한대, MAX_DISTANCE 이상이면 MAX_DISTANCE다.
+    public double distanceAt(int x, int y) {
+        int value = squaredAt(x, y);
+        return value == UNREACHABLE ? Double.POSITIVE_INFINITY : Math.sqrt(value);
+    }
+
+    // 타일을 공유하는 복사본. 게시된 거리 레이어는 바꾸지 않고 복사본을 갱신해 다음 버전을 만든다.
+    public DistanceField copy() {
+        return new DistanceField(this);
+    }
+
+    // grid의 dirty 영역이 바뀌었을 때 거리를 갱신하고, 거리가 바뀐 행 범위를 반환한다.
+    // dirty 열을 전부 다시 계산한 뒤, 세로 거리가 하나라도 달라진 행만 가로 방향으로 다시 합친다.
+    public CellBounds update(OccupancyGrid grid, CellBounds dirty) {
+        CellBounds clipped = dirty.clip(width, height);
+        if (clipped.isEmpty()) {
+            return CellBounds.EMPTY;
+        }
+        boolean[] changedRows = new boolean[height];
+        int[] column = new int[height];
+        for (int x = clipped.minX(); x <= clipped.maxX(); x++) {
+            computeColumn(grid, x, column);
+            for (int y = 0; y < height; y++) {
+                if (columnDistance.get(x, y) != column[y]) {
+                    columnDistance.set(x, y, column[y]);
+                    changedRows[y] = true;
+                }
+            }
+        }
+
+        RowEnvelope envelope = new RowEnvelope(width);
+        int[] rowIn = new int[width];
+        int[] rowOut = new int[width];
+        int[] previous = new int[width];
+        int minRow = height;
+        int maxRow = -1;
+        for (int y = 0; y < height; y++) {
+            if (!changedRows[y]) {
+                continue;
+            }
+            columnDistance.getRow(y, rowIn);
+            envelope.computeRow(rowIn, rowOut);
+            squared.getRow(y, previous);
+            // 결과가 같은 행은 쓰지 않아 공유 중인 타일을 복사하지 않는다.
+            if (!Arrays.equals(previous, rowOut)) {
+                squared.setRow(y, rowOut);
+                minRow = Math.min(minRow, y);
+                maxRow = Math.max(maxRow, y);
+            }
+        }
+        return maxRow < 0 ? CellBounds.EMPTY : new CellBounds(0, minRow, width - 1, maxRow);
+    }
+
+    public long sizeInBytes() {
+        return columnDistance.sizeInBytes() + squared.sizeInBytes();
+    }
+
+    // 한 열을 위/아래로 훑어 가장 가까운 점유 셀까지의 세로 거리를 MAX_DISTANCE에서 잘라 구한다.
+    private void computeColumn(OccupancyGrid grid, int x, int[] column) {
+        int last = -1;
+        for (int y = 0; y < height; y++) {
+            if (grid.isOccupied(x, y)) {
+                last = y;
+                column[y] = 0;
+            } else {
+                column[y] = last < 0 ? EMPTY_COLUMN : Math.min(MAX_DISTANCE, y - last);
+            }
+        }
+        last = -1;
+        for (int y = height - 1; y >= 0; y--) {
+            if (column[y] == 0) {
+                last = y;
+            } else if (last >= 0) {
+                column[y] = Math.min(column[y], Math.min(MAX_DISTANCE, last - y));
+            }
+        }
+    }
+
+    private static int square(int value) {
+        return value * value;
+    }
+
+    // 한 행의 f(q) + (x - q)^2 포물선들의 하한 포락선을 구하는 작업 배열.
+    // 입력은 열마다 잘린 세로 거리이고, 출력은 MAX_DISTANCE 제곱에서 자른 거리 제곱(없으면 UNREACHABLE_SQUARED)이다.
+    private static final class RowEnvelope {
+        private final int[] f;
+        private final int[] sites;
+        private final double[] boundaries;
+
+        private RowEnvelope(int width) {
+            this.f = new int[width];
+            this.sites = new int[width];
+            this.boundaries = new double[width + 1];
+        }
+
+        private void computeRow(int[] columnDistance, int[] out) {
+            int width = sites.length;
+            for (int q = 0; q < width; q++) {
+                f[q] = columnDistance[q] == EMPTY_COLUMN ? UNREACHABLE : square(columnDistance[q]);
+            }
+            int k = -1;
+            for (int q = 0; q < width; q++) {
+                if (f[q] == UNREACHABLE) {
+                    continue;
+                }
+                if (k < 0) {
+                    k = 0;
+                    sites[0] = q;
+                    boundaries[0] = Double.NEGATIVE_INFINITY;
+                    boundaries[1] = Double.POSITIVE_INFINITY;
+                    continue;
+                }
+                double s = intersection(f, sites[k], q);
+                while (s <= boundaries[k]) {
+                    k--;
+                    s = intersection(f, sites[k], q);
+                }
+                k++;
+                sites[k] = q;
+                boundaries[k] = s;
+                boundaries[k + 1] = Double.POSITIVE_INFINITY;
+            }
+            if (k < 0) {
+                Arrays.fill(out, UNREACHABLE_SQUARED);
+                return;
+            }
+            int j = 0;
+            for (int q = 0; q < width; q++) {
+                while (boundaries[j + 1] < q) {
+                    j++;
+                }
+                long distance = (long) (q - sites[j]) * (q - sites[j]) + f[sites[j]];
+                out[q] = (int) Math.min(MAX_SQUARED, distance);
+            }
+        }
+
+        // 두 포물선 f(p) + (x - p)^2, f(q) + (x - q)^2 가 만나는 x 좌표 (p < q).
+        private static double intersection(int[] f, int p, int q) {
+            return ((f[q] + (double) q * q) - (f[p] + (double) p * p)) / (2.0 * (q - p));
+        }
+    }
+}
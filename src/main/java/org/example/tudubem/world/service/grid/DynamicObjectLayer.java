@@ -0,0 +1,184 @@
+package org.example.tudubem.world.service.grid;
+
+import java.awt.geom.Point2D;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 동적 객체(이동 장애물) 레이어.
+// 셀마다 덮고 있는 객체 수(reference count)를 세어, 객체 하나를 갱신할 때 그 객체가 덮던/덮을 셀만 건드린다.
+// 참조 수는 64x64 타일 단위로 필요할 때만 할당해 넓은 맵에서도 메모리를 아낀다.
+// 복사는 참조 수 타일과 점유 블록을 공유하는 copy-on-write이며, freeze()한 레이어는 게시된 번들에서 잠금 없이 함께 읽는다.
+public final class DynamicObjectLayer {
+
+    private static final int TILE_SHIFT = 6;
+    private static final int TILE_SIZE = 1 << TILE_SHIFT;
+    private static final int TILE_MASK = TILE_SIZE - 1;
+
+    private final int width;
+    private final int height;
+    private final int tilesX;
+    private final char[][] refCountTiles;
+    // 이 레이어만 참조하는 타일이면 true. false인 타일은 다른 복사본과 공유 중이므로 쓰기 전에 복사한다.
+    private final boolean[] ownedTiles;
+    private final OccupancyGrid occupancy;
+    private final Map<String, DynamicObject> objects;
+    private boolean frozen;
+
+    public DynamicObjectLayer(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.tilesX = (width + TILE_MASK) >>> TILE_SHIFT;
+        int tilesY = (height + TILE_MASK) >>> TILE_SHIFT;
+        this.refCountTiles = new char[tilesX * tilesY][];
+        this.ownedTiles = new boolean[refCountTiles.length];
+        this.occupancy = new OccupancyGrid(width, height);
+        this.objects = new LinkedHashMap<>();
+    }
+
+    private DynamicObjectLayer(DynamicObjectLayer source) {
+        this.width = source.width;
+        this.height = source.height;
+        this.tilesX = source.tilesX;
+        Arrays.fill(source.ownedTiles, false);
+        this.refCountTiles = source.refCountTiles.clone();
+        this.ownedTiles = new boolean[refCountTiles.length];
+        this.occupancy = source.occupancy.copy();
+        this.objects = new LinkedHashMap<>(source.objects);
+    }
+
+    // 타일과 블록을 공유하는 변경 가능한 복사본. 얼린 레이어의 복사본도 변경할 수 있다.
+    public DynamicObjectLayer copy() {
+        return new DynamicObjectLayer(this);
+    }
+
+    // 더 이상 바꿀 수 없게 얼린다. 점유 레이어도 함께 얼린다.
+    public DynamicObjectLayer freeze() {
+        frozen = true;
+        occupancy.freeze();
+        return this;
+    }
+
+    // 참조 수가 1 이상인 셀이 점유(1)로 표시된 레이어.
+    public OccupancyGrid occupancy() {
+        return occupancy;
+    }
+
+    public Map<String, List<Point2D.Double>> polygons() {
+        Map<String, List<Point2D.Double>> polygons = new LinkedHashMap<>();
+        for (Map.Entry<String, DynamicObject> entry : objects.entrySet()) {
+            polygons.put(entry.getKey(), entry.getValue().polygonInGrid());
+        }
+        return Collections.unmodifiableMap(polygons);
+    }
+
+    public int objectCount() {
+        return objects.size();
+    }
+
+    // 객체를 추가하거나 교체하고, 점유 상태가 바뀔 수 있는 영역(이전/새 폴리곤 범위의 합)을 반환한다.
+    public CellBounds upsert(String objectId, List<Point2D.Double> polygonInGrid) {
+        requireWritable();
+        CellBounds dirty = remove(objectId);
+        CellBounds bounds = PolygonRasterizer.bounds(polygonInGrid, width, height);
+        int[] cells = PolygonRasterizer.cells(polygonInGrid, width, height);
+        for (int cell : cells) {
+            increment(cell % width, cell / width);
+        }
+        objects.put(objectId, new DynamicObject(polygonInGrid, bounds, cells));
+        return dirty.union(bounds);
+    }
+
+    // 객체를 제거하고, 점유 상태가 바뀔 수 있는 영역을 반환한다. 없는 객체면 빈 영역을 반환한다.
+    public CellBounds remove(String objectId) {
+        requireWritable();
+        DynamicObject removed = objects.remove(objectId);
+        if (removed == null) {
+            return CellBounds.EMPTY;
+        }
+        for (int cell : removed.cells()) {
+            decrement(cell % width, cell / width);
+        }
+        return removed.bounds();
+    }
+
+    // 모든 객체를 제거하고, 기존 객체들이 덮던 영역 전체를 반환한다.
+    public CellBounds clear() {
+        CellBounds dirty = CellBounds.EMPTY;
+        for (String objectId : List.copyOf(objects.keySet())) {
+            dirty = dirty.union(remove(objectId));
+        }
+        return dirty;
+    }
+
+    public long sizeInBytes() {
+        long bytes = occupancy.sizeInBytes();
+        for (char[] tile : refCountTiles) {
+            if (tile != null) {
+                bytes += (long) tile.length * Character.BYTES;
+            }
+        }
+        for (DynamicObject object : objects.values()) {
+            bytes += (long) object.cells().length * Integer.BYTES + 32L * object.polygonInGrid().size();
+        }
+        return bytes;
+    }
+
+    private void increment(int x, int y) {
+        char[] tile = tileOf(x, y, true);
+        int offset = tileOffset(x, y);
+        if (tile[offset] == Character.MAX_VALUE) {
+            throw new IllegalStateException("too many dynamic objects overlap cell (" + x + ", " + y + ")");
+        }
+        if (tile[offset]++ == 0) {
+            occupancy.set(x, y);
+        }
+    }
+
+    private void decrement(int x, int y) {
+        char[] tile = tileOf(x, y, false);
+        int offset = tileOffset(x, y);
+        if (tile == null || tile[offset] == 0) {
+            return;
+        }
+        if (--tile[offset] == 0) {
+            occupancy.clear(x, y);
+        }
+    }
+
+    // 쓰기용 타일을 반환한다. 다른 복사본과 공유 중인 타일은 복사해 이 레이어 것으로 만든다.
+    private char[] tileOf(int x, int y, boolean create) {
+        int tileIndex = (y >>> TILE_SHIFT) * tilesX + (x >>> TILE_SHIFT);
+        char[] tile = refCountTiles[tileIndex];
+        if (tile == null && !create) {
+            return null;
+        }
+        if (tile == null) {
+            tile = new char[TILE_SIZE * TILE_SIZE];
+        } else if (!ownedTiles[tileIndex]) {
+            tile = tile.clone();
+        }
+        refCountTiles[tileIndex] = tile;
+        ownedTiles[tileIndex] = true;
+        return tile;
+    }
+
+    private void requireWritable() {
+        if (frozen) {
+            throw new IllegalStateException("dynamic object layer is frozen");
+        }
+    }
+
+    private int tileOffset(int x, int y) {
+        return ((y & TILE_MASK) << TILE_SHIFT) | (x & TILE_MASK);
+    }
+
+    private record DynamicObject(
+            List<Point2D.Double> polygonInGrid,
+            CellBounds bounds,
+            int[] cells
+    ) {
+    }
+}
@@ -2,8 +2,6 @@ package org.example.tudubem.world.service.grid;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 
-import java.util.List;
-
 public record GridMap(
         // 가로 셀 개수
         @Schema(description = "가로 셀 개수", example = "256")
@@ -15,7 +13,7 @@ public record GridMap(
         @Schema(description = "1셀을 구성하는 픽셀 크기", example = "4")
         int cellSizePx,
         // 점유 그리드(0=비점유, 1=점유), 원점은 좌하단 기준
-        @Schema(description = "점유 그리드(0=비점유, 1=점유), 원점은 좌하단 기준")
-        List<List<Integer>> occupancy
+        @Schema(description = "점유 그리드(0=비점유, 1=점유), 원점은 좌하단 기준", type = "array", example = "[[0,0,1],[0,1,1]]")
+        OccupancyGrid occupancy
 ) {
 }
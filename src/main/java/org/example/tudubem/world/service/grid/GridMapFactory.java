@@ -1,26 +1,45 @@
 package org.example.tudubem.world.service.grid;
 
 import javax.imageio.ImageIO;
+import java.awt.color.ColorSpace;
 import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.PixelInterleavedSampleModel;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.stream.IntStream;
 
+// 센서맵 이미지를 셀 단위 점유 그리드로 변환한다.
+// 픽셀마다 getRGB를 호출하지 않고 래스터의 원본 데이터(byte/int)를 행 단위로 읽어 회색조로 바꾼 뒤,
+// 셀 하나에 속한 픽셀들의 최솟값(min-pool)이 임계값 이하이면 점유로 본다.
 public class GridMapFactory {
 
+    // 회색조 값이 이 값 이하인 픽셀을 점유로 본다.
+    public static final int DEFAULT_OCCUPIED_THRESHOLD_GRAY = 127;
+
+    // 병렬 변환 시 작업 하나가 맡는 셀 행 수.
+    private static final int ROWS_PER_TASK = 16;
+
     public static GridMap create(Path sensorMapImagePath, int cellSizePx) {
-        return create(sensorMapImagePath, cellSizePx, 127);
+        return create(sensorMapImagePath, cellSizePx, DEFAULT_OCCUPIED_THRESHOLD_GRAY);
     }
 
     public static GridMap create(Path sensorMapImagePath, int cellSizePx, int occupiedThresholdGray) {
-        if (cellSizePx <= 0) {
-            throw new IllegalArgumentException("cellSizePx must be greater than 0");
-        }
-        if (occupiedThresholdGray < 0 || occupiedThresholdGray > 255) {
-            throw new IllegalArgumentException("occupiedThresholdGray must be between 0 and 255");
-        }
+        return create(sensorMapImagePath, cellSizePx, occupiedThresholdGray, false);
+    }
+
+    // parallel이면 셀 행 묶음을 공용 ForkJoinPool에 나눠 변환한다. 셀 행마다 다른 비트셋 워드를 쓰므로 결과는 같다.
+    public static GridMap create(Path sensorMapImagePath, int cellSizePx, int occupiedThresholdGray, boolean parallel) {
+        validateOptions(cellSizePx, occupiedThresholdGray);
         if (sensorMapImagePath == null || !Files.exists(sensorMapImagePath)) {
             throw new IllegalArgumentException("sensor map image does not exist: " + sensorMapImagePath);
         }
@@ -34,48 +53,167 @@ public class GridMapFactory {
         if (image == null) {
             throw new IllegalStateException("unsupported image format: " + sensorMapImagePath);
         }
+        return create(image, cellSizePx, occupiedThresholdGray, parallel);
+    }
 
+    public static GridMap create(BufferedImage image, int cellSizePx, int occupiedThresholdGray, boolean parallel) {
+        validateOptions(cellSizePx, occupiedThresholdGray);
         int imageWidth = image.getWidth();
         int imageHeight = image.getHeight();
         int widthCells = (int) Math.ceil((double) imageWidth / cellSizePx);
         int heightCells = (int) Math.ceil((double) imageHeight / cellSizePx);
 
-        List<List<Integer>> occupancy = new ArrayList<>(heightCells);
-        for (int gridY = 0; gridY < heightCells; gridY++) {
-            List<Integer> row = new ArrayList<>(widthCells);
-            for (int gridX = 0; gridX < widthCells; gridX++) {
-                row.add(isOccupiedCell(image, gridX, gridY, cellSizePx, occupiedThresholdGray) ? 1 : 0);
-            }
-            occupancy.add(row);
+        OccupancyGrid occupancy = new OccupancyGrid(widthCells, heightCells);
+        GrayRowReader reader = grayRowReader(image);
+        int taskCount = (heightCells + ROWS_PER_TASK - 1) / ROWS_PER_TASK;
+        IntStream tasks = IntStream.range(0, taskCount);
+        if (parallel) {
+            tasks = tasks.parallel();
         }
+        tasks.forEach(task -> {
+            int fromGridY = task * ROWS_PER_TASK;
+            int toGridY = Math.min(heightCells, fromGridY + ROWS_PER_TASK);
+            fillCellRows(reader, occupancy, imageWidth, imageHeight, cellSizePx, occupiedThresholdGray, fromGridY, toGridY);
+        });
 
         return new GridMap(widthCells, heightCells, cellSizePx, occupancy);
     }
 
-    private static boolean isOccupiedCell(
-            BufferedImage image,
-            int gridX,
-            int gridY,
+    private static void validateOptions(int cellSizePx, int occupiedThresholdGray) {
+        if (cellSizePx <= 0) {
+            throw new IllegalArgumentException("cellSizePx must be greater than 0");
+        }
+        if (occupiedThresholdGray < 0 || occupiedThresholdGray > 255) {
+            throw new IllegalArgumentException("occupiedThresholdGray must be between 0 and 255");
+        }
+    }
+
+    // [fromGridY, toGridY) 셀 행을 채운다. 그리드 y축은 이미지 아래쪽에서 시작한다.
+    private static void fillCellRows(
+            GrayRowReader reader,
+            OccupancyGrid occupancy,
+            int imageWidth,
+            int imageHeight,
             int cellSizePx,
-            int occupiedThresholdGray
+            int occupiedThresholdGray,
+            int fromGridY,
+            int toGridY
     ) {
-        int startX = gridX * cellSizePx;
-        int startY = gridY * cellSizePx;
-        int endX = Math.min(startX + cellSizePx, image.getWidth());
-        int endY = Math.min(startY + cellSizePx, image.getHeight());
-
-        for (int y = startY; y < endY; y++) {
-            for (int x = startX; x < endX; x++) {
-                int rgb = image.getRGB(x, image.getHeight() - 1 - y);
-                int r = (rgb >> 16) & 0xFF;
-                int g = (rgb >> 8) & 0xFF;
-                int b = rgb & 0xFF;
-                int gray = (r + g + b) / 3;
-                if (gray <= occupiedThresholdGray) {
-                    return true;
+        int widthCells = occupancy.width();
+        int[] gray = new int[imageWidth];
+        int[] cellMin = new int[widthCells];
+        for (int gridY = fromGridY; gridY < toGridY; gridY++) {
+            Arrays.fill(cellMin, 255);
+            int startY = gridY * cellSizePx;
+            int endY = Math.min(startY + cellSizePx, imageHeight);
+            for (int y = startY; y < endY; y++) {
+                reader.read(imageHeight - 1 - y, gray);
+                // 행을 한 번 훑으며 셀마다 픽셀 최솟값을 누적한다.
+                for (int gridX = 0, x = 0; gridX < widthCells; gridX++) {
+                    int endX = Math.min(x + cellSizePx, imageWidth);
+                    int min = cellMin[gridX];
+                    for (; x < endX; x++) {
+                        min = Math.min(min, gray[x]);
+                    }
+                    cellMin[gridX] = min;
+                }
+            }
+            for (int gridX = 0; gridX < widthCells; gridX++) {
+                if (cellMin[gridX] <= occupiedThresholdGray) {
+                    occupancy.set(gridX, gridY);
+                }
+            }
+        }
+    }
+
+    // 이미지 한 행(imageY, 위쪽이 0)을 회색조 (r + g + b) / 3 값으로 읽는다. getRGB와 같은 sRGB 기준 값이다.
+    @FunctionalInterface
+    private interface GrayRowReader {
+        void read(int imageY, int[] gray);
+    }
+
+    private static GrayRowReader grayRowReader(BufferedImage image) {
+        Raster raster = image.getRaster();
+        SampleModel sampleModel = raster.getSampleModel();
+        ColorModel colorModel = image.getColorModel();
+        int width = image.getWidth();
+        boolean straightAlpha = !colorModel.isAlphaPremultiplied();
+        boolean sRgb = colorModel.getColorSpace().isCS_sRGB();
+
+        // TYPE_INT_RGB / TYPE_INT_ARGB 처럼 int 하나에 채널이 packed 된 경우
+        if (raster.getDataBuffer() instanceof DataBufferInt buffer
+                && buffer.getNumBanks() == 1
+                && sampleModel instanceof SinglePixelPackedSampleModel packed
+                && colorModel instanceof DirectColorModel direct
+                && sRgb && straightAlpha
+                && direct.getRedMask() == 0xFF0000 && direct.getGreenMask() == 0xFF00 && direct.getBlueMask() == 0xFF) {
+            int[] data = buffer.getData();
+            int scanlineStride = packed.getScanlineStride();
+            int baseOffset = buffer.getOffset()
+                    - raster.getSampleModelTranslateY() * scanlineStride
+                    - raster.getSampleModelTranslateX();
+            return (imageY, gray) -> {
+                int offset = baseOffset + imageY * scanlineStride;
+                for (int x = 0; x < width; x++) {
+                    int rgb = data[offset + x];
+                    gray[x] = (((rgb >> 16) & 0xFF) + ((rgb >> 8) & 0xFF) + (rgb & 0xFF)) / 3;
+                }
+            };
+        }
+
+        // TYPE_3BYTE_BGR / TYPE_4BYTE_ABGR 및 PNG의 RGB(A) 8비트 interleaved 래스터
+        if (raster.getDataBuffer() instanceof DataBufferByte buffer
+                && buffer.getNumBanks() == 1
+                && sampleModel instanceof PixelInterleavedSampleModel interleaved
+                && colorModel instanceof ComponentColorModel
+                && colorModel.getColorSpace().getType() == ColorSpace.TYPE_RGB
+                && sRgb && straightAlpha
+                && colorModel.getNumColorComponents() == 3
+                && Arrays.stream(sampleModel.getSampleSize()).allMatch(bits -> bits == 8)) {
+            byte[] data = buffer.getData();
+            int[] bandOffsets = interleaved.getBandOffsets();
+            int redOffset = bandOffsets[0];
+            int greenOffset = bandOffsets[1];
+            int blueOffset = bandOffsets[2];
+            int pixelStride = interleaved.getPixelStride();
+            int scanlineStride = interleaved.getScanlineStride();
+            int baseOffset = buffer.getOffset()
+                    - raster.getSampleModelTranslateY() * scanlineStride
+                    - raster.getSampleModelTranslateX() * pixelStride;
+            return (imageY, gray) -> {
+                int offset = baseOffset + imageY * scanlineStride;
+                for (int x = 0; x < width; x++, offset += pixelStride) {
+                    gray[x] = ((data[offset + redOffset] & 0xFF)
+                            + (data[offset + greenOffset] & 0xFF)
+                            + (data[offset + blueOffset] & 0xFF)) / 3;
                 }
+            };
+        }
+
+        // 회색조/팔레트 이미지처럼 밴드가 하나이고 8비트 이하이면, 샘플 값별 회색조를 미리 표로 만들어 둔다.
+        if (raster.getNumBands() == 1 && sampleModel.getSampleSize(0) <= 8) {
+            int[] lookup = new int[1 << sampleModel.getSampleSize(0)];
+            for (int sample = 0; sample < lookup.length; sample++) {
+                int rgb = colorModel.getRGB(sample);
+                lookup[sample] = (((rgb >> 16) & 0xFF) + ((rgb >> 8) & 0xFF) + (rgb & 0xFF)) / 3;
             }
+            int minX = raster.getMinX();
+            int minY = raster.getMinY();
+            return (imageY, gray) -> {
+                raster.getSamples(minX, minY + imageY, width, 1, 0, gray);
+                for (int x = 0; x < width; x++) {
+                    gray[x] = lookup[gray[x]];
+                }
+            };
         }
-        return false;
+
+        // 그 밖의 형식은 행 단위 getRGB로 읽는다.
+        return (imageY, gray) -> {
+            image.getRGB(0, imageY, width, 1, gray, 0, width);
+            for (int x = 0; x < width; x++) {
+                int rgb = gray[x];
+                gray[x] = (((rgb >> 16) & 0xFF) + ((rgb >> 8) & 0xFF) + (rgb & 0xFF)) / 3;
+            }
+        };
     }
 }
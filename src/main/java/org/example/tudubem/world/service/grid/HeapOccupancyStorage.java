@@ -0,0 +1,78 @@
+package org.example.tudubem.world.service.grid;
+
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+// long[] 블록 기반 힙 저장소.
+final class HeapOccupancyStorage implements OccupancyStorage {
+
+    private final int length;
+    private final long[][] blocks;
+    // 이 저장소만 참조하는 블록이면 true. false인 블록은 다른 복사본과 공유 중이므로 쓰기 전에 복사한다.
+    private final boolean[] owned;
+
+    HeapOccupancyStorage(int length) {
+        this.length = length;
+        this.blocks = new long[OccupancyStorage.blockCount(length)][];
+        this.owned = new boolean[blocks.length];
+        for (int block = 0; block < blocks.length; block++) {
+            blocks[block] = new long[OccupancyStorage.blockLength(length, block)];
+            owned[block] = true;
+        }
+    }
+
+    private HeapOccupancyStorage(int length, long[][] blocks) {
+        this.length = length;
+        this.blocks = blocks;
+        this.owned = new boolean[blocks.length];
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public long get(int index) {
+        return blocks[index >>> BLOCK_SHIFT][index & BLOCK_MASK];
+    }
+
+    @Override
+    public void set(int index, long value) {
+        int block = index >>> BLOCK_SHIFT;
+        if (!owned[block]) {
+            blocks[block] = blocks[block].clone();
+            owned[block] = true;
+        }
+        blocks[block][index & BLOCK_MASK] = value;
+    }
+
+    @Override
+    public OccupancyStorage copy() {
+        Arrays.fill(owned, false);
+        return new HeapOccupancyStorage(length, blocks.clone());
+    }
+
+    @Override
+    public void copyTo(LongBuffer buffer) {
+        for (long[] block : blocks) {
+            buffer.put(block);
+        }
+    }
+
+    @Override
+    public void copyFrom(LongBuffer buffer) {
+        for (int block = 0; block < blocks.length; block++) {
+            if (!owned[block]) {
+                blocks[block] = new long[blocks[block].length];
+                owned[block] = true;
+            }
+            buffer.get(blocks[block]);
+        }
+    }
+
+    @Override
+    public OccupancyStorageType type() {
+        return OccupancyStorageType.HEAP;
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.tudubem.world.service.grid;
+
+import java.util.List;
+
+// 얼린 점유 레이어에서 만든 읽기 전용 파생 자료(HPA* 클러스터 그래프 등). 번들에 붙어 함께 캐시된다.
+// 만든 뒤에는 바꾸지 않으며, 레이어가 바뀌면 바뀐 영역만 다시 계산한 새 인덱스를 만든다.
+public interface LayerIndex {
+
+    // 이 인덱스를 만든 레이어에서 dirty 영역들만 바뀐 layer에 맞춘 새 인덱스를 반환한다. 영역은 그리드 밖으로 넘칠 수 있다.
+    LayerIndex repair(OccupancyGrid layer, List<CellBounds> dirty);
+
+    // 캐시 메모리 예산 계산용 대략적인 크기. 레이어 자체는 번들이 따로 계산하므로 뺀다.
+    long sizeInBytes();
+}
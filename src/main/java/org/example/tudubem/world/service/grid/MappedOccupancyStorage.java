@@ -0,0 +1,133 @@
+package org.example.tudubem.world.service.grid;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// 임시 파일을 FileChannel.map으로 매핑한 off-heap 저장소.
+// 매핑 직후 파일을 지우므로(지원하는 OS에서) 디스크에 남지 않고, 매핑은 버퍼가 GC될 때 해제된다.
+// 페이지는 OS가 관리하므로 GC 대상 힙 크기와 무관하게 큰 맵을 올릴 수 있다. 매핑 하나는 2GB(약 170억 셀)까지다.
+// 블록은 매핑을 잘라 낸 슬라이스이고, 복사본에서 새로 쓰는 블록은 direct 버퍼(역시 힙 밖)에 복사해 둔다.
+final class MappedOccupancyStorage implements OccupancyStorage {
+
+    private final int length;
+    private final LongBuffer[] blocks;
+    // 이 저장소만 참조하는 블록이면 true. false인 블록은 다른 복사본과 공유 중이므로 쓰기 전에 복사한다.
+    private final boolean[] owned;
+
+    MappedOccupancyStorage(int length) {
+        LongBuffer words = map(length);
+        this.length = length;
+        this.blocks = new LongBuffer[OccupancyStorage.blockCount(length)];
+        this.owned = new boolean[blocks.length];
+        for (int block = 0; block < blocks.length; block++) {
+            blocks[block] = words.slice(block << BLOCK_SHIFT, OccupancyStorage.blockLength(length, block));
+            owned[block] = true;
+        }
+    }
+
+    private MappedOccupancyStorage(int length, LongBuffer[] blocks) {
+        this.length = length;
+        this.blocks = blocks;
+        this.owned = new boolean[blocks.length];
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public long get(int index) {
+        return blocks[index >>> BLOCK_SHIFT].get(index & BLOCK_MASK);
+    }
+
+    @Override
+    public void set(int index, long value) {
+        writableBlock(index >>> BLOCK_SHIFT, true).put(index & BLOCK_MASK, value);
+    }
+
+    @Override
+    public OccupancyStorage copy() {
+        Arrays.fill(owned, false);
+        return new MappedOccupancyStorage(length, blocks.clone());
+    }
+
+    @Override
+    public void copyTo(LongBuffer buffer) {
+        for (LongBuffer block : blocks) {
+            buffer.put(block.duplicate().clear());
+        }
+    }
+
+    @Override
+    public void copyFrom(LongBuffer buffer) {
+        for (int block = 0; block < blocks.length; block++) {
+            LongBuffer target = writableBlock(block, false);
+            int blockLength = target.capacity();
+            target.put(0, buffer, buffer.position(), blockLength);
+            buffer.position(buffer.position() + blockLength);
+        }
+    }
+
+    // 공유 중인 블록이면 새 direct 버퍼로 바꾼다. keepContents가 false면 기존 값을 옮기지 않는다.
+    private LongBuffer writableBlock(int block, boolean keepContents) {
+        if (!owned[block]) {
+            LongBuffer shared = blocks[block];
+            LongBuffer copy = ByteBuffer.allocateDirect(shared.capacity() * Long.BYTES)
+                    .order(ByteOrder.nativeOrder())
+                    .asLongBuffer();
+            if (keepContents) {
+                copy.put(0, shared, 0, shared.capacity());
+            }
+            blocks[block] = copy;
+            owned[block] = true;
+        }
+        return blocks[block];
+    }
+
+    @Override
+    public OccupancyStorageType type() {
+        return OccupancyStorageType.OFF_HEAP;
+    }
+
+    private static LongBuffer map(int length) {
+        long bytes = (long) length * Long.BYTES;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("occupancy grid is too large for a single mapping: " + bytes + " bytes");
+        }
+        Path file = null;
+        try {
+            file = Files.createTempFile("occupancy-", ".bits");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // 새로 늘어난 파일 영역은 0으로 읽히므로 모든 셀이 비점유 상태로 시작한다.
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(bytes, Long.BYTES));
+                return buffer.order(ByteOrder.nativeOrder()).asLongBuffer().limit(length).slice();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to map off-heap occupancy storage", e);
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // 매핑 중인 파일을 지울 수 없는 OS에서는 종료 시 지운다.
+            file.toFile().deleteOnExit();
+        }
+    }
+}
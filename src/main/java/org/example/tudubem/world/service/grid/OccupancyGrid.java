@@ -0,0 +1,344 @@
+package org.example.tudubem.world.service.grid;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.nio.LongBuffer;
+import java.util.AbstractList;
+import java.util.List;
+
+// 점유 그리드를 64비트 워드 비트셋으로 보관한다. 셀 하나가 1비트이며 행 우선(row-major)으로 배치된다.
+// 각 행은 64비트 워드 경계에서 시작하므로 행 단위 OR/복사를 워드 단위로 처리할 수 있다.
+// 워드는 힙(long[]) 또는 메모리 매핑 파일(off-heap)에 둘 수 있으며, 복사본은 원본과 같은 저장소 종류를 쓴다.
+// 복사는 저장소 블록을 공유하는 copy-on-write이므로 작은 영역만 고치는 복사본은 바뀐 블록만큼만 메모리를 쓴다.
+// freeze()한 그리드는 더 이상 바꿀 수 없어, 게시된 월드 레이어를 복사 없이 여러 스레드가 함께 읽는다.
+// JSON 직렬화 시에는 기존 List<List<Integer>> 모양(0/1 2차원 배열)을 그대로 유지한다.
+public final class OccupancyGrid {
+
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final OccupancyStorage words;
+    private boolean frozen;
+
+    public OccupancyGrid(int width, int height) {
+        this(width, height, OccupancyStorageType.HEAP);
+    }
+
+    public OccupancyGrid(int width, int height, OccupancyStorageType storageType) {
+        if (width < 0 || height < 0) {
+            throw new IllegalArgumentException("grid size must not be negative: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = (width + 63) >>> 6;
+        this.words = storageType.allocate(Math.multiplyExact(wordsPerRow, height));
+    }
+
+    private OccupancyGrid(OccupancyGrid source, OccupancyStorage words) {
+        this.width = source.width;
+        this.height = source.height;
+        this.wordsPerRow = source.wordsPerRow;
+        this.words = words;
+    }
+
+    // 0/1 2차원 배열(행 = y)로부터 그리드를 만든다. JSON 역직렬화에도 사용된다.
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static OccupancyGrid fromRows(int[][] rows) {
+        int height = rows.length;
+        int width = height == 0 ? 0 : rows[0].length;
+        OccupancyGrid grid = new OccupancyGrid(width, height);
+        for (int y = 0; y < height; y++) {
+            if (rows[y].length != width) {
+                throw new IllegalArgumentException("occupancy rows must have the same width");
+            }
+            for (int x = 0; x < width; x++) {
+                if (rows[y][x] != 0) {
+                    grid.set(x, y);
+                }
+            }
+        }
+        return grid;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public int wordsPerRow() {
+        return wordsPerRow;
+    }
+
+    public OccupancyStorageType storageType() {
+        return words.type();
+    }
+
+    // 이후 변경을 막는다. 이미 얼린 그리드면 그대로 반환한다.
+    public OccupancyGrid freeze() {
+        frozen = true;
+        return this;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    public boolean isOccupied(int x, int y) {
+        return (words.get(y * wordsPerRow + (x >>> 6)) & (1L << x)) != 0;
+    }
+
+    // 행 우선 인덱스(y * width + x)로 점유 여부를 조회한다.
+    public boolean isOccupied(int index) {
+        return isOccupied(index % width, index / width);
+    }
+
+    public int get(int x, int y) {
+        return isOccupied(x, y) ? 1 : 0;
+    }
+
+    public void set(int x, int y) {
+        int index = y * wordsPerRow + (x >>> 6);
+        writableWords().set(index, words.get(index) | (1L << x));
+    }
+
+    public void clear(int x, int y) {
+        int index = y * wordsPerRow + (x >>> 6);
+        writableWords().set(index, words.get(index) & ~(1L << x));
+    }
+
+    public void set(int x, int y, boolean occupied) {
+        if (occupied) {
+            set(x, y);
+        } else {
+            clear(x, y);
+        }
+    }
+
+    // 한 행의 [fromX, toX) 구간을 점유로 채운다.
+    public void fillRow(int y, int fromX, int toX) {
+        if (fromX >= toX) {
+            return;
+        }
+        int rowOffset = y * wordsPerRow;
+        int startWord = fromX >>> 6;
+        int endWord = (toX - 1) >>> 6;
+        long startMask = -1L << fromX;
+        long endMask = -1L >>> -toX;
+        if (startWord == endWord) {
+            orWord(rowOffset + startWord, startMask & endMask);
+            return;
+        }
+        orWord(rowOffset + startWord, startMask);
+        for (int w = startWord + 1; w < endWord; w++) {
+            writableWords().set(rowOffset + w, -1L);
+        }
+        orWord(rowOffset + endWord, endMask);
+    }
+
+    public long word(int y, int wordIndex) {
+        return words.get(y * wordsPerRow + wordIndex);
+    }
+
+    public void setWord(int y, int wordIndex, long value) {
+        writableWords().set(y * wordsPerRow + wordIndex, value);
+    }
+
+    // 전체 비트셋 워드 수(wordsPerRow * height).
+    public int wordCount() {
+        return words.length();
+    }
+
+    // 비트셋 워드를 순서대로 buffer에 쓴다. 파일 스냅샷 저장에 사용한다.
+    public void copyWordsTo(LongBuffer buffer) {
+        words.copyTo(buffer);
+    }
+
+    // buffer에서 wordCount()개의 워드를 읽어 비트셋을 덮어쓴다. 파일 스냅샷 로드에 사용한다.
+    public void copyWordsFrom(LongBuffer buffer) {
+        writableWords().copyFrom(buffer);
+    }
+
+    // 다른 레이어의 점유 비트를 워드 단위 OR로 합친다.
+    public void or(OccupancyGrid other) {
+        requireSameSize(other);
+        for (int i = 0; i < words.length(); i++) {
+            orWord(i, other.words.get(i));
+        }
+    }
+
+    // 블록을 공유하는 변경 가능한 복사본. 얼린 그리드의 복사본도 변경할 수 있다.
+    public OccupancyGrid copy() {
+        return new OccupancyGrid(this, words.copy());
+    }
+
+    // 지정한 저장소 종류로 복사한다. 저장소 종류가 다르면 워드를 모두 옮긴다.
+    public OccupancyGrid copy(OccupancyStorageType storageType) {
+        if (storageType == words.type()) {
+            return copy();
+        }
+        OccupancyGrid copy = new OccupancyGrid(width, height, storageType);
+        for (int i = 0; i < words.length(); i++) {
+            copy.words.set(i, words.get(i));
+        }
+        return copy;
+    }
+
+    // bounds 영역만 잘라 (0, 0)부터 시작하는 힙 그리드로 복사한다. 행마다 워드 두 개를 이어 붙여 64셀씩 옮긴다.
+    public OccupancyGrid region(CellBounds bounds) {
+        CellBounds clipped = bounds.clip(width, height);
+        OccupancyGrid region = new OccupancyGrid(clipped.width(), clipped.height());
+        int regionWords = region.wordsPerRow;
+        int tailBits = region.width & 63;
+        for (int y = 0; y < region.height; y++) {
+            int sourceOffset = (clipped.minY() + y) * wordsPerRow;
+            for (int w = 0; w < regionWords; w++) {
+                int startBit = clipped.minX() + (w << 6);
+                int sourceWord = startBit >>> 6;
+                int shift = startBit & 63;
+                long value = words.get(sourceOffset + sourceWord) >>> shift;
+                if (shift != 0 && sourceWord + 1 < wordsPerRow) {
+                    value |= words.get(sourceOffset + sourceWord + 1) << -shift;
+                }
+                if (w == regionWords - 1 && tailBits != 0) {
+                    value &= -1L >>> -tailBits;
+                }
+                region.words.set(y * regionWords + w, value);
+            }
+        }
+        return region;
+    }
+
+    // 같은 크기의 다른 그리드와 값이 다른 셀을 모두 덮는 최소 영역. 같으면 빈 영역을 반환한다.
+    public CellBounds changedBounds(OccupancyGrid other) {
+        requireSameSize(other);
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxX = -1;
+        int maxY = -1;
+        for (int y = 0; y < height; y++) {
+            int rowOffset = y * wordsPerRow;
+            for (int w = 0; w < wordsPerRow; w++) {
+                long diff = words.get(rowOffset + w) ^ other.words.get(rowOffset + w);
+                if (diff == 0) {
+                    continue;
+                }
+                minX = Math.min(minX, (w << 6) + Long.numberOfTrailingZeros(diff));
+                maxX = Math.max(maxX, (w << 6) + 63 - Long.numberOfLeadingZeros(diff));
+                minY = Math.min(minY, y);
+                maxY = y;
+            }
+        }
+        return maxY < 0 ? CellBounds.EMPTY : new CellBounds(minX, minY, maxX, maxY);
+    }
+
+    public long countOccupied() {
+        long count = 0;
+        for (int i = 0; i < words.length(); i++) {
+            count += Long.bitCount(words.get(i));
+        }
+        return count;
+    }
+
+    // 비트셋이 차지하는 메모리(바이트)를 대략 계산한다. off-heap 저장소도 같은 크기로 센다.
+    public long sizeInBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    public boolean hasSameSize(OccupancyGrid other) {
+        return other != null && width == other.width && height == other.height;
+    }
+
+    // 기존 API 응답 모양(행 = y, 값 = 0/1)을 유지하기 위한 읽기 전용 뷰. 셀 값을 미리 박싱해 두지 않는다.
+    @JsonValue
+    public List<List<Integer>> asRows() {
+        return new AbstractList<>() {
+            @Override
+            public List<Integer> get(int y) {
+                return new RowView(y);
+            }
+
+            @Override
+            public int size() {
+                return height;
+            }
+        };
+    }
+
+    private void orWord(int index, long mask) {
+        writableWords().set(index, words.get(index) | mask);
+    }
+
+    private OccupancyStorage writableWords() {
+        if (frozen) {
+            throw new IllegalStateException("occupancy grid is frozen");
+        }
+        return words;
+    }
+
+    private void requireSameSize(OccupancyGrid other) {
+        if (!hasSameSize(other)) {
+            throw new IllegalArgumentException("occupancy grid size mismatch");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OccupancyGrid other)) {
+            return false;
+        }
+        if (width != other.width || height != other.height) {
+            return false;
+        }
+        for (int i = 0; i < words.length(); i++) {
+            if (words.get(i) != other.words.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 31 * width + height;
+        for (int i = 0; i < words.length(); i++) {
+            hash = 31 * hash + Long.hashCode(words.get(i));
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "OccupancyGrid[" + width + "x" + height + ", occupied=" + countOccupied() + "]";
+    }
+
+    private final class RowView extends AbstractList<Integer> {
+        private final int y;
+
+        private RowView(int y) {
+            if (y < 0 || y >= height) {
+                throw new IndexOutOfBoundsException("row " + y + " out of range [0, " + height + ")");
+            }
+            this.y = y;
+        }
+
+        @Override
+        public Integer get(int x) {
+            if (x < 0 || x >= width) {
+                throw new IndexOutOfBoundsException("column " + x + " out of range [0, " + width + ")");
+            }
+            return OccupancyGrid.this.get(x, y);
+        }
+
+        @Override
+        public int size() {
+            return width;
+        }
+    }
+}
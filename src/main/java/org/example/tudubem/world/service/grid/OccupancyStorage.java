@@ -0,0 +1,37 @@
+package org.example.tudubem.world.service.grid;
+
+import java.nio.LongBuffer;
+
+// 점유 비트셋 워드 저장소. OccupancyGrid와 거리 레이어(PackedTileGrid)는 이 인터페이스로만 워드를 읽고 쓴다.
+// 워드는 BLOCK_SIZE개씩 블록으로 나눠 두고, 복사본과 블록을 공유하다가 쓰는 쪽이 그 블록만 새로 복사한다(copy-on-write).
+sealed interface OccupancyStorage permits HeapOccupancyStorage, MappedOccupancyStorage {
+
+    // 블록 하나의 워드 수(8KB, 셀 65536개).
+    int BLOCK_SHIFT = 10;
+    int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    int BLOCK_MASK = BLOCK_SIZE - 1;
+
+    static int blockCount(int length) {
+        return (length + BLOCK_MASK) >>> BLOCK_SHIFT;
+    }
+
+    static int blockLength(int length, int block) {
+        return Math.min(BLOCK_SIZE, length - (block << BLOCK_SHIFT));
+    }
+
+    int length();
+
+    long get(int index);
+
+    void set(int index, long value);
+
+    // 같은 종류의 저장소로 복사한다. 블록은 공유하며 이후 어느 쪽이든 쓰는 블록만 복사한다.
+    // 원본에 다른 스레드가 쓰는 중에는 호출하면 안 된다.
+    OccupancyStorage copy();
+
+    void copyTo(LongBuffer buffer);
+
+    void copyFrom(LongBuffer buffer);
+
+    OccupancyStorageType type();
+}
@@ -0,0 +1,13 @@
+package org.example.tudubem.world.service.grid;
+
+// 점유 그리드와 거리 레이어의 워드를 어디에 둘지 정한다.
+public enum OccupancyStorageType {
+    // GC가 관리하는 힙의 long[]
+    HEAP,
+    // 메모리 매핑 파일(off-heap). 아주 큰 맵에서 힙과 GC 부담을 줄인다.
+    OFF_HEAP;
+
+    OccupancyStorage allocate(int length) {
+        return this == HEAP ? new HeapOccupancyStorage(length) : new MappedOccupancyStorage(length);
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.tudubem.world.service.grid;
+
+// 8비트 또는 16비트 부호 없는 값을 long 워드에 채워 담는 2차원 배열.
+// 가로 64셀 타일로 나누고 타일 하나가 OccupancyStorage 블록 하나(8KB)를 꼭 채우도록 타일 높이를 정한다
+// (16비트는 64x64, 8비트는 64x128). 그래서 저장소의 블록 단위 copy-on-write가 곧 타일 단위 copy-on-write가 되어,
+// 행 방향 갱신과 열 방향 갱신 모두 건드린 타일만 복사된다.
+final class PackedTileGrid {
+
+    private static final int TILE_WIDTH_SHIFT = 6;
+    private static final int TILE_WIDTH = 1 << TILE_WIDTH_SHIFT;
+    private static final int TILE_WIDTH_MASK = TILE_WIDTH - 1;
+
+    private final int width;
+    private final int height;
+    private final int bits;
+    private final long valueMask;
+    private final int valuesPerWordShift;
+    private final int tileHeightShift;
+    private final int tilesX;
+    private final OccupancyStorage storage;
+
+    PackedTileGrid(int width, int height, int bits, OccupancyStorageType storageType) {
+        if (bits != Byte.SIZE && bits != Short.SIZE) {
+            throw new IllegalArgumentException("unsupported value bits: " + bits);
+        }
+        this.width = width;
+        this.height = height;
+        this.bits = bits;
+        this.valueMask = (1L << bits) - 1;
+        this.valuesPerWordShift = Integer.numberOfTrailingZeros(Long.SIZE / bits);
+        this.tileHeightShift = OccupancyStorage.BLOCK_SHIFT + valuesPerWordShift - TILE_WIDTH_SHIFT;
+        this.tilesX = (width + TILE_WIDTH_MASK) >>> TILE_WIDTH_SHIFT;
+        int tileHeightMask = (1 << tileHeightShift) - 1;
+        long tilesY = (height + tileHeightMask) >>> tileHeightShift;
+        long words = tilesX * tilesY * OccupancyStorage.BLOCK_SIZE;
+        // 셀 번호를 int로 매기므로 셀 수(여백 포함)가 int 범위를 넘으면 안 된다.
+        if (words << valuesPerWordShift > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("grid is too large: " + width + "x" + height);
+        }
+        this.storage = storageType.allocate((int) words);
+    }
+
+    private PackedTileGrid(PackedTileGrid source) {
+        this.width = source.width;
+        this.height = source.height;
+        this.bits = source.bits;
+        this.valueMask = source.valueMask;
+        this.valuesPerWordShift = source.valuesPerWordShift;
+        this.tileHeightShift = source.tileHeightShift;
+        this.tilesX = source.tilesX;
+        this.storage = source.storage.copy();
+    }
+
+    int get(int x, int y) {
+        int cell = cellIndex(x, y);
+        return (int) ((storage.get(cell >>> valuesPerWordShift) >>> shiftOf(cell)) & valueMask);
+    }
+
+    void set(int x, int y, int value) {
+        int cell = cellIndex(x, y);
+        int word = cell >>> valuesPerWordShift;
+        int shift = shiftOf(cell);
+        long current = storage.get(word);
+        storage.set(word, (current & ~(valueMask << shift)) | ((value & valueMask) << shift));
+    }
+
+    // y 행을 row에 읽는다. 타일 행 하나는 bits개의 연속 워드이므로 워드 단위로 풀어 읽는다.
+    void getRow(int y, int[] row) {
+        int valuesPerWord = 1 << valuesPerWordShift;
+        for (int x = 0; x < width; x += TILE_WIDTH) {
+            int word = rowWordOf(x, y);
+            for (int w = 0; w < bits; w++) {
+                long packed = storage.get(word + w);
+                int from = x + (w << valuesPerWordShift);
+                int to = Math.min(width, from + valuesPerWord);
+                for (int i = from; i < to; i++) {
+                    row[i] = (int) (packed & valueMask);
+                    packed >>>= bits;
+                }
+            }
+        }
+    }
+
+    // row를 y 행에 쓴다. 값이 같은 워드는 쓰지 않아 공유 중인 타일을 복사하지 않는다.
+    void setRow(int y, int[] row) {
+        int valuesPerWord = 1 << valuesPerWordShift;
+        for (int x = 0; x < width; x += TILE_WIDTH) {
+            int word = rowWordOf(x, y);
+            for (int w = 0; w < bits; w++) {
+                int from = x + (w << valuesPerWordShift);
+                int to = Math.min(width, from + valuesPerWord);
+                long packed = 0;
+                for (int i = to - 1; i >= from; i--) {
+                    packed = (packed << bits) | (row[i] & valueMask);
+                }
+                if (from < to && storage.get(word + w) != packed) {
+                    storage.set(word + w, packed);
+                }
+            }
+        }
+    }
+
+    // 타일을 공유하는 복사본. 원본에 다른 스레드가 쓰는 중에는 호출하면 안 된다.
+    PackedTileGrid copy() {
+        return new PackedTileGrid(this);
+    }
+
+    long sizeInBytes() {
+        return (long) storage.length() * Long.BYTES;
+    }
+
+    // 타일 안에서는 행 우선으로, 타일끼리는 타일 행 우선으로 번호를 매긴다.
+    private int cellIndex(int x, int y) {
+        int tile = (y >>> tileHeightShift) * tilesX + (x >>> TILE_WIDTH_SHIFT);
+        int rowInTile = y & ((1 << tileHeightShift) - 1);
+        return (tile << (OccupancyStorage.BLOCK_SHIFT + valuesPerWordShift))
+                | (rowInTile << TILE_WIDTH_SHIFT)
+                | (x & TILE_WIDTH_MASK);
+    }
+
+    // (x, y)가 속한 타일 행의 첫 워드. x는 타일 경계여야 한다.
+    private int rowWordOf(int x, int y) {
+        return cellIndex(x, y) >>> valuesPerWordShift;
+    }
+
+    private int shiftOf(int cell) {
+        return (cell & ((1 << valuesPerWordShift) - 1)) * bits;
+    }
+}
@@ -0,0 +1,158 @@
+package org.example.tudubem.world.service.grid;
+
+import java.awt.geom.Point2D;
+import java.util.Arrays;
+import java.util.List;
+
+// 그리드 좌표계 폴리곤을 셀 단위로 래스터화한다.
+// 셀 중심점(x + 0.5, y + 0.5)이 폴리곤 내부에 있는 셀을 폴리곤이 덮는 셀로 본다.
+public final class PolygonRasterizer {
+
+    private PolygonRasterizer() {
+    }
+
+    @FunctionalInterface
+    public interface CellVisitor {
+        void visit(int x, int y);
+    }
+
+    // 폴리곤이 덮을 수 있는 셀 범위를 그리드 크기로 잘라 반환한다.
+    // 경계 계산의 부동소수 오차를 흡수하기 위해 한 셀씩 여유를 둔다.
+    public static CellBounds bounds(List<Point2D.Double> polygonInGrid, int width, int height) {
+        if (polygonInGrid.size() < 3) {
+            return CellBounds.EMPTY;
+        }
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (Point2D.Double point : polygonInGrid) {
+            minX = Math.min(minX, point.x);
+            minY = Math.min(minY, point.y);
+            maxX = Math.max(maxX, point.x);
+            maxY = Math.max(maxY, point.y);
+        }
+        return new CellBounds(
+                (int) Math.max(-1, Math.floor(minX) - 1),
+                (int) Math.max(-1, Math.floor(minY) - 1),
+                (int) Math.min(width, Math.floor(maxX) + 1),
+                (int) Math.min(height, Math.floor(maxY) + 1)
+        ).clip(width, height);
+    }
+
+    // 한 행에서 폴리곤이 덮는 연속 구간 [fromX, toX)를 받는 콜백.
+    @FunctionalInterface
+    public interface SpanVisitor {
+        void visit(int y, int fromX, int toX);
+    }
+
+    // 스캔라인 방식으로 폴리곤이 덮는 행별 구간을 방문한다. 폴리곤 범위 밖의 행은 검사하지 않는다.
+    // 각 행의 셀 중심 y에서 변과의 교차점 x를 레이 캐스팅과 같은 식으로 구해 정렬하고,
+    // 교차점 쌍 사이 [x0, x1)에 중심이 들어오는 셀을 채운다. 따라서 containsPoint와 같은 셀을 얻는다.
+    public static void forEachSpan(List<Point2D.Double> polygonInGrid, int width, int height, SpanVisitor visitor) {
+        CellBounds bounds = bounds(polygonInGrid, width, height);
+        if (bounds.isEmpty()) {
+            return;
+        }
+        int vertexCount = polygonInGrid.size();
+        double[] xs = new double[vertexCount];
+        double[] ys = new double[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            xs[i] = polygonInGrid.get(i).x;
+            ys[i] = polygonInGrid.get(i).y;
+        }
+        double[] crossings = new double[vertexCount];
+
+        for (int y = bounds.minY(); y <= bounds.maxY(); y++) {
+            double centerY = y + 0.5;
+            int count = 0;
+            for (int i = 0, j = vertexCount - 1; i < vertexCount; j = i++) {
+                if ((ys[i] > centerY) != (ys[j] > centerY)) {
+                    double crossingX = (xs[j] - xs[i]) * (centerY - ys[i]) / ((ys[j] - ys[i]) + 1e-12) + xs[i];
+                    if (!Double.isNaN(crossingX)) {
+                        crossings[count++] = crossingX;
+                    }
+                }
+            }
+            if (count < 2) {
+                continue;
+            }
+            Arrays.sort(crossings, 0, count);
+            for (int k = 0; k + 1 < count; k += 2) {
+                int fromX = Math.max(firstCenterAtOrAfter(crossings[k]), 0);
+                int toX = Math.min(firstCenterAtOrAfter(crossings[k + 1]), width);
+                if (fromX < toX) {
+                    visitor.visit(y, fromX, toX);
+                }
+            }
+        }
+    }
+
+    // 폴리곤이 덮는 셀을 방문한다.
+    public static void forEachCell(List<Point2D.Double> polygonInGrid, int width, int height, CellVisitor visitor) {
+        forEachSpan(polygonInGrid, width, height, (y, fromX, toX) -> {
+            for (int x = fromX; x < toX; x++) {
+                visitor.visit(x, y);
+            }
+        });
+    }
+
+    // 폴리곤이 덮는 셀의 행 우선 인덱스(y * width + x) 목록을 반환한다.
+    public static int[] cells(List<Point2D.Double> polygonInGrid, int width, int height) {
+        int[][] buffer = {new int[16]};
+        int[] size = {0};
+        forEachSpan(polygonInGrid, width, height, (y, fromX, toX) -> {
+            int required = size[0] + (toX - fromX);
+            if (required > buffer[0].length) {
+                buffer[0] = Arrays.copyOf(buffer[0], Math.max(required, buffer[0].length * 2));
+            }
+            int rowOffset = y * width;
+            for (int x = fromX; x < toX; x++) {
+                buffer[0][size[0]++] = rowOffset + x;
+            }
+        });
+        return Arrays.copyOf(buffer[0], size[0]);
+    }
+
+    // 폴리곤이 덮는 셀을 점유(1)로 표시한다. 행 구간 단위로 비트셋 워드를 채운다.
+    public static void fill(OccupancyGrid occupancy, List<Point2D.Double> polygonInGrid) {
+        forEachSpan(polygonInGrid, occupancy.width(), occupancy.height(), occupancy::fillRow);
+    }
+
+    // 중심(x + 0.5)이 value 이상인 가장 작은 셀 x. 부동소수 반올림에 영향받지 않도록 결과를 직접 검증한다.
+    private static int firstCenterAtOrAfter(double value) {
+        if (value <= Integer.MIN_VALUE) {
+            return Integer.MIN_VALUE;
+        }
+        if (value >= Integer.MAX_VALUE) {
+            return Integer.MAX_VALUE;
+        }
+        int x = (int) Math.ceil(value - 0.5);
+        while (x + 0.5 < value) {
+            x++;
+        }
+        while (x - 0.5 >= value) {
+            x--;
+        }
+        return x;
+    }
+
+    // 레이 캐스팅(ray casting) 방식으로 점(x, y)이 폴리곤 내부에 있는지 판별한다.
+    // 경계 근처의 0 나눗셈 위험을 줄이기 위해 작은 epsilon을 더해 계산한다.
+    public static boolean containsPoint(double x, double y, List<Point2D.Double> polygon) {
+        boolean inside = false;
+        for (int i = 0, j = polygon.size() - 1; i < polygon.size(); j = i++) {
+            double xi = polygon.get(i).x;
+            double yi = polygon.get(i).y;
+            double xj = polygon.get(j).x;
+            double yj = polygon.get(j).y;
+
+            boolean intersect = ((yi > y) != (yj > y))
+                    && (x < (xj - xi) * (y - yi) / ((yj - yi) + 1e-12) + xi);
+            if (intersect) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+}
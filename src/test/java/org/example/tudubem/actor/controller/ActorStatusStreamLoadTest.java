@@ -0,0 +1,191 @@
+package org.example.tudubem.actor.controller;
+
+import org.example.tudubem.actor.dto.ActorStatus;
+import org.example.tudubem.actor.service.ActorStatusService;
+import org.example.tudubem.robot.RobotEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// CRUD 요청이 몰리는 동안에도 actor 상태 SSE 지연이 늘지 않는지 확인하는 부하 테스트.
+// 상태를 PUBLISH_INTERVAL마다 발행해 SSE로 받기까지의 지연을 재고, CRUD 부하 없이 잰 p99와 비교한다.
+// 시간이 오래 걸리므로 TUDUBEM_BENCHMARK=true 일 때만 실행한다.
+//   TUDUBEM_BENCHMARK=true ./gradlew test --tests '*ActorStatusStreamLoadTest'
+@EnabledIfEnvironmentVariable(named = "TUDUBEM_BENCHMARK", matches = "true")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:sse-load;DB_CLOSE_DELAY=-1",
+                "spring.jpa.properties.jakarta.persistence.jdbc.url=jdbc:h2:mem:sse-load;DB_CLOSE_DELAY=-1",
+                "spring.jpa.show-sql=false",
+                "app.sim.auto-tick=false"
+        }
+)
+class ActorStatusStreamLoadTest {
+
+    // 실제 actor와 겹치지 않는 측정용 actor ID. 말풍선 텍스트에 발행 시각(nanoTime)을 담는다.
+    private static final long PROBE_ACTOR_ID = Long.MAX_VALUE;
+    private static final Duration PUBLISH_INTERVAL = Duration.ofMillis(20);
+    private static final Duration PHASE = Duration.ofSeconds(5);
+    private static final int CRUD_CLIENTS = 8;
+    // CRUD 부하 중 p99가 부하 없는 p99보다 이만큼 넘게 늘면 실패로 본다.
+    private static final long ALLOWED_P99_INCREASE_MS = 50;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ActorStatusService actorStatusService;
+
+    private WebTestClient client;
+    private final List<Long> latenciesNanos = Collections.synchronizedList(new ArrayList<>());
+    private Disposable stream;
+
+    @BeforeEach
+    void openStream() throws InterruptedException {
+        client = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .responseTimeout(Duration.ofMinutes(1))
+                .build();
+        // 응답 헤더는 첫 이벤트와 함께 나가므로 구독 전에 상태를 하나 발행해 둔다.
+        publishProbe(0);
+        stream = client.get()
+                .uri("/actor/sim/status/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<ActorStatus>>() {
+                })
+                .getResponseBody()
+                .mapNotNull(ServerSentEvent::data)
+                .filter(status -> status.actorId() == PROBE_ACTOR_ID)
+                .subscribe(status -> latenciesNanos.add(System.nanoTime() - Long.parseLong(status.speech())));
+        // 구독 직후 재생되는 마지막 상태와 예열 구간은 측정에서 뺀다.
+        measure();
+        latenciesNanos.clear();
+    }
+
+    @AfterEach
+    void closeStream() {
+        stream.dispose();
+        actorStatusService.remove(PROBE_ACTOR_ID);
+    }
+
+    @Test
+    void sseLatencyStaysFlatUnderCrudLoad() throws InterruptedException {
+        long[] idle = measure();
+        report("idle", idle, 0);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong crudRequests = new AtomicLong();
+        ExecutorService crudClients = Executors.newFixedThreadPool(CRUD_CLIENTS);
+        for (int i = 0; i < CRUD_CLIENTS; i++) {
+            int clientIndex = i;
+            crudClients.execute(() -> {
+                while (running.get()) {
+                    robotCrudRound("load-" + clientIndex);
+                    crudRequests.addAndGet(4);
+                }
+            });
+        }
+        long[] loaded;
+        try {
+            loaded = measure();
+        } finally {
+            running.set(false);
+            crudClients.shutdown();
+            assertTrue(crudClients.awaitTermination(1, TimeUnit.MINUTES));
+        }
+        report("crud load", loaded, crudRequests.get());
+
+        long idleP99 = percentile(idle, 99);
+        long loadedP99 = percentile(loaded, 99);
+        assertTrue(
+                loadedP99 <= idleP99 + TimeUnit.MILLISECONDS.toNanos(ALLOWED_P99_INCREASE_MS),
+                "p99 " + toMillis(loadedP99) + "ms under load vs " + toMillis(idleP99) + "ms idle"
+        );
+    }
+
+    // PHASE 동안 PUBLISH_INTERVAL마다 상태를 발행하고, SSE로 받은 지연(ns)을 정렬해 반환한다.
+    private long[] measure() throws InterruptedException {
+        latenciesNanos.clear();
+        long published = 0;
+        long endAt = System.nanoTime() + PHASE.toNanos();
+        while (System.nanoTime() < endAt) {
+            publishProbe((int) published++);
+            Thread.sleep(PUBLISH_INTERVAL.toMillis());
+        }
+        // 마지막 이벤트가 도착할 시간을 준다.
+        Thread.sleep(500);
+        long[] sorted;
+        synchronized (latenciesNanos) {
+            sorted = latenciesNanos.stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+        assertTrue(sorted.length > published / 2, "received " + sorted.length + " of " + published + " status events");
+        return sorted;
+    }
+
+    private void publishProbe(int x) {
+        actorStatusService.upsert(new ActorStatus(PROBE_ACTOR_ID, 1, x, 0, Long.toString(System.nanoTime())));
+    }
+
+    private void robotCrudRound(String name) {
+        RobotEntity request = new RobotEntity();
+        request.setName(name);
+        RobotEntity created = client.post().uri("/robot")
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().is2xxSuccessful()
+                .expectBody(RobotEntity.class)
+                .returnResult()
+                .getResponseBody();
+        Long id = created.getId();
+        client.get().uri("/robot/{id}", id).exchange().expectStatus().isOk();
+        request.setName(name + "-updated");
+        client.put().uri("/robot/{id}", id).bodyValue(request).exchange().expectStatus().isOk();
+        client.delete().uri("/robot/{id}", id).exchange().expectStatus().is2xxSuccessful();
+    }
+
+    private static void report(String phase, long[] sorted, long crudRequests) {
+        System.out.printf(
+                "%-10s events=%d p50=%.1fms p99=%.1fms max=%.1fms crudRequests=%d%n",
+                phase,
+                sorted.length,
+                toMillis(percentile(sorted, 50)),
+                toMillis(percentile(sorted, 99)),
+                toMillis(sorted[sorted.length - 1]),
+                crudRequests
+        );
+    }
+
+    private static long percentile(long[] sorted, int percent) {
+        assertTrue(sorted.length > 0, "no samples");
+        int index = (int) Math.ceil(percent / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,267 @@
+package org.example.tudubem.actor.service.pathfind;
+
+import org.example.tudubem.world.service.grid.CellBounds;
+import org.example.tudubem.world.service.grid.GridMap;
+import org.example.tudubem.world.service.grid.OccupancyGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PathFindingStrategyTest {
+
+    private static final int STRAIGHT_COST = AStarPathFindingStrategy.STRAIGHT_COST;
+    private static final int DIAGONAL_COST = AStarPathFindingStrategy.DIAGONAL_COST;
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int CLUSTER_SIZE = 16;
+
+    // 4방향 전략(BFS, 4방향 A*)의 경로 비용이 Dijkstra 최단 비용과 같고, 도달 가능 여부도 같아야 한다.
+    @Test
+    void fourWayStrategiesFindOptimalPaths() {
+        Random random = new Random(11);
+        BfsPathFindingStrategy bfs = new BfsPathFindingStrategy(1 << 20);
+        AStarPathFindingStrategy astar = new AStarPathFindingStrategy(false);
+        for (int i = 0; i < 20; i++) {
+            GridMap gridMap = randomGridMap(random);
+            for (int q = 0; q < 20; q++) {
+                int[] query = randomQuery(random, gridMap.occupancy());
+                int optimal = dijkstra(gridMap.occupancy(), query, false);
+                assertOptimal("bfs", bfs.findPath(gridMap, query[0], query[1], query[2], query[3]), gridMap, query, optimal, false);
+                assertOptimal("astar", astar.findPath(gridMap, query[0], query[1], query[2], query[3]), gridMap, query, optimal, false);
+            }
+        }
+    }
+
+    // 8방향 전략(8방향 A*, JPS)의 경로 비용이 코너 커팅을 금지한 Dijkstra 최단 비용과 같아야 한다.
+    // HPA*는 최단 경로를 보장하지 않으므로 도달 가능 여부와 경로의 유효성, 비용 하한만 확인한다.
+    @Test
+    void eightWayStrategiesMatchDijkstra() {
+        Random random = new Random(13);
+        AStarPathFindingStrategy astar = new AStarPathFindingStrategy(true);
+        JumpPointSearchPathFindingStrategy jps = new JumpPointSearchPathFindingStrategy();
+        HierarchicalPathFindingStrategy hpa = new HierarchicalPathFindingStrategy(null, CLUSTER_SIZE);
+        for (int i = 0; i < 20; i++) {
+            GridMap gridMap = randomGridMap(random);
+            for (int q = 0; q < 20; q++) {
+                int[] query = randomQuery(random, gridMap.occupancy());
+                int optimal = dijkstra(gridMap.occupancy(), query, true);
+                assertOptimal("astar8", astar.findPath(gridMap, query[0], query[1], query[2], query[3]), gridMap, query, optimal, true);
+                assertOptimal("jps", jps.findPath(gridMap, query[0], query[1], query[2], query[3]), gridMap, query, optimal, true);
+
+                PathResult result = hpa.findPath(gridMap, query[0], query[1], query[2], query[3]);
+                assertEquals(optimal != UNREACHABLE, result.found(), "hpa reachability " + Arrays.toString(query));
+                if (result.found()) {
+                    assertTrue(pathCost(result.path(), gridMap.occupancy(), query, true) >= optimal, "hpa " + Arrays.toString(query));
+                }
+            }
+        }
+    }
+
+    // 동적 객체 변경 영역만 고친 HPA* 그래프가 같은 레이어로 새로 만든 그래프와 같은 경로를 내야 한다.
+    // 고치기 전 그래프는 이전 레이어 기준 결과를 그대로 유지해야 한다.
+    @Test
+    void repairedHpaGraphMatchesFreshGraph() {
+        Random random = new Random(17);
+        OccupancyGrid layer = randomGridMap(random, 200, 150).occupancy().freeze();
+        HpaGraph graph = new HpaGraph(layer, CLUSTER_SIZE);
+        for (int round = 0; round < 20; round++) {
+            OccupancyGrid next = layer.copy();
+            List<CellBounds> dirty = new ArrayList<>();
+            int edits = 1 + random.nextInt(3);
+            for (int k = 0; k < edits; k++) {
+                dirty.add(randomEdit(random, next));
+            }
+            next.freeze();
+
+            HpaGraph repaired = graph.repair(next, dirty);
+            assertSameGraph(new HpaGraph(next, CLUSTER_SIZE), repaired, next, random);
+            assertSameGraph(new HpaGraph(layer, CLUSTER_SIZE), graph, layer, random);
+            graph = repaired;
+            layer = next;
+        }
+    }
+
+    // 풀에서 빌린 탐색 배열을 크기가 다른 맵 사이에서 재사용해도 같은 질의는 같은 결과를 내야 한다.
+    @Test
+    void pooledBfsIsRepeatable() {
+        Random random = new Random(19);
+        // 작은 풀과 낮은 보존 한도로 컨텍스트 재사용과 폐기가 모두 일어나게 한다.
+        BfsPathFindingStrategy pooled = new BfsPathFindingStrategy(4000);
+        List<GridMap> gridMaps = new ArrayList<>();
+        List<int[]> queries = new ArrayList<>();
+        List<PathResult> firstResults = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            GridMap gridMap = randomGridMap(random);
+            int[] query = randomQuery(random, gridMap.occupancy());
+            gridMaps.add(gridMap);
+            queries.add(query);
+            firstResults.add(pooled.findPath(gridMap, query[0], query[1], query[2], query[3]));
+        }
+        for (int round = 0; round < 2; round++) {
+            for (int i = gridMaps.size() - 1; i >= 0; i--) {
+                int[] query = queries.get(i);
+                PathResult fresh = new BfsPathFindingStrategy(0).findPath(gridMaps.get(i), query[0], query[1], query[2], query[3]);
+                assertEquals(fresh, firstResults.get(i), "first " + Arrays.toString(query));
+                assertEquals(fresh, pooled.findPath(gridMaps.get(i), query[0], query[1], query[2], query[3]), "repeat " + Arrays.toString(query));
+            }
+        }
+    }
+
+    private static void assertSameGraph(HpaGraph expected, HpaGraph actual, OccupancyGrid layer, Random random) {
+        assertEquals(expected.sizeInBytes(), actual.sizeInBytes());
+        for (int q = 0; q < 30; q++) {
+            int[] query = randomQuery(random, layer);
+            assertEquals(
+                    expected.findPath(query[0], query[1], query[2], query[3]),
+                    actual.findPath(query[0], query[1], query[2], query[3]),
+                    Arrays.toString(query)
+            );
+        }
+    }
+
+    private static void assertOptimal(String name, PathResult result, GridMap gridMap, int[] query, int optimal, boolean diagonal) {
+        String message = name + " " + Arrays.toString(query);
+        if (optimal == UNREACHABLE) {
+            assertEquals(new PathResult(false, List.of(), "path_not_found"), result, message);
+            return;
+        }
+        assertTrue(result.found(), message + " " + result.reason());
+        assertEquals(optimal, pathCost(result.path(), gridMap.occupancy(), query, diagonal), message);
+    }
+
+    // 경로가 시작에서 목표까지 빈 셀만 한 칸씩 지나는지 확인하고 비용을 반환한다.
+    private static int pathCost(List<GridPoint> path, OccupancyGrid occupancy, int[] query, boolean diagonal) {
+        assertEquals(new GridPoint(query[0], query[1]), path.getFirst());
+        assertEquals(new GridPoint(query[2], query[3]), path.getLast());
+        int cost = 0;
+        for (int i = 1; i < path.size(); i++) {
+            GridPoint from = path.get(i - 1);
+            GridPoint to = path.get(i);
+            int dx = to.x() - from.x();
+            int dy = to.y() - from.y();
+            assertTrue(!occupancy.isOccupied(to.x(), to.y()), "occupied step " + to);
+            assertTrue(Math.abs(dx) <= 1 && Math.abs(dy) <= 1 && (dx != 0 || dy != 0), "jump " + from + " -> " + to);
+            if (dx != 0 && dy != 0) {
+                assertTrue(diagonal, "diagonal step " + from + " -> " + to);
+                // 코너 커팅 금지: 양옆 직선 셀이 모두 비어 있어야 한다.
+                assertTrue(!occupancy.isOccupied(to.x(), from.y()) && !occupancy.isOccupied(from.x(), to.y()),
+                        "corner cut " + from + " -> " + to);
+                cost += DIAGONAL_COST;
+            } else {
+                cost += STRAIGHT_COST;
+            }
+        }
+        return cost;
+    }
+
+    // 직선 10, 대각선 14 비용의 Dijkstra. 대각선은 양옆 직선 셀이 모두 비어 있을 때만 움직인다.
+    private static int dijkstra(OccupancyGrid occupancy, int[] query, boolean diagonal) {
+        int width = occupancy.width();
+        int height = occupancy.height();
+        int[] cost = new int[width * height];
+        Arrays.fill(cost, UNREACHABLE);
+        PriorityQueue<int[]> open = new PriorityQueue<>((a, b) -> Integer.compare(a[0], b[0]));
+        cost[query[1] * width + query[0]] = 0;
+        open.add(new int[]{0, query[0], query[1]});
+        while (!open.isEmpty()) {
+            int[] current = open.poll();
+            int x = current[1];
+            int y = current[2];
+            if (current[0] > cost[y * width + x]) {
+                continue;
+            }
+            if (x == query[2] && y == query[3]) {
+                return current[0];
+            }
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    boolean isDiagonal = dx != 0 && dy != 0;
+                    if ((dx == 0 && dy == 0) || (isDiagonal && !diagonal)) {
+                        continue;
+                    }
+                    int nx = x + dx;
+                    int ny = y + dy;
+                    if (!isFree(occupancy, nx, ny)
+                            || (isDiagonal && (!isFree(occupancy, nx, y) || !isFree(occupancy, x, ny)))) {
+                        continue;
+                    }
+                    int next = current[0] + (isDiagonal ? DIAGONAL_COST : STRAIGHT_COST);
+                    if (next < cost[ny * width + nx]) {
+                        cost[ny * width + nx] = next;
+                        open.add(new int[]{next, nx, ny});
+                    }
+                }
+            }
+        }
+        return UNREACHABLE;
+    }
+
+    private static boolean isFree(OccupancyGrid occupancy, int x, int y) {
+        return x >= 0 && y >= 0 && x < occupancy.width() && y < occupancy.height() && !occupancy.isOccupied(x, y);
+    }
+
+    private static GridMap randomGridMap(Random random) {
+        return randomGridMap(random, 10 + random.nextInt(90), 10 + random.nextInt(70));
+    }
+
+    // 무작위 장애물에 가로/세로 벽을 더해, 돌아가야 하거나 아예 닿을 수 없는 영역이 생기게 한다.
+    private static GridMap randomGridMap(Random random, int width, int height) {
+        OccupancyGrid occupancy = new OccupancyGrid(width, height);
+        int obstacles = width * height * (10 + random.nextInt(25)) / 100;
+        for (int n = 0; n < obstacles; n++) {
+            occupancy.set(random.nextInt(width), random.nextInt(height));
+        }
+        int walls = random.nextInt(4);
+        for (int wall = 0; wall < walls; wall++) {
+            int gap = random.nextInt(3) == 0 ? -1 : random.nextInt(Math.max(width, height));
+            if (random.nextBoolean()) {
+                int y = random.nextInt(height);
+                for (int x = 0; x < width; x++) {
+                    occupancy.set(x, y, x != gap);
+                }
+            } else {
+                int x = random.nextInt(width);
+                for (int y = 0; y < height; y++) {
+                    occupancy.set(x, y, y != gap);
+                }
+            }
+        }
+        return new GridMap(width, height, 1, occupancy);
+    }
+
+    // 시작과 목표가 빈 셀이고 서로 다른 질의 {startX, startY, targetX, targetY}.
+    private static int[] randomQuery(Random random, OccupancyGrid occupancy) {
+        while (true) {
+            int[] query = {
+                    random.nextInt(occupancy.width()),
+                    random.nextInt(occupancy.height()),
+                    random.nextInt(occupancy.width()),
+                    random.nextInt(occupancy.height())
+            };
+            if (isFree(occupancy, query[0], query[1]) && isFree(occupancy, query[2], query[3])
+                    && (query[0] != query[2] || query[1] != query[3])) {
+                return query;
+            }
+        }
+    }
+
+    // 임의의 사각 영역을 무작위로 채우거나 비우고, 바뀐 영역을 반환한다.
+    private static CellBounds randomEdit(Random random, OccupancyGrid grid) {
+        int x0 = random.nextInt(grid.width());
+        int y0 = random.nextInt(grid.height());
+        int x1 = Math.min(grid.width(), x0 + 1 + random.nextInt(20)) - 1;
+        int y1 = Math.min(grid.height(), y0 + 1 + random.nextInt(20)) - 1;
+        for (int y = y0; y <= y1; y++) {
+            for (int x = x0; x <= x1; x++) {
+                grid.set(x, y, random.nextBoolean());
+            }
+        }
+        return new CellBounds(x0, y0, x1, y1);
+    }
+}
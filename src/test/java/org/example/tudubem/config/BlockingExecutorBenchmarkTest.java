@@ -0,0 +1,98 @@
+package org.example.tudubem.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 블로킹 호출 처리량을 bounded-elastic 풀과 가상 스레드 실행기 사이에서 비교한다.
+// 시간이 오래 걸리므로 TUDUBEM_BENCHMARK=true 일 때만 실행한다.
+//   TUDUBEM_BENCHMARK=true ./gradlew test --tests '*BlockingExecutorBenchmarkTest'
+// 동시 요청 CONCURRENCY개가 TASKS개의 작업을 나눠 보내고, 처리량(작업/초)을 표준 출력에 남긴다.
+@EnabledIfEnvironmentVariable(named = "TUDUBEM_BENCHMARK", matches = "true")
+class BlockingExecutorBenchmarkTest {
+
+    private static final int TASKS = 4000;
+    private static final int CONCURRENCY = 200;
+    private static final int WARMUP_TASKS = 500;
+
+    // DB 왕복처럼 대부분 기다리는 작업. 풀의 스레드 수가 곧 처리량 상한이 된다.
+    @Test
+    void waitBoundCalls() {
+        Callable<Long> task = () -> {
+            Thread.sleep(10);
+            return 1L;
+        };
+        Result bounded = run("bounded-elastic(10)", task, false);
+        Result shared = run("reactor boundedElastic", task, BlockingExecutorBenchmarkTest::onSharedBoundedElastic);
+        Result virtual = run("virtual threads", task, true);
+
+        // 대기 시간이 대부분이면 스레드 수 제한이 없는 가상 스레드 쪽이 처리량이 높아야 한다.
+        assertTrue(virtual.throughput() > bounded.throughput(), virtual + " vs " + bounded);
+        assertTrue(virtual.throughput() > shared.throughput() * 0.5, virtual + " vs " + shared);
+    }
+
+    // 짧은 대기와 CPU 작업이 섞인 호출(JPA 조회 뒤 엔티티 변환 등).
+    @Test
+    void mixedCalls() {
+        Callable<Long> task = () -> {
+            Thread.sleep(2);
+            return burnCpu(200_000);
+        };
+        run("bounded-elastic(10)", task, false);
+        run("reactor boundedElastic", task, BlockingExecutorBenchmarkTest::onSharedBoundedElastic);
+        run("virtual threads", task, true);
+    }
+
+    // 기본 설정(스레드 10개, 대기열 1000)의 BlockingExecutor로 실행한다.
+    private static Result run(String name, Callable<Long> task, boolean virtualThreads) {
+        BlockingExecutor blockingExecutor = new BlockingExecutor(virtualThreads, 10, 1000);
+        try {
+            return run(name, task, blockingExecutor::call);
+        } finally {
+            blockingExecutor.destroy();
+        }
+    }
+
+    private static Mono<Long> onSharedBoundedElastic(Callable<Long> task) {
+        return Mono.fromCallable(task).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static Result run(String name, Callable<Long> task, Function<Callable<Long>, Mono<Long>> executor) {
+        execute(WARMUP_TASKS, task, executor);
+        long startedAt = System.nanoTime();
+        long completed = execute(TASKS, task, executor);
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        assertEquals(TASKS, completed, name);
+        Result result = new Result(name, TASKS / seconds);
+        System.out.printf("%-24s %8.0f tasks/s (%d tasks, concurrency %d)%n", name, result.throughput(), TASKS, CONCURRENCY);
+        return result;
+    }
+
+    private static long execute(int tasks, Callable<Long> task, Function<Callable<Long>, Mono<Long>> executor) {
+        Long completed = Flux.range(0, tasks)
+                .flatMap(i -> executor.apply(task), CONCURRENCY)
+                .count()
+                .block(Duration.ofMinutes(5));
+        return completed == null ? 0 : completed;
+    }
+
+    private static long burnCpu(int iterations) {
+        long value = 17;
+        for (int i = 0; i < iterations; i++) {
+            value = value * 31 + (value >>> 7);
+        }
+        return value == 0 ? 0 : 1;
+    }
+
+    private record Result(String name, double throughput) {
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.tudubem.world.service;
+
+import org.example.tudubem.world.service.grid.OccupancyGrid;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OccupancyPngEncoderTest {
+
+    // 밴드 하나(256KB 미만)로 끝나는 크기와 여러 밴드로 나뉘는 크기. 너비가 8의 배수가 아닌 경우도 넣는다.
+    private static final int[][] SIZES = {
+            {1, 1},
+            {13, 7},
+            {500, 300},
+            {4000, 2000},
+            {4001, 1100},
+            {20000, 60}
+    };
+
+    // 병렬/직렬 모두 ImageIO로 다시 읽은 픽셀이 점유 셀(검정)과 비점유 셀(흰색)에 맞아야 한다. 이미지 첫 행은 가장 위 셀 행이다.
+    @Test
+    void decodedImageMatchesGrid() throws IOException {
+        Random random = new Random(23);
+        for (int[] size : SIZES) {
+            OccupancyGrid grid = randomGrid(random, size[0], size[1]);
+            for (boolean parallel : new boolean[]{false, true}) {
+                BufferedImage image = decode(encoder(parallel).encode(grid));
+                assertMatches(grid, image, size[0] + "x" + size[1] + ", parallel=" + parallel);
+            }
+        }
+    }
+
+    // 여러 밴드로 나뉘는 크기는 병렬 분기를 타야 의미가 있으므로, 테스트 JVM의 공용 풀이 병렬인지도 확인한다.
+    @Test
+    void commonPoolAllowsParallelBands() {
+        assertTrue(ForkJoinPool.getCommonPoolParallelism() > 1, "parallelism " + ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    private static OccupancyPngEncoder encoder(boolean parallel) {
+        OccupancyPngEncoder encoder = new OccupancyPngEncoder();
+        ReflectionTestUtils.setField(encoder, "deflateLevel", 1);
+        ReflectionTestUtils.setField(encoder, "parallel", parallel);
+        return encoder;
+    }
+
+    private static BufferedImage decode(DataBuffer buffer) throws IOException {
+        try (InputStream in = buffer.asInputStream(true)) {
+            BufferedImage image = ImageIO.read(in);
+            assertNotNull(image);
+            return image;
+        }
+    }
+
+    private static void assertMatches(OccupancyGrid grid, BufferedImage image, String message) {
+        assertEquals(grid.width(), image.getWidth(), message);
+        assertEquals(grid.height(), image.getHeight(), message);
+        Raster raster = image.getRaster();
+        int[] row = new int[grid.width()];
+        for (int imageY = 0; imageY < grid.height(); imageY++) {
+            int y = grid.height() - 1 - imageY;
+            raster.getSamples(0, imageY, grid.width(), 1, 0, row);
+            for (int x = 0; x < grid.width(); x++) {
+                if (grid.isOccupied(x, y) != (row[x] == 0)) {
+                    assertEquals(grid.isOccupied(x, y), row[x] == 0, message + " at (" + x + ", " + y + ")");
+                }
+            }
+        }
+    }
+
+    // 흩어진 셀과 가로 구간을 섞어 행마다 다른 비트 패턴이 나오게 한다.
+    private static OccupancyGrid randomGrid(Random random, int width, int height) {
+        OccupancyGrid grid = new OccupancyGrid(width, height);
+        for (int y = 0; y < height; y++) {
+            for (int n = random.nextInt(4); n > 0; n--) {
+                int fromX = random.nextInt(width);
+                grid.fillRow(y, fromX, Math.min(width, fromX + 1 + random.nextInt(200)));
+            }
+            for (int n = random.nextInt(Math.max(1, width / 16)); n > 0; n--) {
+                grid.set(random.nextInt(width), y);
+            }
+        }
+        return grid;
+    }
+}
@@ -0,0 +1,163 @@
+package org.example.tudubem.world.service;
+
+import org.example.tudubem.world.entity.KeepoutZoneEntity;
+import org.example.tudubem.world.service.grid.OccupancyGrid;
+import org.example.tudubem.world.service.grid.OccupancyStorageType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorldSnapshotStoreTest {
+
+    private static final long MAP_ID = 7L;
+    private static final int CELL_SIZE_PX = 2;
+    // 헤더 안의 가로/세로 셀 수 위치(magic, formatVersion, mapId 다음).
+    private static final int WIDTH_OFFSET = 16;
+    private static final int HEIGHT_OFFSET = 20;
+
+    @TempDir
+    Path tempDir;
+
+    private WorldSnapshotStore store;
+    private Path sensorMap;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new WorldSnapshotStore();
+        ReflectionTestUtils.setField(store, "enabled", true);
+        ReflectionTestUtils.setField(store, "snapshotDir", tempDir.resolve("snapshot").toString());
+        sensorMap = tempDir.resolve("sensor.png");
+        Files.write(sensorMap, new byte[]{1, 2, 3, 4});
+    }
+
+    // 저장한 레이어를 힙/메모리 매핑 저장소로 다시 읽으면 같은 레이어여야 한다.
+    @Test
+    void savedLayersLoadUnchanged() {
+        WorldSnapshotStore.Key key = store.keyOf(MAP_ID, CELL_SIZE_PX, sensorMap, List.of(zone(1L, "[[0,0],[10,0],[10,10]]")));
+        WorldSnapshotStore.StaticLayers layers = randomLayers(new Random(37), 130, 45);
+        store.save(key, layers);
+
+        for (OccupancyStorageType storageType : OccupancyStorageType.values()) {
+            WorldSnapshotStore.StaticLayers loaded = store.load(key, storageType).orElseThrow();
+            assertEquals(layers.base(), loaded.base(), storageType.name());
+            assertEquals(layers.keepout(), loaded.keepout(), storageType.name());
+            assertEquals(storageType, loaded.base().storageType());
+        }
+    }
+
+    // 센서맵 파일이나 활성 keepout이 바뀌면 키가 달라져 이전 스냅샷을 쓰지 않아야 한다.
+    @Test
+    void changedSourceOrKeepoutIsRejected() throws IOException {
+        List<KeepoutZoneEntity> zones = List.of(zone(1L, "[[0,0],[10,0],[10,10]]"), zone(2L, "[[5,5],[9,5],[9,9]]"));
+        WorldSnapshotStore.Key key = store.keyOf(MAP_ID, CELL_SIZE_PX, sensorMap, zones);
+        store.save(key, randomLayers(new Random(41), 70, 20));
+        assertTrue(store.load(key, OccupancyStorageType.HEAP).isPresent());
+
+        // keepout 순서는 해시에 영향을 주지 않는다.
+        assertEquals(key, store.keyOf(MAP_ID, CELL_SIZE_PX, sensorMap, List.of(zones.get(1), zones.get(0))));
+
+        WorldSnapshotStore.Key movedKeepout = store.keyOf(MAP_ID, CELL_SIZE_PX, sensorMap,
+                List.of(zones.get(0), zone(2L, "[[5,5],[9,5],[9,8]]")));
+        assertNotEquals(key.keepoutHash(), movedKeepout.keepoutHash());
+        assertEquals(Optional.empty(), store.load(movedKeepout, OccupancyStorageType.HEAP));
+
+        WorldSnapshotStore.Key otherCellSize = store.keyOf(MAP_ID, CELL_SIZE_PX + 1, sensorMap, zones);
+        assertEquals(Optional.empty(), store.load(otherCellSize, OccupancyStorageType.HEAP));
+
+        Files.write(sensorMap, new byte[]{1, 2, 3, 5});
+        WorldSnapshotStore.Key changedSource = store.keyOf(MAP_ID, CELL_SIZE_PX, sensorMap, zones);
+        assertNotEquals(key.sourceHash(), changedSource.sourceHash());
+        assertEquals(Optional.empty(), store.load(changedSource, OccupancyStorageType.HEAP));
+    }
+
+    // 잘렸거나 덧붙은 파일, 헤더의 크기와 길이가 맞지 않는 파일은 레이어를 할당하기 전에 거부해야 한다.
+    @Test
+    void truncatedOrMismatchedFileIsRejected() throws IOException {
+        WorldSnapshotStore.Key key = store.keyOf(MAP_ID, CELL_SIZE_PX, sensorMap, List.of());
+        store.save(key, randomLayers(new Random(43), 100, 30));
+        Path file = tempDir.resolve("snapshot").resolve("map-" + MAP_ID + ".grid");
+        byte[] valid = Files.readAllBytes(file);
+
+        Files.write(file, Arrays.copyOf(valid, valid.length - Long.BYTES));
+        assertEquals(Optional.empty(), store.load(key, OccupancyStorageType.HEAP));
+
+        Files.write(file, Arrays.copyOf(valid, valid.length + Long.BYTES));
+        assertEquals(Optional.empty(), store.load(key, OccupancyStorageType.HEAP));
+
+        Files.write(file, Arrays.copyOf(valid, 10));
+        assertEquals(Optional.empty(), store.load(key, OccupancyStorageType.HEAP));
+
+        // 헤더만 아주 큰 크기로 바꾼다. 할당했다면 힙이 모자라 OutOfMemoryError가 난다.
+        Files.write(file, valid);
+        writeHeaderInt(file, WIDTH_OFFSET, 64 * 30_000);
+        writeHeaderInt(file, HEIGHT_OFFSET, 60_000);
+        assertEquals(Optional.empty(), store.load(key, OccupancyStorageType.HEAP));
+
+        writeHeaderInt(file, WIDTH_OFFSET, -1);
+        assertEquals(Optional.empty(), store.load(key, OccupancyStorageType.HEAP));
+
+        // 원래 파일은 다시 읽힌다.
+        Files.write(file, valid);
+        assertTrue(store.load(key, OccupancyStorageType.HEAP).isPresent());
+    }
+
+    // 스냅샷을 끄거나 센서맵 파일이 없으면 키가 없고, null 키로는 아무것도 읽거나 쓰지 않는다.
+    @Test
+    void disabledOrMissingSourceHasNoKey() throws IOException {
+        assertNull(store.keyOf(MAP_ID, CELL_SIZE_PX, tempDir.resolve("missing.png"), List.of()));
+        ReflectionTestUtils.setField(store, "enabled", false);
+        assertNull(store.keyOf(MAP_ID, CELL_SIZE_PX, sensorMap, List.of()));
+
+        store.save(null, randomLayers(new Random(47), 10, 10));
+        assertEquals(Optional.empty(), store.load(null, OccupancyStorageType.HEAP));
+        assertTrue(Files.notExists(tempDir.resolve("snapshot")) || isEmpty(tempDir.resolve("snapshot")));
+    }
+
+    private static WorldSnapshotStore.StaticLayers randomLayers(Random random, int width, int height) {
+        OccupancyGrid base = new OccupancyGrid(width, height);
+        OccupancyGrid keepout = new OccupancyGrid(width, height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                base.set(x, y, random.nextInt(4) == 0);
+                keepout.set(x, y, random.nextInt(9) == 0);
+            }
+        }
+        return new WorldSnapshotStore.StaticLayers(base, keepout);
+    }
+
+    private static KeepoutZoneEntity zone(Long id, String verticesJson) {
+        KeepoutZoneEntity zone = new KeepoutZoneEntity();
+        zone.setId(id);
+        zone.setVerticesJson(verticesJson);
+        return zone;
+    }
+
+    private static void writeHeaderInt(Path file, int offset, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, value), offset);
+        }
+    }
+
+    private static boolean isEmpty(Path dir) throws IOException {
+        try (var entries = Files.list(dir)) {
+            return entries.findAny().isEmpty();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.tudubem.world.service.grid;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DistanceFieldTest {
+
+    private static final int MAX_SQUARED = DistanceField.MAX_DISTANCE * DistanceField.MAX_DISTANCE;
+
+    // 전체 빌드 결과가 모든 점유 셀과의 거리를 직접 잰 값(MAX_DISTANCE에서 자름)과 같아야 한다.
+    @Test
+    void buildMatchesBruteForceOnRandomGrids() {
+        Random random = new Random(3);
+        for (OccupancyStorageType storageType : OccupancyStorageType.values()) {
+            for (int i = 0; i < 12; i++) {
+                OccupancyGrid grid = randomGrid(random, storageType, i);
+                assertMatchesBruteForce(new DistanceField(grid), grid);
+            }
+        }
+    }
+
+    // copy() 후 update()로 고친 결과도 새로 빌드한 결과와 같고, 원본은 바뀌지 않아야 한다.
+    @Test
+    void copyUpdateMatchesBruteForceAndKeepsOriginal() {
+        Random random = new Random(7);
+        for (OccupancyStorageType storageType : OccupancyStorageType.values()) {
+            for (int i = 0; i < 8; i++) {
+                OccupancyGrid grid = randomGrid(random, storageType, i);
+                DistanceField field = new DistanceField(grid);
+                for (int round = 0; round < 3; round++) {
+                    OccupancyGrid before = grid.copy();
+                    DistanceField previous = field;
+                    field = field.copy();
+                    CellBounds dirty = randomEdit(random, grid);
+                    field.update(grid, dirty);
+
+                    assertMatchesBruteForce(field, grid);
+                    assertMatchesBruteForce(previous, before);
+                }
+            }
+        }
+    }
+
+    // 가로/세로로 MAX_DISTANCE 넘게 떨어진 점유 셀 사이는 잘린 값으로, 가까운 셀은 정확한 값으로 나와야 한다.
+    @Test
+    void distantObstaclesAreCappedExactly() {
+        int far = DistanceField.MAX_DISTANCE * 2 + 40;
+        for (OccupancyStorageType storageType : OccupancyStorageType.values()) {
+            OccupancyGrid wide = new OccupancyGrid(far + 1, 5, storageType);
+            wide.set(0, 2);
+            wide.set(far, 2);
+            DistanceField wideField = new DistanceField(wide);
+            assertMatchesBruteForce(wideField, wide);
+            assertEquals(MAX_SQUARED, wideField.squaredAt(far / 2, 2));
+            assertEquals(DistanceField.MAX_DISTANCE - 1.0, wideField.distanceAt(DistanceField.MAX_DISTANCE - 1, 2), 0.0);
+
+            OccupancyGrid tall = new OccupancyGrid(3, far + 1, storageType);
+            tall.set(1, 0);
+            DistanceField tallField = new DistanceField(tall);
+            assertMatchesBruteForce(tallField, tall);
+
+            // 멀리 있던 점유 셀 하나를 지우고 다른 곳에 두어도 갱신 결과가 맞아야 한다.
+            tall.clear(1, 0);
+            tall.set(2, far);
+            DistanceField updated = tallField.copy();
+            updated.update(tall, new CellBounds(0, 0, 2, far));
+            assertMatchesBruteForce(updated, tall);
+            assertEquals(MAX_SQUARED, updated.squaredAt(0, 0));
+        }
+    }
+
+    // 점유 셀이 없으면 모든 셀이 UNREACHABLE이다.
+    @Test
+    void emptyGridIsUnreachable() {
+        OccupancyGrid grid = new OccupancyGrid(70, 130);
+        DistanceField field = new DistanceField(grid);
+        assertEquals(DistanceField.UNREACHABLE, field.squaredAt(35, 65));
+        assertTrue(Double.isInfinite(field.distanceAt(0, 0)));
+    }
+
+    // 크기와 점유 밀도가 다른 그리드. 일부는 비어 있거나 점유 셀이 몇 개뿐이라 잘린 거리가 생긴다.
+    private static OccupancyGrid randomGrid(Random random, OccupancyStorageType storageType, int i) {
+        int width = 1 + random.nextInt(i < 4 ? 700 : 150);
+        int height = 1 + random.nextInt(Math.max(1, Math.min(i < 4 ? 600 : 150, 6000 / width)));
+        OccupancyGrid grid = new OccupancyGrid(width, height, storageType);
+        int obstacles = switch (i % 4) {
+            case 0 -> 0;
+            case 1 -> 1 + random.nextInt(3);
+            default -> random.nextInt(width * height / 40 + 2);
+        };
+        for (int n = 0; n < obstacles; n++) {
+            grid.set(random.nextInt(width), random.nextInt(height));
+        }
+        return grid;
+    }
+
+    // 임의의 사각 영역을 무작위로 채우거나 비우고, 바뀐 영역을 반환한다.
+    private static CellBounds randomEdit(Random random, OccupancyGrid grid) {
+        int x0 = random.nextInt(grid.width());
+        int y0 = random.nextInt(grid.height());
+        int size = 1 + random.nextInt(30);
+        int x1 = Math.min(grid.width(), x0 + size) - 1;
+        int y1 = Math.min(grid.height(), y0 + size) - 1;
+        for (int y = y0; y <= y1; y++) {
+            for (int x = x0; x <= x1; x++) {
+                grid.set(x, y, random.nextInt(3) == 0);
+            }
+        }
+        return new CellBounds(x0, y0, x1, y1);
+    }
+
+    private static void assertMatchesBruteForce(DistanceField field, OccupancyGrid grid) {
+        List<int[]> occupied = new ArrayList<>();
+        for (int y = 0; y < grid.height(); y++) {
+            for (int x = 0; x < grid.width(); x++) {
+                if (grid.isOccupied(x, y)) {
+                    occupied.add(new int[]{x, y});
+                }
+            }
+        }
+        for (int y = 0; y < grid.height(); y++) {
+            for (int x = 0; x < grid.width(); x++) {
+                long best = Long.MAX_VALUE;
+                for (int[] cell : occupied) {
+                    long dx = cell[0] - x;
+                    long dy = cell[1] - y;
+                    best = Math.min(best, dx * dx + dy * dy);
+                }
+                int expected = best == Long.MAX_VALUE ? DistanceField.UNREACHABLE : (int) Math.min(best, MAX_SQUARED);
+                if (field.squaredAt(x, y) != expected) {
+                    assertEquals(expected, field.squaredAt(x, y),
+                            "(" + x + ", " + y + ") on " + grid.width() + "x" + grid.height());
+                }
+            }
+        }
+    }
+}
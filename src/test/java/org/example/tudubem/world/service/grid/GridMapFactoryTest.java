@@ -0,0 +1,105 @@
+package org.example.tudubem.world.service.grid;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GridMapFactoryTest {
+
+    // 원본 래스터를 바로 읽는 경로(int packed, byte interleaved, 단일 밴드 표)와 getRGB로 돌아가는 경로를 모두 포함한다.
+    private static final int[] IMAGE_TYPES = {
+            BufferedImage.TYPE_BYTE_GRAY,
+            BufferedImage.TYPE_BYTE_INDEXED,
+            BufferedImage.TYPE_BYTE_BINARY,
+            BufferedImage.TYPE_INT_RGB,
+            BufferedImage.TYPE_INT_ARGB,
+            BufferedImage.TYPE_INT_ARGB_PRE,
+            BufferedImage.TYPE_INT_BGR,
+            BufferedImage.TYPE_3BYTE_BGR,
+            BufferedImage.TYPE_4BYTE_ABGR,
+            BufferedImage.TYPE_4BYTE_ABGR_PRE,
+            BufferedImage.TYPE_USHORT_GRAY
+    };
+
+    // 이미지 형식마다 래스터 직접 읽기 결과가 픽셀별 getRGB + 임계값 판정 결과와 셀 단위로 같아야 한다.
+    @Test
+    void rawRasterDecodingMatchesGetRgb() {
+        Random random = new Random(29);
+        for (int imageType : IMAGE_TYPES) {
+            for (int i = 0; i < 4; i++) {
+                BufferedImage image = randomImage(random, imageType, 1 + random.nextInt(150), 1 + random.nextInt(120));
+                assertDecodesLikeGetRgb(image, "type=" + imageType);
+            }
+        }
+    }
+
+    // 하위 이미지는 래스터 오프셋이 0이 아니므로 시작 위치 계산도 같이 확인한다.
+    @Test
+    void subimageDecodingMatchesGetRgb() {
+        Random random = new Random(31);
+        for (int imageType : IMAGE_TYPES) {
+            BufferedImage image = randomImage(random, imageType, 160, 120);
+            BufferedImage subimage = image.getSubimage(13, 21, 97, 64);
+            assertDecodesLikeGetRgb(subimage, "subimage type=" + imageType);
+        }
+    }
+
+    private static void assertDecodesLikeGetRgb(BufferedImage image, String message) {
+        for (int cellSizePx : new int[]{1, 3, 4}) {
+            for (int threshold : new int[]{0, 64, GridMapFactory.DEFAULT_OCCUPIED_THRESHOLD_GRAY, 200, 255}) {
+                OccupancyGrid expected = decodeWithGetRgb(image, cellSizePx, threshold);
+                for (boolean parallel : new boolean[]{false, true}) {
+                    GridMap actual = GridMapFactory.create(image, cellSizePx, threshold, parallel);
+                    assertEquals(expected, actual.occupancy(),
+                            message + ", cellSizePx=" + cellSizePx + ", threshold=" + threshold + ", parallel=" + parallel);
+                }
+            }
+        }
+    }
+
+    // 래스터 직접 읽기 이전의 변환: 셀의 픽셀마다 getRGB로 (r + g + b) / 3을 구해 하나라도 임계값 이하이면 점유.
+    private static OccupancyGrid decodeWithGetRgb(BufferedImage image, int cellSizePx, int threshold) {
+        int widthCells = (int) Math.ceil((double) image.getWidth() / cellSizePx);
+        int heightCells = (int) Math.ceil((double) image.getHeight() / cellSizePx);
+        OccupancyGrid occupancy = new OccupancyGrid(widthCells, heightCells);
+        for (int gridY = 0; gridY < heightCells; gridY++) {
+            for (int gridX = 0; gridX < widthCells; gridX++) {
+                int endX = Math.min((gridX + 1) * cellSizePx, image.getWidth());
+                int endY = Math.min((gridY + 1) * cellSizePx, image.getHeight());
+                boolean occupied = false;
+                for (int y = gridY * cellSizePx; y < endY && !occupied; y++) {
+                    for (int x = gridX * cellSizePx; x < endX && !occupied; x++) {
+                        int rgb = image.getRGB(x, image.getHeight() - 1 - y);
+                        int gray = (((rgb >> 16) & 0xFF) + ((rgb >> 8) & 0xFF) + (rgb & 0xFF)) / 3;
+                        occupied = gray <= threshold;
+                    }
+                }
+                occupancy.set(gridX, gridY, occupied);
+            }
+        }
+        return occupancy;
+    }
+
+    // 대부분 밝은 바탕에 어두운 점과 임계값 근처의 회색, 반투명 픽셀을 섞는다.
+    private static BufferedImage randomImage(Random random, int imageType, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, imageType);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int roll = random.nextInt(10);
+                int alpha = roll == 0 ? random.nextInt(256) : 255;
+                int rgb = roll < 3
+                        ? random.nextInt(1 << 24)
+                        : roll < 6 ? gray(100 + random.nextInt(60)) : gray(220 + random.nextInt(36));
+                image.setRGB(x, y, (alpha << 24) | rgb);
+            }
+        }
+        return image;
+    }
+
+    private static int gray(int value) {
+        return (value << 16) | (value << 8) | value;
+    }
+}
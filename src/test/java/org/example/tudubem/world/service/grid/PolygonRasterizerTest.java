@@ -0,0 +1,107 @@
+package org.example.tudubem.world.service.grid;
+
+import org.example.tudubem.world.WorldUtils;
+import org.junit.jupiter.api.Test;
+
+import java.awt.geom.Point2D;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PolygonRasterizerTest {
+
+    private static final Path HOSPITAL_MAP = Path.of("src/test/hospital_refined_map.png");
+
+    // 스캔라인 래스터화 결과가 기존 전체 셀 레이 캐스팅 결과와 셀 단위로 같아야 한다.
+    @Test
+    void scanlineMatchesRayCastOnHospitalMap() {
+        for (int cellSizePx : new int[]{1, 4, 7}) {
+            GridMap gridMap = GridMapFactory.create(HOSPITAL_MAP, cellSizePx);
+            for (List<Point2D.Double> polygonInPixels : samplePolygons(gridMap, cellSizePx)) {
+                List<Point2D.Double> polygonInGrid = WorldUtils.toGridScale(polygonInPixels, cellSizePx);
+
+                OccupancyGrid expected = rayCast(gridMap.widthCells(), gridMap.heightCells(), polygonInGrid);
+                OccupancyGrid actual = new OccupancyGrid(gridMap.widthCells(), gridMap.heightCells());
+                WorldUtils.overlayPolygonAsOccupied(actual, polygonInGrid);
+
+                assertEquals(expected, actual, "cellSizePx=" + cellSizePx + ", polygon=" + polygonInPixels);
+            }
+        }
+    }
+
+    // 폴리곤이 덮는 셀 인덱스 목록도 레이 캐스팅과 같은 셀을 가리켜야 한다.
+    @Test
+    void cellsMatchFill() {
+        GridMap gridMap = GridMapFactory.create(HOSPITAL_MAP, 1);
+        int width = gridMap.widthCells();
+        int height = gridMap.heightCells();
+        for (List<Point2D.Double> polygon : samplePolygons(gridMap, 1)) {
+            OccupancyGrid expected = rayCast(width, height, polygon);
+            OccupancyGrid actual = new OccupancyGrid(width, height);
+            for (int cell : PolygonRasterizer.cells(polygon, width, height)) {
+                actual.set(cell % width, cell / width);
+            }
+            assertEquals(expected, actual, "polygon=" + polygon);
+        }
+    }
+
+    @Test
+    void keepoutFromWorldHttpCoversExpectedCells() {
+        GridMap gridMap = GridMapFactory.create(HOSPITAL_MAP, 1);
+        OccupancyGrid layer = new OccupancyGrid(gridMap.widthCells(), gridMap.heightCells());
+        WorldUtils.overlayPolygonAsOccupied(layer, WorldUtils.parseVertices("[[0,0],[1000,0],[1000,300],[0,300]]"));
+
+        assertEquals(1000L * 300L, layer.countOccupied());
+        assertTrue(layer.isOccupied(0, 0));
+        assertTrue(layer.isOccupied(999, 299));
+    }
+
+    private static OccupancyGrid rayCast(int width, int height, List<Point2D.Double> polygonInGrid) {
+        OccupancyGrid grid = new OccupancyGrid(width, height);
+        if (polygonInGrid.size() < 3) {
+            return grid;
+        }
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (PolygonRasterizer.containsPoint(x + 0.5, y + 0.5, polygonInGrid)) {
+                    grid.set(x, y);
+                }
+            }
+        }
+        return grid;
+    }
+
+    // 축 정렬 사각형, 오목/자기교차 폴리곤, 소수 좌표, 맵 경계를 벗어나는 폴리곤을 섞어 만든다.
+    private static List<List<Point2D.Double>> samplePolygons(GridMap gridMap, int cellSizePx) {
+        double widthPx = (double) gridMap.widthCells() * cellSizePx;
+        double heightPx = (double) gridMap.heightCells() * cellSizePx;
+
+        List<List<Point2D.Double>> polygons = new ArrayList<>();
+        polygons.add(WorldUtils.parseVertices("[[0,0],[1000,0],[1000,300],[0,300]]"));
+        polygons.add(WorldUtils.parseVertices("[[10,10],[13,10],[13,13],[10,13]]"));
+        polygons.add(WorldUtils.parseVertices("[[100.5,200.5],[400.25,180],[390,520.75],[250,300],[120,480]]"));
+        polygons.add(WorldUtils.parseVertices("[[-50,-50],[" + (widthPx + 50) + ",-50],[" + (widthPx + 50) + ",40],[-50,40]]"));
+        polygons.add(WorldUtils.parseVertices("[[200,100],[800,700],[800,100],[200,700]]"));
+        polygons.add(WorldUtils.parseVertices("[[0.5,0.5],[2.5,0.5],[1.5,2.5]]"));
+
+        Random random = new Random(20_240_611L);
+        for (int i = 0; i < 40; i++) {
+            int vertexCount = 3 + random.nextInt(8);
+            double centerX = random.nextDouble() * widthPx;
+            double centerY = random.nextDouble() * heightPx;
+            double radius = 2 + random.nextDouble() * 300;
+            List<Point2D.Double> polygon = new ArrayList<>(vertexCount);
+            for (int v = 0; v < vertexCount; v++) {
+                double angle = 2 * Math.PI * v / vertexCount;
+                double r = radius * (0.3 + random.nextDouble());
+                polygon.add(new Point2D.Double(centerX + r * Math.cos(angle), centerY + r * Math.sin(angle)));
+            }
+            polygons.add(polygon);
+        }
+        return polygons;
+    }
+}